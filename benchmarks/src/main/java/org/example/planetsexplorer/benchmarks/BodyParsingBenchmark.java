@@ -0,0 +1,45 @@
+package org.example.planetsexplorer.benchmarks;
+
+import org.example.planetsexplorer.benchmarks.HorizonFixtures.Fixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code HorizonSystem.getBody} over recorded physical data pages, which runs every
+ * extractor: the radius, sidereal orbit and day, obliquity and GM patterns. The Earth's page
+ * has its orbit period in years, the Moon's only in days, so both branches of the orbit
+ * extractor are covered. Run with {@code -prof gc} for the allocation rate.
+ *
+ * @see HorizonFixtures
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyParsingBenchmark {
+    @Param({"EARTH_BODY", "MOON_BODY"})
+    public Fixture fixture;
+
+    @Setup
+    public void load() {
+        fixture.seed();
+    }
+
+    @Benchmark
+    public Object getBody() throws Exception {
+        return fixture.query();
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.planetsexplorer.benchmarks;
+
+import org.example.planetsexplorer.HorizonSystem;
+import org.example.planetsexplorer.benchmarks.HorizonFixtures.Fixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parse of the recorded catalog of major bodies into the lookup tables, and the
+ * queries the explorer makes of them afterwards. The lookups cycle through every key of the
+ * catalog, so one operation is one query of a different body. Run with {@code -prof gc} for
+ * the allocation rate.
+ *
+ * @see HorizonFixtures
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogBenchmark {
+    private static final MethodHandle removeSpaces = HorizonFixtures.findPrivate("removeSpaces",
+            MethodType.methodType(String.class, String.class));
+
+    /**
+     * The id, name, designation and alias columns of every catalog line, unstripped
+     */
+    private String[] columns;
+
+    private String[] ids;
+    private String[] names;
+    private String[] designations;
+    private static final String[] planetIds = {"199", "299", "399", "499", "599", "699", "799", "899", "999"};
+    private int next;
+
+    @Setup
+    public void load() {
+        Fixture.CATALOG.seed();
+
+        ArrayList<String> columns = new ArrayList<>();
+        for(String line: Fixture.CATALOG.readResult().split("\n")) {
+            if(line.length() <= 20 || !line.substring(0, 11).matches("^[\\d\\s-]+$")) continue;
+            columns.addAll(List.of(line.substring(0, 11), line.substring(11, 46),
+                    line.substring(46, 59), line.substring(59, 78)));
+        }
+        this.columns = columns.toArray(new String[0]);
+
+        ids = HorizonSystem.getIdNameMapKeySet().toArray(new String[0]);
+        names = new String[ids.length];
+        ArrayList<String> designations = new ArrayList<>();
+        for(int i=0; i < ids.length; i++) {
+            names[i] = HorizonSystem.idToName(ids[i]);
+            String designation = HorizonSystem.idToDesignation(ids[i]);
+            if(!designation.isEmpty()) designations.add(designation);
+        }
+        this.designations = designations.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void initializeLookupTables() {
+        HorizonSystem.initializeLookupTables();
+    }
+
+    @Benchmark
+    public String removeSpaces() throws Throwable {
+        next = next + 1 < columns.length ? next + 1 : 0;
+        return (String) removeSpaces.invokeExact(columns[next]);
+    }
+
+    @Benchmark
+    public String idToName() {
+        next = next + 1 < ids.length ? next + 1 : 0;
+        return HorizonSystem.idToName(ids[next]);
+    }
+
+    @Benchmark
+    public String nameToId() {
+        next = next + 1 < names.length ? next + 1 : 0;
+        return HorizonSystem.nameToID(names[next]);
+    }
+
+    @Benchmark
+    public String designationToId() {
+        next = next + 1 < designations.length ? next + 1 : 0;
+        return HorizonSystem.designationToId(designations[next]);
+    }
+
+    @Benchmark
+    public List<String> getMoonIds() {
+        next = next + 1 < planetIds.length ? next + 1 : 0;
+        return HorizonSystem.getMoonIds(planetIds[next]);
+    }
+}
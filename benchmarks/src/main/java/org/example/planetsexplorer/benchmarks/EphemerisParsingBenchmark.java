@@ -0,0 +1,82 @@
+package org.example.planetsexplorer.benchmarks;
+
+import org.example.planetsexplorer.benchmarks.HorizonFixtures.Fixture;
+import org.example.planetsexplorer.celestial.EphemerisCoordinateFacade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast recorded vector tables are parsed into {@link EphemerisCoordinateFacade}s,
+ * and read back from them, for a table of a year of days and one of a month of hours.
+ *
+ * <p> {@link #extractVectorsCSV()} parses the CSV block alone, {@link #getEphemeris()} the
+ * whole cached response as the explorer does, JSON and delimiter search included. Run with
+ * {@code -prof gc} for the allocation rate of each.
+ *
+ * @see HorizonFixtures
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EphemerisParsingBenchmark {
+    private static final MethodHandle extractVectorsCSV = HorizonFixtures.findPrivate("extractVectorsCSV",
+            MethodType.methodType(ArrayList.class, String.class));
+
+    @Param({"EARTH_DAY_VECTORS", "MOON_HOUR_VECTORS"})
+    public Fixture fixture;
+
+    /**
+     * The block between {@code $$SOE} and {@code $$EOE} of the recorded response
+     */
+    private String csv;
+
+    private ArrayList<EphemerisCoordinateFacade> ephemeris;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void load() throws Throwable {
+        fixture.seed();
+        String result = fixture.readResult();
+        csv = result.substring(result.indexOf("$$SOE") + 5, result.indexOf("$$EOE"));
+        ephemeris = (ArrayList<EphemerisCoordinateFacade>) extractVectorsCSV.invokeExact(csv);
+    }
+
+    @Benchmark
+    public ArrayList<?> extractVectorsCSV() throws Throwable {
+        return (ArrayList<?>) extractVectorsCSV.invokeExact(csv);
+    }
+
+    @Benchmark
+    public Object getEphemeris() throws Exception {
+        return fixture.query();
+    }
+
+    /**
+     * Reads every component of every point, like drawing the path of a body does.
+     * @return The sum of the components, so the reads aren't eliminated
+     */
+    @Benchmark
+    public float readCoordinates() {
+        float sum = 0;
+        for(EphemerisCoordinateFacade point: ephemeris)
+            sum += point.getX() + point.getY() + point.getZ() + point.getVx() + point.getVy() + point.getVz();
+        return sum;
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.planetsexplorer.benchmarks;
+
+import org.example.planetsexplorer.HorizonCache;
+import org.example.planetsexplorer.HorizonSystem;
+import org.example.planetsexplorer.StepSize;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Callable;
+
+/**
+ * Recorded Horizons responses the parsing benchmarks run against, so they never reach the
+ * network and every run parses the same text.
+ *
+ * <p> A fixture is seeded into the {@link HorizonCache} under the URL {@link HorizonSystem}
+ * requests it with, so the public queries are measured end to end, minus the HTTP request.
+ * Seeding checks the query is answered from the cache, so a fixture whose URL no longer
+ * matches fails instead of being measured over the network. Run {@link #main(String[])} to
+ * record the fixtures again when the queries change.
+ */
+public final class HorizonFixtures {
+    /**
+     * Don't let this class be instantiated
+     */
+    private HorizonFixtures() {}
+
+    private static final String api = "https://ssd.jpl.nasa.gov/api/horizons.api?format=json";
+
+    /**
+     * A recorded response, and the query that requests it
+     */
+    public enum Fixture {
+        EARTH_DAY_VECTORS("vectors-399-day.json", vectorsUrl("399", "10", "2024-01-01 00:00", "2025-01-01 00:00", StepSize.DAYS),
+                () -> HorizonSystem.getEphemeris("399", "10", "2024-01-01 00:00", "2025-01-01 00:00", StepSize.DAYS)),
+        MOON_HOUR_VECTORS("vectors-301-hour.json", vectorsUrl("301", "399", "2024-01-01 00:00", "2024-02-01 00:00", StepSize.HOURS),
+                () -> HorizonSystem.getEphemeris("301", "399", "2024-01-01 00:00", "2024-02-01 00:00", StepSize.HOURS)),
+        EARTH_BODY("body-399.json", bodyUrl("399"), () -> HorizonSystem.getBody("399")),
+        MOON_BODY("body-301.json", bodyUrl("301"), () -> HorizonSystem.getBody("301")),
+        CATALOG("catalog.json", api + "&COMMAND=%27*%27", () -> {
+            HorizonSystem.initializeLookupTables();
+            return null;
+        });
+
+        private final String resource;
+        private final String url;
+        private final Callable<Object> query;
+
+        Fixture(String resource, String url, Callable<Object> query) {
+            this.resource = resource;
+            this.url = url;
+            this.query = query;
+        }
+
+        /**
+         * Runs the query of the fixture, answered from the cache once the fixture is seeded.
+         * @return The result of the query, {@code null} for the catalog
+         * @throws Exception if the query failed
+         */
+        public Object query() throws Exception {
+            return query.call();
+        }
+
+        /**
+         * Caches the recorded response under the URL of its query, and checks the query is
+         * answered from it.
+         * @throws IllegalStateException if the query requested a different URL
+         */
+        public void seed() {
+            HorizonCache.put(url, read());
+            long misses = HorizonCache.getMisses();
+            try {
+                query();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            if(HorizonCache.getMisses() != misses)
+                throw new IllegalStateException(this + " is not requested from " + url + " anymore, record it again");
+        }
+
+        /**
+         * Reads the recorded response.
+         * @return The response, a {@link JSONObject} whose {@code result} is the text of the database
+         */
+        public String read() {
+            try(InputStream in = HorizonFixtures.class.getResourceAsStream("/fixtures/" + resource)) {
+                if(in == null) throw new IOException("Missing fixture " + resource);
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Returns the {@code result} text of the recorded response, what the extractors parse.
+         * @return The text of the database
+         */
+        public String readResult() {
+            return new JSONObject(read()).getString("result");
+        }
+    }
+
+    /**
+     * Returns the URL {@code HorizonSystem.getEphemeris} requests a CSV of vectors with.
+     * @param id The database id of the target
+     * @param centerId The database id of the center
+     * @param startTime The start of the ephemeris range
+     * @param stopTime The stop of the ephemeris range
+     * @param stepSize The step between points
+     * @return The URL
+     */
+    private static String vectorsUrl(String id, String centerId, String startTime, String stopTime, StepSize stepSize) {
+        return api + "&COMMAND='" + id +
+                "'&OBJ_DATA='NO'&MAKE_EPHEM='YES'&EPHEM_TYPE='VECTORS'&VEC_TABLE='2'&CENTER='@" + centerId +
+                "'&CSV_FORMAT='YES'" +
+                "&START_TIME='" + startTime +
+                "'&STOP_TIME='" + stopTime +
+                "'&STEP_SIZE='" + stepSize + "'";
+    }
+
+    /**
+     * Returns the URL {@code HorizonSystem.getBody} requests the physical data of a body with.
+     * @param id The database id of the body
+     * @return The URL
+     */
+    private static String bodyUrl(String id) {
+        return api + "&COMMAND='" + id + "'&OBJ_DATA='YES'&MAKE_EPHEM='NO'";
+    }
+
+    /**
+     * Returns a handle to a private static method of {@link HorizonSystem}, so a helper can be
+     * measured on its own without widening its access. The benchmarks run from the class path,
+     * where the explorer's module doesn't restrict reflection.
+     * @param name The name of the method
+     * @param type The type of the method
+     * @return The handle
+     */
+    static MethodHandle findPrivate(String name, MethodType type) {
+        try {
+            return MethodHandles.privateLookupIn(HorizonSystem.class, MethodHandles.lookup())
+                    .findStatic(HorizonSystem.class, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Records every fixture again from the live database, into the resource directory of the
+     * benchmarks.
+     * @param args The directory to write to, {@code benchmarks/src/main/resources/fixtures} if
+     *             none is given
+     * @throws Exception if a request failed, or a query requested a different URL
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "benchmarks/src/main/resources/fixtures");
+        Files.createDirectories(directory);
+        for(Fixture fixture: Fixture.values()) {
+            HorizonCache.clear();
+            fixture.query();
+            String response = HorizonCache.get(fixture.url);
+            if(response == null) throw new IllegalStateException(fixture + " is not requested from " + fixture.url);
+
+            Files.writeString(directory.resolve(fixture.resource), response, StandardCharsets.UTF_8);
+            System.out.println("Recorded " + fixture + ": " + response.length() + " chars");
+        }
+    }
+}
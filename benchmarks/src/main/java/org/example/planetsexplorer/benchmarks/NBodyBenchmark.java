@@ -0,0 +1,93 @@
+package org.example.planetsexplorer.benchmarks;
+
+import org.example.planetsexplorer.celestial.NBodyIntegrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the steps per second of {@link NBodyIntegrator} against the number of bodies,
+ * with the accelerations accumulated on one thread and on every core.
+ *
+ * <p> The system is synthetic: a Sun-like body with the others on near-circular orbits from
+ * 0.3 to 7 AU, one in four of them massless like a spacecraft. It is rebuilt for every
+ * iteration so the orbits don't drift apart over a long run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NBodyBenchmark {
+    /**
+     * The seed of the synthetic system, so runs can be compared with each other
+     */
+    private static final long seed = 42;
+
+    /**
+     * The length of a step, an hour
+     */
+    private static final double stepSeconds = 3600;
+
+    @Param({"10", "100", "1000", "4000"})
+    public int bodies;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private NBodyIntegrator integrator;
+
+    @Setup(Level.Iteration)
+    public void createSystem() {
+        integrator = createSyntheticSystem(bodies, seed);
+        integrator.setParallel(parallel);
+    }
+
+    @Benchmark
+    public void step() {
+        integrator.step(stepSeconds);
+    }
+
+    /**
+     * Creates a synthetic system around a Sun-like body.
+     * @param bodies The number of bodies, including the central one
+     * @param seed The seed of the orbits and masses
+     * @return The integrator of the system
+     */
+    static NBodyIntegrator createSyntheticSystem(int bodies, long seed) {
+        Random random = new Random(seed);
+        String[] ids = new String[bodies];
+        double[] gm = new double[bodies];
+        double[] states = new double[bodies * 6];
+
+        ids[0] = "10";
+        gm[0] = 1.32712440041e11;
+        for(int i=1; i < bodies; i++) {
+            ids[i] = String.valueOf(-i);
+            gm[i] = i % 4 == 0 ? 0 : 1e3 * random.nextDouble();
+
+            double radius = 4.5e7 + 1e9 * random.nextDouble();
+            double angle = 2 * Math.PI * random.nextDouble();
+            double speed = Math.sqrt(gm[0] / radius);
+            states[i * 6] = radius * Math.cos(angle);
+            states[i * 6 + 1] = radius * Math.sin(angle);
+            states[i * 6 + 2] = 1e5 * random.nextGaussian();
+            states[i * 6 + 3] = -speed * Math.sin(angle);
+            states[i * 6 + 4] = speed * Math.cos(angle);
+        }
+        return new NBodyIntegrator(ids, gm, states);
+    }
+}
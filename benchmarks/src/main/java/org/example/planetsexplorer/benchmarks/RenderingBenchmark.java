@@ -0,0 +1,157 @@
+package org.example.planetsexplorer.benchmarks;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.SubScene;
+import org.example.planetsexplorer.HorizonSystem;
+import org.example.planetsexplorer.Main;
+import org.example.planetsexplorer.PlanetsCamera;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+import org.example.planetsexplorer.celestial.Sun;
+import org.example.planetsexplorer.celestial.ViewSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures the latency of one call of {@link PlanetsCamera#updateEphemeris()} and
+ * {@link PlanetsCamera#updateCameraUI()}, and of both together as one pulse of playback,
+ * against the number of bodies and the number of ephemeris samples of each. The camera UI
+ * update projects a 2D orbit ring through every sample of every body in view, so it is the
+ * part that grows with the samples.
+ *
+ * <p> The system is {@link StressScene}'s: bodies on circular orbits around the Sun, seen
+ * from far enough out that every body and orbit is in view. Every parameter combination runs
+ * in its own fork, so the scene of one never adds to the next. The fork uses the headless
+ * Monocle platform with the software pipeline, so no display or GPU is needed. The scene is
+ * built on the JavaFX Application Thread but never shown, so no pulse touches it and the
+ * benchmark thread updates it directly, without a hand-off per call. What is measured is the
+ * scene graph update alone, not the rasterization of the frame.
+ *
+ * <p> Sample time mode reports the latency percentiles of single calls. Run with
+ * {@code -prof gc} for the allocations per call. The label widths the declutter pass works
+ * with depend on the fonts installed, so runs are only comparable on the same box. Without
+ * Pango the labels can't be sized at all, and are decluttered as points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless",
+        "-Dprism.order=sw", "-Xmx3g"})
+public class RenderingBenchmark {
+    /**
+     * The distance the camera is zoomed out to in pixels, the largest synthetic orbit
+     */
+    private static final double cameraDistance = 1e8 / HorizonSystem.pixelKmScale;
+
+    /**
+     * Kept so the level set on it isn't lost when the logger is collected. Every 3D node
+     * otherwise logs that the software pipeline can't render 3D scenes.
+     */
+    private static final Logger javafxLogger = Logger.getLogger("javafx");
+
+    @Param({"10", "100", "1000"})
+    public int bodies;
+
+    @Param({"64", "256", "1024"})
+    public int samples;
+
+    @Setup(Level.Trial)
+    public void createScene() throws Exception {
+        javafxLogger.setLevel(java.util.logging.Level.OFF);
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        // The scene has to be created on the JavaFX Application Thread, but as it's never
+        // shown, no pulse reads it afterwards, and the benchmark thread can update it
+        FutureTask<Void> created = new FutureTask<>(this::buildScene, null);
+        Platform.runLater(created);
+        created.get();
+    }
+
+    /**
+     * Builds the scene the way {@link Main} does, and adds the synthetic system to it.
+     */
+    private void buildScene() {
+        SubScene scene3D = new SubScene(Main.rootScene3D, 600, 600, true, null);
+        Main.sceneRoot.getChildren().add(scene3D);
+        Scene mainScene = new Scene(Main.sceneRoot, 600, 600);
+        PlanetsCamera.initializeCamera(mainScene, scene3D, Main.rootScene3D);
+
+        Main.sun = new Sun(6963, "10");
+        Main.rootScene3D.getChildren().add(Main.sun.getShape());
+        Main.sceneRoot.getChildren().add(Main.sun.getGroupUI());
+
+        // Every body added updates the camera UI, so rings are skipped until all are added
+        ViewSettings.orbitPath3DProperty().set(true);
+        for(SecondaryBody body: StressScene.createSyntheticSystem(Main.sun, bodies, samples))
+            SecondaryBody.addToStage(body);
+        ViewSettings.orbitPath3DProperty().set(false);
+
+        // Size the labels, which a scene that isn't shown never does by itself. Text layout
+        // needs Pango, which a server without a desktop may not have
+        try {
+            Main.sceneRoot.applyCss();
+            Main.sceneRoot.layout();
+        } catch (LinkageError e) {
+            System.err.println("Labels left unsized, text layout is unavailable: " + e);
+        }
+
+        PlanetsCamera.updateZoom(-cameraDistance);
+        HorizonSystem.ephemerisIndex = 0;
+        PlanetsCamera.updateEphemeris();
+        PlanetsCamera.updateCameraUI();
+    }
+
+    @TearDown(Level.Trial)
+    public void exit() {
+        Platform.exit();
+    }
+
+    @Benchmark
+    public void updateEphemeris() {
+        step();
+        PlanetsCamera.updateEphemeris();
+    }
+
+    @Benchmark
+    public void updateCameraUI() {
+        PlanetsCamera.updateCameraUI();
+    }
+
+    /**
+     * Advances playback by one sample and updates the scene, like a pulse of
+     * {@link org.example.planetsexplorer.PlaybackEngine} does.
+     */
+    @Benchmark
+    public void pulse() {
+        step();
+        PlanetsCamera.updateEphemeris();
+        PlanetsCamera.updateCameraUI();
+    }
+
+    /**
+     * Moves the global ephemeris index to the next sample, back to the first after the last.
+     */
+    private void step() {
+        HorizonSystem.ephemerisIndex = (HorizonSystem.ephemerisIndex + 1) % samples;
+    }
+}
@@ -0,0 +1,209 @@
+package org.example.planetsexplorer.benchmarks;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.SubScene;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.example.planetsexplorer.HorizonSystem;
+import org.example.planetsexplorer.Main;
+import org.example.planetsexplorer.PlanetsCamera;
+import org.example.planetsexplorer.PlaybackEngine;
+import org.example.planetsexplorer.PointCloud;
+import org.example.planetsexplorer.celestial.Celestial;
+import org.example.planetsexplorer.celestial.EphemerisCoordinateFacade;
+import org.example.planetsexplorer.celestial.PrimaryBody;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+import org.example.planetsexplorer.celestial.SphereLevelOfDetail;
+import org.example.planetsexplorer.celestial.Sun;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A test scene that fills the explorer with hundreds of synthetic bodies on circular
+ * orbits, without querying {@link HorizonSystem}, and plays them back continuously.
+ * Every two seconds it prints the number of sphere triangles in the scene, the update
+ * time reported by {@link PlaybackEngine}, and the measured frame rate.
+ *
+ * <p> Run with {@code StressSceneLauncher [bodies] [samples] [points]}. The defaults are 300 bodies
+ * with 64 ephemeris samples each, and no points. Points are extra bodies drawn by a single
+ * {@link PointCloud}, moved along their orbits every frame through its shared buffer.
+ * From the benchmarks directory, run it with
+ * {@code java -cp target/benchmarks.jar org.example.planetsexplorer.benchmarks.StressSceneLauncher}.
+ *
+ * @see RenderingBenchmark
+ */
+public class StressScene extends Application {
+    /**
+     * The seed of the synthetic system, so runs can be compared with each other
+     */
+    private static final long seed = 42;
+
+    /**
+     * The range of synthetic orbit radii in km
+     */
+    private static final double minOrbitKm = 1e6, maxOrbitKm = 1e8;
+
+    /**
+     * The interval between printed reports in nanoseconds
+     */
+    private static final long reportIntervalNanos = 2_000_000_000L;
+
+    @Override
+    public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        int bodies = args.size() > 0 ? Integer.parseInt(args.get(0)) : 300;
+        int samples = args.size() > 1 ? Integer.parseInt(args.get(1)) : 64;
+        int points = args.size() > 2 ? Integer.parseInt(args.get(2)) : 0;
+
+        SubScene scene3D = new SubScene(Main.rootScene3D, 600, 600, true, null);
+        scene3D.setFill(Color.BLACK);
+        Main.sceneRoot.getChildren().add(scene3D);
+
+        Scene mainScene = new Scene(Main.sceneRoot, 600, 600);
+        PlanetsCamera.initializeCamera(mainScene, scene3D, Main.rootScene3D);
+
+        Main.sun = new Sun(6963, "10");
+        Main.rootScene3D.getChildren().add(Main.sun.getShape());
+        Main.sceneRoot.getChildren().add(Main.sun.getGroupUI());
+
+        for(SecondaryBody body: createSyntheticSystem(Main.sun, bodies, samples))
+            SecondaryBody.addToStage(body);
+
+        // Start far enough out to see the whole system
+        PlanetsCamera.updateZoom(-maxOrbitKm / HorizonSystem.pixelKmScale);
+
+        stage.setResizable(false);
+        stage.setTitle("Planet Explorer Stress Scene");
+        stage.setScene(mainScene);
+        stage.show();
+
+        if(points > 0) startPointCloud(points);
+
+        PlaybackEngine.setStepsPerSecond(30);
+        PlaybackEngine.play();
+        startReporting();
+    }
+
+    /**
+     * Creates bodies on circular orbits of random radius and inclination around a primary.
+     * The bodies are not added to the stage.
+     *
+     * @param primary The body every synthetic body orbits
+     * @param bodies The number of bodies to create
+     * @param samples The number of ephemeris samples along each orbit
+     * @return The synthetic bodies
+     */
+    public static List<SecondaryBody> createSyntheticSystem(PrimaryBody primary, int bodies, int samples) {
+        Random random = new Random(seed);
+        ArrayList<SecondaryBody> system = new ArrayList<>(bodies);
+
+        for(int b=0; b < bodies; b++) {
+            float radius = 20 + random.nextFloat() * 200;
+            SecondaryBody body = new SecondaryBody("Synthetic " + b, "-" + (100000 + b), radius, primary, 1, 1, 0);
+            // Synthetic bodies have no date range, so they can't be selected
+            body.getGroupUI().setMouseTransparent(true);
+
+            double orbitKm = minOrbitKm + random.nextDouble() * (maxOrbitKm - minOrbitKm);
+            double inclination = random.nextDouble() * Math.PI / 6;
+            double phase = random.nextDouble() * 2 * Math.PI;
+
+            ArrayList<EphemerisCoordinateFacade> ephemeris = new ArrayList<>(samples);
+            for(int i=0; i < samples; i++) {
+                double angle = phase + 2 * Math.PI * i / samples;
+                double x = orbitKm * Math.cos(angle);
+                double y = orbitKm * Math.sin(angle) * Math.sin(inclination);
+                double z = orbitKm * Math.sin(angle) * Math.cos(inclination);
+                ephemeris.add(new EphemerisCoordinateFacade(String.valueOf(x), String.valueOf(y), String.valueOf(z),
+                        String.valueOf(-Math.sin(angle)), "0", String.valueOf(Math.cos(angle))));
+            }
+
+            body.setEphemerisData(ephemeris);
+            body.updateEphemerisPosition(true);
+            system.add(body);
+        }
+
+        return system;
+    }
+
+    /**
+     * Adds a {@code PointCloud} of bodies on circular orbits around the origin, and moves
+     * them along their orbits on every pulse.
+     *
+     * @param points The number of points to draw
+     */
+    private static void startPointCloud(int points) {
+        Random random = new Random(seed);
+        double[] radius = new double[points];
+        double[] phase = new double[points];
+        double[] angularSpeed = new double[points];
+        double[] sinInclination = new double[points];
+        double[] cosInclination = new double[points];
+        for(int i=0; i < points; i++) {
+            radius[i] = (minOrbitKm + random.nextDouble() * (maxOrbitKm - minOrbitKm)) / HorizonSystem.pixelKmScale;
+            phase[i] = random.nextDouble() * 2 * Math.PI;
+            angularSpeed[i] = 0.05 + random.nextDouble() * 0.5;
+            double inclination = random.nextDouble() * Math.PI / 6;
+            sinInclination[i] = Math.sin(inclination);
+            cosInclination[i] = Math.cos(inclination);
+        }
+
+        PointCloud cloud = new PointCloud(points, Color.LIGHTGRAY);
+        cloud.setCount(points);
+        PlanetsCamera.addPointCloud(cloud);
+
+        float[] positions = cloud.getPositions();
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                double seconds = now / 1e9;
+                for(int i=0; i < points; i++) {
+                    double angle = phase[i] + angularSpeed[i] * seconds;
+                    double sin = Math.sin(angle);
+                    positions[i * 3] = (float) (radius[i] * Math.cos(angle));
+                    positions[i * 3 + 1] = (float) (radius[i] * sin * sinInclination[i]);
+                    positions[i * 3 + 2] = (float) (radius[i] * sin * cosInclination[i]);
+                }
+                cloud.update(PlanetsCamera.takeSnapshot());
+            }
+        }.start();
+    }
+
+    /**
+     * Returns the total number of triangles in the spheres of every {@code Celestial}.
+     * @return The sphere triangle count
+     */
+    public static long countSphereTriangles() {
+        long triangles = 0;
+        for(Celestial celestial: Celestial.celestialArrayList)
+            triangles += SphereLevelOfDetail.triangleCount(celestial.getShape().getDivisions());
+        return triangles;
+    }
+
+    /**
+     * Prints the triangle count, update time and frame rate at a fixed interval.
+     */
+    private static void startReporting() {
+        new AnimationTimer() {
+            private long lastReport = -1;
+            private int pulses = 0;
+
+            @Override
+            public void handle(long now) {
+                if(lastReport < 0) lastReport = now;
+                pulses++;
+
+                if(now - lastReport >= reportIntervalNanos) {
+                    double fps = pulses * 1e9 / (now - lastReport);
+                    System.out.printf("%d sphere triangles, %.1f fps, %s%n",
+                            countSphereTriangles(), fps, PlaybackEngine.getFrameReport());
+                    lastReport = now;
+                    pulses = 0;
+                }
+            }
+        }.start();
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.planetsexplorer.benchmarks;
+
+import javafx.application.Application;
+
+/**
+ * Launches the {@link StressScene} from the class path of the benchmarks jar, where a main
+ * class that extends {@code Application} is refused for missing JavaFX runtime components.
+ */
+public class StressSceneLauncher {
+    public static void main(String[] args) {
+        Application.launch(StressScene.class, args);
+    }
+}
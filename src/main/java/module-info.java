@@ -8,9 +8,12 @@ module org.example.planetsexplorer {
     requires org.json;
     requires com.opencsv;
     requires org.apache.commons.lang3;
+    requires jdk.httpserver;
+    requires java.management;
 
     opens org.example.planetsexplorer to javafx.fxml;
     exports org.example.planetsexplorer;
     exports org.example.planetsexplorer.celestial;
     opens org.example.planetsexplorer.celestial to javafx.fxml;
+    exports org.example.planetsexplorer.metrics;
 }
\ No newline at end of file
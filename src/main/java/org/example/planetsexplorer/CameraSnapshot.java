@@ -0,0 +1,221 @@
+package org.example.planetsexplorer;
+
+import javafx.scene.transform.NonInvertibleTransformException;
+import javafx.scene.transform.Transform;
+
+/**
+ * An immutable copy of the {@link PlanetsCamera} projection, taken on the JavaFX
+ * Application Thread. Worker threads use a {@code CameraSnapshot} to project scene
+ * coordinates onto the screen without touching the live scene graph.
+ *
+ * <p> The projection matches a {@code PerspectiveCamera} with a fixed eye at the
+ * camera's origin, looking down its positive Z-axis with the Y-axis pointing down.
+ *
+ * @see PlanetsCamera#takeSnapshot()
+ */
+public final class CameraSnapshot {
+    /**
+     * The rows of the scene-to-camera transformation matrix
+     */
+    private final double mxx, mxy, mxz, tx;
+    private final double myx, myy, myz, ty;
+    private final double mzx, mzy, mzz, tz;
+
+    /**
+     * The position of the camera in scene coordinates
+     */
+    private final double cameraX, cameraY, cameraZ;
+
+    /**
+     * The distance in pixels from the eye to the projection plane
+     */
+    private final double focalLength;
+
+    /**
+     * Half of the viewport width and height in pixels
+     */
+    private final double halfWidth, halfHeight;
+
+    /**
+     * The distances from the eye to the near and far clipping planes
+     */
+    private final double nearClip, farClip;
+
+    /**
+     * The lengths of the normals of the left/right and top/bottom frustum planes, used to
+     * turn a plane equation into a distance
+     */
+    private final double sideNormalLength, topNormalLength;
+
+    /**
+     * Constructs a {@code CameraSnapshot} from the camera's current transformation.
+     *
+     * @param cameraToScene The camera's local-to-scene transformation
+     * @param fieldOfView The camera's field of view in degrees
+     * @param verticalFieldOfView {@code true} if the field of view spans the viewport height
+     * @param width The width of the viewport in pixels
+     * @param height The height of the viewport in pixels
+     * @param nearClip The camera's near clip distance
+     * @param farClip The camera's far clip distance
+     */
+    CameraSnapshot(Transform cameraToScene, double fieldOfView, boolean verticalFieldOfView, double width, double height,
+                   double nearClip, double farClip) {
+        Transform sceneToCamera;
+        try {
+            sceneToCamera = cameraToScene.createInverse();
+        } catch (NonInvertibleTransformException e) {
+            throw new RuntimeException(e);
+        }
+
+        this.mxx = sceneToCamera.getMxx(); this.mxy = sceneToCamera.getMxy(); this.mxz = sceneToCamera.getMxz(); this.tx = sceneToCamera.getTx();
+        this.myx = sceneToCamera.getMyx(); this.myy = sceneToCamera.getMyy(); this.myz = sceneToCamera.getMyz(); this.ty = sceneToCamera.getTy();
+        this.mzx = sceneToCamera.getMzx(); this.mzy = sceneToCamera.getMzy(); this.mzz = sceneToCamera.getMzz(); this.tz = sceneToCamera.getTz();
+
+        this.cameraX = cameraToScene.getTx();
+        this.cameraY = cameraToScene.getTy();
+        this.cameraZ = cameraToScene.getTz();
+
+        this.halfWidth = width / 2;
+        this.halfHeight = height / 2;
+        double halfSpan = verticalFieldOfView ? this.halfHeight : this.halfWidth;
+        this.focalLength = halfSpan / Math.tan(Math.toRadians(fieldOfView) / 2);
+
+        this.nearClip = nearClip;
+        this.farClip = farClip;
+        this.sideNormalLength = Math.sqrt(this.focalLength * this.focalLength + this.halfWidth * this.halfWidth);
+        this.topNormalLength = Math.sqrt(this.focalLength * this.focalLength + this.halfHeight * this.halfHeight);
+    }
+
+    /**
+     * Projects a scene coordinate onto the screen.
+     *
+     * @param x The X scene coordinate
+     * @param y The Y scene coordinate
+     * @param z The Z scene coordinate
+     * @param out The array the screen X/Y coordinates are written into
+     * @param offset The index in {@code out} of the screen X coordinate
+     * @return {@code false} if the point is behind the camera and nothing was written
+     */
+    public boolean project(double x, double y, double z, double[] out, int offset) {
+        double depth = mzx * x + mzy * y + mzz * z + tz;
+        if(depth <= 0) return false;
+
+        double scale = focalLength / depth;
+        out[offset] = halfWidth + (mxx * x + mxy * y + mxz * z + tx) * scale;
+        out[offset + 1] = halfHeight + (myx * x + myy * y + myz * z + ty) * scale;
+        return true;
+    }
+
+    /**
+     * Returns the radius in pixels of a sphere once projected onto the screen.
+     *
+     * @param x The X scene coordinate of the sphere's center
+     * @param y The Y scene coordinate of the sphere's center
+     * @param z The Z scene coordinate of the sphere's center
+     * @param radius The radius of the sphere
+     * @return The projected radius, or {@code 0} if the center is behind the camera
+     */
+    public double projectedRadius(double x, double y, double z, double radius) {
+        double depth = mzx * x + mzy * y + mzz * z + tz;
+        if(depth <= 0) return 0;
+        return radius * focalLength / depth;
+    }
+
+    /**
+     * Tests a sphere against the six planes of the camera's view frustum. The test is
+     * conservative: a sphere that only overlaps the frustum's corner regions may be reported
+     * as in view, but a sphere that is reported as out of view is never on screen.
+     *
+     * @param x The X scene coordinate of the sphere's center
+     * @param y The Y scene coordinate of the sphere's center
+     * @param z The Z scene coordinate of the sphere's center
+     * @param radius The radius of the sphere
+     * @return {@code true} if any part of the sphere may be visible
+     */
+    public boolean isSphereInView(double x, double y, double z, double radius) {
+        double depth = mzx * x + mzy * y + mzz * z + tz;
+        if(depth + radius < nearClip || depth - radius > farClip) return false;
+
+        // Each side plane passes through the eye and one edge of the viewport
+        double cx = mxx * x + mxy * y + mxz * z + tx;
+        double sideLimit = radius * sideNormalLength;
+        if(cx * focalLength - depth * halfWidth > sideLimit) return false;
+        if(-cx * focalLength - depth * halfWidth > sideLimit) return false;
+
+        double cy = myx * x + myy * y + myz * z + ty;
+        double topLimit = radius * topNormalLength;
+        if(cy * focalLength - depth * halfHeight > topLimit) return false;
+        return !(-cy * focalLength - depth * halfHeight > topLimit);
+    }
+
+    /**
+     * Returns the distance of a scene coordinate along the camera's viewing direction.
+     *
+     * @param x The X scene coordinate
+     * @param y The Y scene coordinate
+     * @param z The Z scene coordinate
+     * @return The depth of the point, which is negative behind the camera
+     */
+    public double depth(double x, double y, double z) {
+        return mzx * x + mzy * y + mzz * z + tz;
+    }
+
+    /**
+     * Returns the distance in pixels from the eye to the projection plane. An object at
+     * depth {@code d} appears {@code focalLength / d} pixels wide per unit of scene size.
+     * @return The focal length in pixels
+     */
+    public double getFocalLength() {
+        return focalLength;
+    }
+
+    /**
+     * Returns the X component of the camera's X-axis, which points right on screen, in
+     * scene coordinates. The camera is only rotated and translated, so its axes are the
+     * rows of the scene-to-camera rotation.
+     * @return The X component of the camera's right axis
+     */
+    public double getRightX() {
+        return mxx;
+    }
+
+    public double getRightY() {
+        return mxy;
+    }
+
+    public double getRightZ() {
+        return mxz;
+    }
+
+    /**
+     * Returns the X component of the camera's Y-axis, which points down on screen, in
+     * scene coordinates.
+     * @return The X component of the camera's down axis
+     */
+    public double getDownX() {
+        return myx;
+    }
+
+    public double getDownY() {
+        return myy;
+    }
+
+    public double getDownZ() {
+        return myz;
+    }
+
+    /**
+     * Returns the straight-line distance between the camera and a scene coordinate.
+     *
+     * @param x The X scene coordinate
+     * @param y The Y scene coordinate
+     * @param z The Z scene coordinate
+     * @return The distance between the camera and the point
+     */
+    public double distanceToCamera(double x, double y, double z) {
+        double dx = x - cameraX;
+        double dy = y - cameraY;
+        double dz = z - cameraZ;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.planetsexplorer;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.cell.CheckBoxListCell;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * A searchable checklist of catalog ids, used by {@link PlanetViewer} to pick the
+ * {@code Moon} and {@code Spacecraft} bodies to load.
+ *
+ * <p> The list is a virtualized {@code ListView}, so only the visible rows have cells, no
+ * matter how many entries the catalog holds. The search field filters as the user types. A
+ * query that extends the previous one only rescans the previous matches, so each keystroke
+ * gets cheaper as the query narrows. The checked state of every id is kept apart from the
+ * cells, so it survives filtering and scrolling.
+ *
+ * @see HorizonSystem#getSpacecraftIds()
+ * @see HorizonSystem#getMoonIds(String)
+ */
+public final class CatalogPicker {
+    /**
+     * A row of the picker
+     * @param id The database id of the body
+     * @param label The text shown in the row
+     * @param searchKey The lower case text the search matches against
+     */
+    private record Entry(String id, String label, String searchKey) {}
+
+    /**
+     * Every entry of the picker, in display order
+     */
+    private final ArrayList<Entry> entries = new ArrayList<>();
+
+    /**
+     * The entries that matched the last query
+     */
+    private ArrayList<Entry> matches = new ArrayList<>();
+
+    /**
+     * The last query, in lower case
+     */
+    private String lastQuery = "";
+
+    /**
+     * The entries shown in the list
+     */
+    private final ObservableList<Entry> visible = FXCollections.observableArrayList();
+
+    /**
+     * The checked state of every id that has been shown or set
+     */
+    private final HashMap<String, BooleanProperty> checked = new HashMap<>();
+
+    /**
+     * Called with the id and the new state whenever an id is checked or unchecked
+     */
+    private final BiConsumer<String, Boolean> onToggle;
+
+    private final TextField search = new TextField();
+    private final ListView<Entry> listView = new ListView<>(visible);
+    private final VBox root = new VBox(search, listView);
+
+    /**
+     * Constructs an empty {@code CatalogPicker}.
+     *
+     * @param prompt The prompt shown in the empty search field
+     * @param onToggle Called with the id and the new state whenever an id is checked or unchecked
+     */
+    public CatalogPicker(String prompt, BiConsumer<String, Boolean> onToggle) {
+        this.onToggle = onToggle;
+
+        search.setPromptText(prompt);
+        search.textProperty().addListener((observable, oldText, newText) -> filter(newText));
+
+        StringConverter<Entry> converter = new StringConverter<>() {
+            @Override
+            public String toString(Entry entry) {
+                return entry == null ? "" : entry.label();
+            }
+
+            @Override
+            public Entry fromString(String string) {
+                return null;
+            }
+        };
+        listView.setCellFactory(CheckBoxListCell.forListView(entry -> checkedProperty(entry.id()), converter));
+        VBox.setVgrow(listView, Priority.ALWAYS);
+    }
+
+    /**
+     * Replaces the entries of the picker, keeping the checked state of every id.
+     * @param ids The database ids to list, in display order
+     */
+    public void setIds(List<String> ids) {
+        entries.clear();
+        for(String id: ids) {
+            String name = HorizonSystem.idToName(id);
+            String label = name == null ? id : id + " " + name;
+            entries.add(new Entry(id, label, label.toLowerCase(Locale.ROOT)));
+        }
+
+        lastQuery = null;
+        filter(search.getText());
+    }
+
+    /**
+     * Shows the entries that contain the query, ignoring case.
+     * @param query The search text
+     */
+    private void filter(String query) {
+        String key = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+
+        // Narrowing a query can only remove matches, so only the previous matches are rescanned
+        List<Entry> candidates = lastQuery != null && key.startsWith(lastQuery) ? matches : entries;
+        ArrayList<Entry> found = new ArrayList<>(candidates.size());
+        for(Entry entry: candidates)
+            if(entry.searchKey().contains(key)) found.add(entry);
+
+        matches = found;
+        lastQuery = key;
+        visible.setAll(found);
+    }
+
+    /**
+     * Returns the checked state of an id, creating it unchecked on first use.
+     * @param id The database id
+     * @return The checked state
+     */
+    private BooleanProperty checkedProperty(String id) {
+        return checked.computeIfAbsent(id, key -> {
+            BooleanProperty property = new SimpleBooleanProperty(false);
+            property.addListener((observable, wasChecked, isChecked) -> onToggle.accept(key, isChecked));
+            return property;
+        });
+    }
+
+    /**
+     * Checks or unchecks an id, notifying the toggle callback if the state changed.
+     * @param id The database id
+     * @param isChecked The new state
+     */
+    public void setChecked(String id, boolean isChecked) {
+        BooleanProperty property = checked.get(id);
+        if(property != null) property.set(isChecked);
+        else if(isChecked) checkedProperty(id).set(true);
+    }
+
+    /**
+     * Unchecks every id, notifying the toggle callback for each one that was checked.
+     */
+    public void uncheckAll() {
+        for(BooleanProperty property: checked.values()) property.set(false);
+    }
+
+    /**
+     * Applies a style to the search field and the list.
+     * @param style The inline CSS style
+     */
+    public void setStyle(String style) {
+        search.setStyle(style);
+        listView.setStyle(style);
+    }
+
+    public VBox getRoot() {
+        return root;
+    }
+}
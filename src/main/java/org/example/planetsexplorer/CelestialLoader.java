@@ -0,0 +1,435 @@
+package org.example.planetsexplorer;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import org.example.planetsexplorer.celestial.CelestialInfoFacade;
+import org.example.planetsexplorer.celestial.EphemerisQuery;
+import org.example.planetsexplorer.celestial.KeplerOrbit;
+import org.example.planetsexplorer.celestial.Moon;
+import org.example.planetsexplorer.celestial.Planet;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+import org.example.planetsexplorer.celestial.Spacecraft;
+import org.example.planetsexplorer.celestial.ViewSettings;
+
+import java.io.InterruptedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Loads {@link Planet}, {@link Moon} and {@link Spacecraft} bodies without blocking the
+ * JavaFX Application Thread.
+ *
+ * <p> Every load is a {@link Load} task made of stages. The network stages (body info,
+ * timestamps, ephemeris) run one task at a time on a background thread, in the order they
+ * were requested, so a {@code Moon} queued after its {@code Planet} is always built after it.
+ * The final stage constructs the body's scene nodes on the JavaFX Application Thread.
+ *
+ * <p> Queued and running loads are listed in {@link CelestialLoader#getQueue()}. A load can
+ * be cancelled by database ID until its body is constructed: a queued load never runs, and a
+ * running load has its open HTTP connection closed and its fetched data discarded.
+ *
+ * @see PlanetViewer
+ */
+public final class CelestialLoader {
+    /**
+     * The single background thread the network stages run on
+     */
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Celestial Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The loads that have been requested and have not finished, in the order they will run
+     */
+    private static final ObservableList<Load> queue = FXCollections.observableArrayList();
+
+    /**
+     * The unfinished loads by the database ID of the body they load
+     */
+    private static final HashMap<String, Load> loadsById = new HashMap<>();
+
+    /**
+     * The prefix of the keys of ephemeris re-query loads, which keeps them apart from the
+     * load that constructs the same body
+     */
+    private static final String ephemerisKeyPrefix = "ephemeris:";
+
+    /**
+     * The largest number of points extrapolated to stand in for a re-queried ephemeris. They
+     * are propagated on the background thread, but applied on the JavaFX Application Thread,
+     * so this bounds the stall of applying them.
+     */
+    private static final int maxExtrapolatedPoints = 20000;
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private CelestialLoader() {}
+
+    /**
+     * A background load of a single body. The network stages run in {@code fetch()} and return
+     * the final stage, which is run on the JavaFX Application Thread if the load succeeds.
+     */
+    public static abstract class Load extends Task<Runnable> {
+        /**
+         * The key the load is tracked by: the database ID of the body it constructs, or
+         * {@code ephemerisKeyPrefix} followed by the database ID of the body it re-queries
+         */
+        private final String key;
+
+        /**
+         * The number of network stages, used to report progress
+         */
+        private final int stages;
+
+        /**
+         * The thread running the network stages, or {@code null} if they are not running
+         */
+        private volatile Thread worker;
+
+        /**
+         * The number of network stages completed
+         */
+        private int completedStages = 0;
+
+        /**
+         * {@code true} once the load has been cancelled by its key. Its final stage is skipped
+         * even if its network stages had already finished. Only read and written on the JavaFX
+         * Application Thread.
+         * @see CelestialLoader#cancel(String)
+         */
+        private boolean withdrawn = false;
+
+        /**
+         * Constructs a {@code Load}. Must be called on the JavaFX Application Thread.
+         * @param title The title shown in the queue
+         * @param key The key the load is tracked by
+         * @param stages The number of network stages
+         */
+        private Load(String title, String key, int stages) {
+            this.key = key;
+            this.stages = stages;
+            updateTitle(title);
+            updateMessage("Queued");
+        }
+
+        /**
+         * Runs the network stages on the background thread.
+         * @return The final stage, to be run on the JavaFX Application Thread
+         * @throws Exception if a stage failed
+         */
+        protected abstract Runnable fetch() throws Exception;
+
+        @Override
+        protected final Runnable call() throws Exception {
+            this.worker = Thread.currentThread();
+            try {
+                return fetch();
+            } finally {
+                this.worker = null;
+            }
+        }
+
+        /**
+         * Reports that a network stage is starting.
+         * @param message A description of the stage
+         * @throws InterruptedException if the load was cancelled
+         */
+        protected void beginStage(String message) throws InterruptedException {
+            if(isCancelled()) throw new InterruptedException("Load cancelled: " + key);
+            updateMessage(message);
+            updateProgress(completedStages++, stages);
+        }
+
+        /**
+         * Cancels the load and closes the connection of any request it is waiting on.
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Thread running = this.worker;
+            if(cancelled && running != null) HorizonSystem.abortRequest(running);
+            return cancelled;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    /**
+     * Queues the load of a {@code Planet}.
+     * @param planetID The database ID of the {@code Planet}
+     * @see Planet#createPlanet(String, CelestialInfoFacade, EphemerisQuery)
+     */
+    public static void loadPlanet(String planetID) {
+        String sunID = Main.sun.getDbID();
+        submit(new Load(HorizonSystem.idToName(planetID) + " " + planetID, planetID, 2) {
+            @Override
+            protected Runnable fetch() throws Exception {
+                beginStage("Fetching body info");
+                CelestialInfoFacade info = HorizonSystem.getBody(planetID);
+                if(info == null) throw new IllegalStateException("No body info for " + planetID);
+
+                beginStage("Fetching ephemeris");
+                EphemerisQuery ephemeris = SecondaryBody.createDefaultQuery(
+                        planetID, sunID, info.getSiderealOrbitDays()).fetch();
+
+                return () -> Planet.createPlanet(planetID, info, ephemeris);
+            }
+        });
+    }
+
+    /**
+     * Queues the load of a {@code Moon}. Its {@code Planet} must be loaded, or queued before it.
+     * @param moonID The database ID of the {@code Moon}
+     * @param planetID The database ID of the {@code Planet} it orbits
+     * @see Moon#createMoon(String, String, CelestialInfoFacade, EphemerisQuery)
+     */
+    public static void loadMoon(String moonID, String planetID) {
+        submit(new Load(HorizonSystem.idToName(moonID) + " " + moonID, moonID, 2) {
+            @Override
+            protected Runnable fetch() throws Exception {
+                beginStage("Fetching body info");
+                CelestialInfoFacade info = HorizonSystem.getBody(moonID);
+                if(info == null) throw new IllegalStateException("No body info for " + moonID);
+
+                beginStage("Fetching ephemeris");
+                EphemerisQuery ephemeris = SecondaryBody.createDefaultQuery(
+                        moonID, planetID, info.getSiderealOrbitDays()).fetch();
+
+                return () -> Moon.createMoon(moonID, planetID, info, ephemeris);
+            }
+        });
+    }
+
+    /**
+     * Queues the load of a {@code Spacecraft}: its start and stop timestamps, then the
+     * ephemeris of the {@code Spacecraft} and each of its siblings over that range. The
+     * timestamps only cost requests if {@link CoverageWindows} doesn't know them yet.
+     * @param name The name of the {@code Spacecraft}
+     * @param dbID The database ID of the {@code Spacecraft}
+     * @see Spacecraft#createSpacecraft(String, String, List)
+     */
+    public static void loadSpacecraft(String name, String dbID) {
+        submit(new Load(name + " " + dbID, dbID, 1 + Main.sun.getSecondaryBodies().length + 1) {
+            @Override
+            protected Runnable fetch() throws Exception {
+                beginStage("Finding date range");
+                LocalDateTime[] range = CoverageWindows.getWindow(dbID);
+
+                // The current siblings can only be read on the JavaFX Application Thread
+                ArrayList<EphemerisQuery> queries = runOnFxThread(() ->
+                        Spacecraft.createRangeQueries(dbID, range[0], range[1]));
+                for(EphemerisQuery query: queries) {
+                    beginStage("Fetching ephemeris of " + query.getDbID());
+                    query.fetch();
+                }
+
+                return () -> Spacecraft.createSpacecraft(name, dbID, queries);
+            }
+        });
+    }
+
+    /**
+     * Queues a new ephemeris query over the same date-time range for a group of already
+     * constructed bodies, like the selected body and its {@code SecondaryBody} children.
+     *
+     * <p> A newer query supersedes older ones. An unfinished query started from the same
+     * {@code owner} is cancelled outright. Every body in {@code bodies} also starts a new
+     * request generation, so an older query still in flight for it, started from any owner,
+     * skips its fetch if it hasn't started and discards its result if it has.
+     *
+     * <p> If extrapolation is selected, every body with a known orbit shows it over the new
+     * range as soon as the load starts, and the fetched ephemeris replaces it when it arrives.
+     * The orbits are propagated by the load on the background thread. A body whose fetch fails
+     * keeps its extrapolated ephemeris, so the query still shows something while the database
+     * can't be reached.
+     *
+     * @param owner The body the query was started from
+     * @param bodies The bodies whose ephemeris is to be queried
+     * @param dateStart The start of the ephemeris date-time range
+     * @param dateStop The end of the ephemeris date-time range
+     * @param stepSize The time-based increment between two sequential ephemeris points
+     * @see SecondaryBody#nextEphemerisGeneration()
+     */
+    public static void loadEphemeris(SecondaryBody owner, List<SecondaryBody> bodies,
+                                     LocalDateTime dateStart, LocalDateTime dateStop, StepSize stepSize) {
+        String key = ephemerisKeyPrefix + owner.getDbID();
+        cancel(key);
+
+        // The queries, generations and centers are all captured on this thread
+        ArrayList<SecondaryBody> targets = new ArrayList<>(bodies);
+        ArrayList<EphemerisQuery> queries = new ArrayList<>(targets.size());
+        long[] generations = new long[targets.size()];
+        for(int i=0; i < targets.size(); i++) {
+            SecondaryBody body = targets.get(i);
+            generations[i] = body.nextEphemerisGeneration();
+            queries.add(new EphemerisQuery(body.getDbID(), body.getPrimaryBody().getDbID(), dateStart, dateStop, stepSize));
+        }
+
+        // The orbits are immutable, so they are taken here and propagated by the load
+        KeplerOrbit[] orbits = new KeplerOrbit[targets.size()];
+        if(ViewSettings.isExtrapolation())
+            for(int i=0; i < targets.size(); i++) orbits[i] = targets.get(i).getKeplerOrbit();
+        boolean extrapolate = Arrays.stream(orbits).anyMatch(Objects::nonNull);
+
+        submit(new Load("Ephemeris of " + owner.getName(), key, targets.size() + (extrapolate ? 1 : 0)) {
+            @Override
+            protected Runnable fetch() throws Exception {
+                boolean[] extrapolated = new boolean[targets.size()];
+                if(extrapolate) {
+                    beginStage("Extrapolating");
+                    extrapolate(extrapolated);
+                }
+
+                for(int i=0; i < targets.size(); i++) {
+                    beginStage("Fetching ephemeris of " + targets.get(i).getDbID());
+                    if(!targets.get(i).isEphemerisGenerationCurrent(generations[i])) continue;
+                    try {
+                        queries.get(i).fetch();
+                    } catch (RuntimeException e) {
+                        if(!extrapolated[i] || isCancelled() || e.getCause() instanceof InterruptedIOException) throw e;
+                        System.err.println("Keeping the extrapolated ephemeris of " + targets.get(i).getDbID() + ": " + e.getCause());
+                    }
+                }
+
+                return () -> {
+                    for(int i=0; i < targets.size(); i++)
+                        if(queries.get(i).getEphemeris() != null)
+                            targets.get(i).applyEphemeris(queries.get(i), generations[i]);
+
+                    PlanetsCamera.updateEphemeris();
+                    PlanetsCamera.updateCameraUI();
+                };
+            }
+
+            /**
+             * Propagates the orbit of every body that has one over the new range, and hands the
+             * points to the JavaFX Application Thread to show until the fetched ephemeris arrives.
+             * @param extrapolated Filled with {@code true} for every body that was extrapolated
+             */
+            private void extrapolate(boolean[] extrapolated) {
+                EphemerisQuery[] standIns = new EphemerisQuery[targets.size()];
+                for(int i=0; i < targets.size(); i++) {
+                    if(orbits[i] == null) continue;
+                    SecondaryBody body = targets.get(i);
+                    standIns[i] = new EphemerisQuery(body.getDbID(), queries.get(i).getCenterID(),
+                            dateStart, dateStop, stepSize).extrapolate(orbits[i], maxExtrapolatedPoints);
+                    extrapolated[i] = true;
+                }
+
+                // Queued ahead of the final stage, so the fetched ephemeris is always applied after it
+                Platform.runLater(() -> {
+                    if(isCancelled()) return;
+                    for(int i=0; i < targets.size(); i++)
+                        if(standIns[i] != null) targets.get(i).applyEphemeris(standIns[i], generations[i]);
+                    PlanetsCamera.updateEphemeris();
+                    PlanetsCamera.updateCameraUI();
+                });
+            }
+        });
+    }
+
+    /**
+     * Cancels the unfinished load of a body. Must be called on the JavaFX Application Thread.
+     *
+     * <p> The load is withdrawn, so its final stage never runs, even if its network stages
+     * have finished and only the hand-off to this thread is pending, when {@link Task#cancel()}
+     * itself has no effect. Its key is released at once, so the body can be loaded again
+     * right away.
+     *
+     * @param dbID The database ID of the body
+     * @return {@code true} if a load was withdrawn, {@code false} if there was none, in which
+     * case the body may already be constructed
+     */
+    public static boolean cancel(String dbID) {
+        Load load = loadsById.remove(dbID);
+        if(load == null) return false;
+
+        load.withdrawn = true;
+        queue.remove(load);
+        load.cancel(true);
+        return true;
+    }
+
+    /**
+     * Cancels the unfinished ephemeris queries started from a body.
+     * @param dbID The database ID of the body the queries were started from
+     * @return {@code true} if a query was cancelled
+     */
+    public static boolean cancelEphemeris(String dbID) {
+        return cancel(ephemerisKeyPrefix + dbID);
+    }
+
+    /**
+     * Returns {@code true} if a body has a queued or running load.
+     * @param dbID The database ID of the body
+     * @return {@code true} if the body is being loaded
+     */
+    public static boolean isLoading(String dbID) {
+        return loadsById.containsKey(dbID);
+    }
+
+    public static ObservableList<Load> getQueue() {
+        return queue;
+    }
+
+    /**
+     * Adds a load to the queue and schedules it on the background thread. A body that is
+     * already being loaded is not loaded twice.
+     * @param load The load to schedule
+     */
+    private static void submit(Load load) {
+        if(loadsById.containsKey(load.getKey())) return;
+
+        loadsById.put(load.getKey(), load);
+        queue.add(load);
+
+        load.setOnSucceeded(e -> {
+            finish(load);
+            if(!load.withdrawn) load.getValue().run();
+        });
+        load.setOnFailed(e -> {
+            finish(load);
+            System.err.println("Failed to load " + load.getTitle() + ": " + load.getException());
+        });
+        load.setOnCancelled(e -> finish(load));
+
+        executor.execute(load);
+    }
+
+    /**
+     * Removes a finished load from the queue.
+     * @param load The load that succeeded, failed, or was cancelled. Its key is only released
+     *             if it hasn't been taken by a newer load already.
+     */
+    private static void finish(Load load) {
+        loadsById.remove(load.getKey(), load);
+        queue.remove(load);
+    }
+
+    /**
+     * Runs a step on the JavaFX Application Thread from the background thread and waits for it.
+     * @param step The step to run
+     * @return The step's result
+     * @throws Exception if the step failed or the wait was interrupted
+     */
+    private static <T> T runOnFxThread(Callable<T> step) throws Exception {
+        FutureTask<T> future = new FutureTask<>(step);
+        Platform.runLater(future);
+        return future.get();
+    }
+}
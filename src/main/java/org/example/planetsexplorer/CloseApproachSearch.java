@@ -0,0 +1,277 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.EphemerisTrack;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the close approaches between bodies in their fetched ephemeris, like when a spacecraft
+ * is closest to Mars, or the smallest distance between the Earth and the Moon.
+ *
+ * <p> For every pair of {@link EphemerisTrack}s, the range rate {@code r·v} of the relative
+ * position {@code r} and velocity {@code v} is computed across the whole time series in one
+ * pass over the columns. The distance is at a minimum where the range rate turns from negative
+ * to positive. Each such step is refined with a cubic Hermite curve through the positions and
+ * velocities at both ends, and the root of its range rate is found with the Illinois method,
+ * so the time and distance are accurate well inside a step. The ends of the overlap are
+ * minima too if the bodies are receding at the first point or approaching at the last.
+ *
+ * <p> Pairs are searched in parallel. Tracks must share the unit of their step, and their
+ * points must fall on the same date-times.
+ *
+ * @see PlanetViewer
+ */
+public final class CloseApproachSearch {
+    /**
+     * The precision of a refined minimum, as a fraction of its step
+     */
+    private static final double tolerance = 1e-12;
+
+    /**
+     * The largest number of iterations refining a minimum
+     */
+    private static final int maxIterations = 60;
+
+    /**
+     * A local minimum of the distance between two bodies
+     */
+    public static final class CloseApproach {
+        private final EphemerisTrack track;
+        private final EphemerisTrack otherTrack;
+        private final LocalDateTime dateTime;
+        private final double distanceKm;
+        private final double relativeSpeedKmS;
+
+        /**
+         * {@code true} if the minimum is at the first or last point the tracks share, so the
+         * bodies may come closer outside the fetched ephemeris
+         */
+        private final boolean atBoundary;
+
+        private CloseApproach(EphemerisTrack track, EphemerisTrack otherTrack, LocalDateTime dateTime,
+                              double distanceKm, double relativeSpeedKmS, boolean atBoundary) {
+            this.track = track;
+            this.otherTrack = otherTrack;
+            this.dateTime = dateTime;
+            this.distanceKm = distanceKm;
+            this.relativeSpeedKmS = relativeSpeedKmS;
+            this.atBoundary = atBoundary;
+        }
+
+        public EphemerisTrack getTrack() {
+            return track;
+        }
+
+        public EphemerisTrack getOtherTrack() {
+            return otherTrack;
+        }
+
+        public LocalDateTime getDateTime() {
+            return dateTime;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public double getRelativeSpeedKmS() {
+            return relativeSpeedKmS;
+        }
+
+        public boolean isAtBoundary() {
+            return atBoundary;
+        }
+    }
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private CloseApproachSearch() {}
+
+    /**
+     * Finds every local minimum of the distance between two bodies.
+     * @param track The track of the first body
+     * @param otherTrack The track of the second body
+     * @param maxDistanceKm Minima farther apart than this are left out
+     * @return The minima in time order, empty if the tracks share no date-times
+     */
+    public static ArrayList<CloseApproach> findApproaches(EphemerisTrack track, EphemerisTrack otherTrack,
+                                                          double maxDistanceKm) {
+        ArrayList<CloseApproach> approaches = new ArrayList<>();
+        if(track.getUnit() != otherTrack.getUnit()) return approaches;
+
+        // The point of otherTrack at index i of track is i - offset
+        long offset = track.getUnit().between(track.getDateStart(), otherTrack.getDateStart());
+        if(!track.getDateStart().plus(offset, track.getUnit()).equals(otherTrack.getDateStart())) return approaches;
+        int first = (int) Math.max(0, offset);
+        int end = (int) Math.min(track.size(), offset + otherTrack.size());
+        if(end <= first) return approaches;
+
+        double[] positions = track.getPositions(), velocities = track.getVelocities();
+        double[] otherPositions = otherTrack.getPositions(), otherVelocities = otherTrack.getVelocities();
+        int shift = (int) -offset * 3;
+
+        double[] rangeRate = new double[end - first];
+        for(int i=first; i < end; i++) {
+            int a = i * 3, b = a + shift;
+            rangeRate[i - first] = (positions[a] - otherPositions[b]) * (velocities[a] - otherVelocities[b])
+                    + (positions[a + 1] - otherPositions[b + 1]) * (velocities[a + 1] - otherVelocities[b + 1])
+                    + (positions[a + 2] - otherPositions[b + 2]) * (velocities[a + 2] - otherVelocities[b + 2]);
+        }
+
+        double[] relative = new double[12];
+        if(rangeRate[0] >= 0) {
+            relativeState(track, otherTrack, first, shift, relative, 0);
+            addApproach(approaches, track, otherTrack, track.getSeconds()[first], relative, true, maxDistanceKm);
+        }
+        for(int k=0; k < rangeRate.length - 1; k++) {
+            if(rangeRate[k] >= 0 || rangeRate[k + 1] < 0) continue;
+
+            int i = first + k;
+            relativeState(track, otherTrack, i, shift, relative, 0);
+            relativeState(track, otherTrack, i + 1, shift, relative, 6);
+            double t0 = track.getSeconds()[i];
+            double step = track.getSeconds()[i + 1] - t0;
+            double s = refineMinimum(relative, step, rangeRate[k], rangeRate[k + 1]);
+            hermite(relative, step, s, relative);
+            addApproach(approaches, track, otherTrack, t0 + s * step, relative, false, maxDistanceKm);
+        }
+        if(rangeRate[rangeRate.length - 1] < 0) {
+            relativeState(track, otherTrack, end - 1, shift, relative, 0);
+            addApproach(approaches, track, otherTrack, track.getSeconds()[end - 1], relative, true, maxDistanceKm);
+        }
+        return approaches;
+    }
+
+    /**
+     * Finds the closest approach of a body to each of a list of others, searching the pairs in
+     * parallel.
+     * @param track The track of the body
+     * @param others The tracks of the other bodies
+     * @return The closest approach to every other body that shares date-times with the body,
+     * nearest first
+     */
+    public static List<CloseApproach> findClosestApproaches(EphemerisTrack track, List<EphemerisTrack> others) {
+        return others.parallelStream()
+                .filter(other -> other != track)
+                .flatMap(other -> findApproaches(track, other, Double.POSITIVE_INFINITY).stream()
+                        .min(Comparator.comparingDouble(CloseApproach::getDistanceKm)).stream())
+                .sorted(Comparator.comparingDouble(CloseApproach::getDistanceKm))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds every local minimum closer than a distance between every pair of bodies, searching
+     * the pairs in parallel.
+     * @param tracks The tracks of the bodies
+     * @param maxDistanceKm Minima farther apart than this are left out
+     * @return The minima, nearest first
+     */
+    public static List<CloseApproach> findAllApproaches(List<EphemerisTrack> tracks, double maxDistanceKm) {
+        return IntStream.range(0, tracks.size()).parallel()
+                .boxed()
+                .flatMap(i -> IntStream.range(i + 1, tracks.size()).boxed()
+                        .flatMap(j -> findApproaches(tracks.get(i), tracks.get(j), maxDistanceKm).stream()))
+                .sorted(Comparator.comparingDouble(CloseApproach::getDistanceKm))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds where the range rate of the Hermite curve across a step turns from negative to
+     * positive, with the Illinois variant of false position.
+     * @param relative The relative state at the start of the step, followed by the one at its end
+     * @param step The length of the step in seconds
+     * @param low The range rate at the start of the step, negative
+     * @param high The range rate at the end of the step, not negative
+     * @return The fraction of the step the minimum is at
+     */
+    private static double refineMinimum(double[] relative, double step, double low, double high) {
+        double[] point = new double[6];
+        double sLow = 0, sHigh = 1, s = 1;
+        int side = 0;
+        for(int i=0; i < maxIterations && high != 0; i++) {
+            s = (sLow * high - sHigh * low) / (high - low);
+            hermite(relative, step, s, point);
+            double value = point[0] * point[3] + point[1] * point[4] + point[2] * point[5];
+            if(value == 0 || sHigh - sLow <= tolerance) break;
+
+            // Halving the retained end keeps false position from converging from one side only
+            if(value < 0) {
+                sLow = s;
+                low = value;
+                if(side == -1) high /= 2;
+                side = -1;
+            } else {
+                sHigh = s;
+                high = value;
+                if(side == 1) low /= 2;
+                side = 1;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Evaluates the cubic Hermite curve through the relative states at both ends of a step.
+     * @param relative The relative state at the start of the step, followed by the one at its end
+     * @param step The length of the step in seconds
+     * @param s The fraction of the step
+     * @param point Filled with the position in km, and its derivative by {@code s} scaled back to
+     *              km/s, as {@code (x, y, z, vx, vy, vz)}. May be {@code relative} itself.
+     */
+    private static void hermite(double[] relative, double step, double s, double[] point) {
+        double s2 = s * s, s3 = s2 * s;
+        double h00 = 2 * s3 - 3 * s2 + 1, h10 = s3 - 2 * s2 + s, h01 = -2 * s3 + 3 * s2, h11 = s3 - s2;
+        double d00 = 6 * s2 - 6 * s, d10 = 3 * s2 - 4 * s + 1, d01 = -6 * s2 + 6 * s, d11 = 3 * s2 - 2 * s;
+        double x, y, z, vx, vy, vz;
+        x = h00 * relative[0] + h10 * step * relative[3] + h01 * relative[6] + h11 * step * relative[9];
+        y = h00 * relative[1] + h10 * step * relative[4] + h01 * relative[7] + h11 * step * relative[10];
+        z = h00 * relative[2] + h10 * step * relative[5] + h01 * relative[8] + h11 * step * relative[11];
+        vx = (d00 * relative[0] + d01 * relative[6]) / step + d10 * relative[3] + d11 * relative[9];
+        vy = (d00 * relative[1] + d01 * relative[7]) / step + d10 * relative[4] + d11 * relative[10];
+        vz = (d00 * relative[2] + d01 * relative[8]) / step + d10 * relative[5] + d11 * relative[11];
+        point[0] = x; point[1] = y; point[2] = z;
+        point[3] = vx; point[4] = vy; point[5] = vz;
+    }
+
+    /**
+     * Writes the state of one track relative to another at a point.
+     * @param track The first track
+     * @param otherTrack The second track
+     * @param index The index of the point in {@code track}
+     * @param shift The offset from a position in {@code track} to the same date-time in {@code otherTrack}
+     * @param relative Filled with {@code (x, y, z, vx, vy, vz)} from {@code start}
+     * @param start The index in {@code relative} to write at
+     */
+    private static void relativeState(EphemerisTrack track, EphemerisTrack otherTrack, int index, int shift,
+                                      double[] relative, int start) {
+        int a = index * 3, b = a + shift;
+        for(int j=0; j < 3; j++) {
+            relative[start + j] = track.getPositions()[a + j] - otherTrack.getPositions()[b + j];
+            relative[start + j + 3] = track.getVelocities()[a + j] - otherTrack.getVelocities()[b + j];
+        }
+    }
+
+    /**
+     * Adds a minimum to a list if it's close enough.
+     * @param approaches The list
+     * @param track The track of the first body
+     * @param otherTrack The track of the second body
+     * @param seconds The time of the minimum after the first point of {@code track}
+     * @param relative The relative state at the minimum, as {@code (x, y, z, vx, vy, vz)}
+     * @param atBoundary {@code true} if the minimum is at an end of the shared date-times
+     * @param maxDistanceKm The farthest distance added
+     */
+    private static void addApproach(ArrayList<CloseApproach> approaches, EphemerisTrack track, EphemerisTrack otherTrack,
+                                    double seconds, double[] relative, boolean atBoundary, double maxDistanceKm) {
+        double distance = Math.sqrt(relative[0] * relative[0] + relative[1] * relative[1] + relative[2] * relative[2]);
+        if(distance > maxDistanceKm) return;
+        double speed = Math.sqrt(relative[3] * relative[3] + relative[4] * relative[4] + relative[5] * relative[5]);
+        approaches.add(new CloseApproach(track, otherTrack, track.dateTimeAt(seconds), distance, speed, atBoundary));
+    }
+}
@@ -0,0 +1,320 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.Spacecraft;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A static helper class that remembers the date-time range every {@link Spacecraft} has
+ * ephemeris for, so adding a {@code Spacecraft} doesn't have to discover it with the two
+ * requests of {@link Spacecraft#fetchDateRange(String)} first.
+ *
+ * <p> Discovered windows are saved to {@code ~/.planets-explorer/coverage-windows.properties}
+ * and loaded on the next start. Windows of active missions grow as their predictions are
+ * extended, so a window older than {@code maxAgeDays} is still used, but discovered again by
+ * the next background discovery.
+ *
+ * <p> {@link #discoverInBackground(Collection)} discovers many windows on a few background
+ * threads, started no faster than {@code discoveriesPerSecond}, whatever the rate limit of
+ * {@link HorizonSystem}. A window that is needed before its turn comes is discovered on the
+ * spot, and a window already being discovered is waited for rather than requested twice.
+ *
+ * <p> A failed discovery is remembered, and saved, with the time it may be retried after, so
+ * the background discovery doesn't retry it on every start. A spacecraft the database answered
+ * without a window waits {@code maxAgeDays}, a failed request only {@code requestRetryMinutes}.
+ * Discovering a window on the spot always retries.
+ *
+ * @see CelestialLoader#loadSpacecraft(String, String)
+ */
+public final class CoverageWindows {
+    /**
+     * Don't let this class be instantiated
+     */
+    private CoverageWindows() {}
+
+    /**
+     * The file the windows are saved to
+     */
+    private static final Path windowsFile = Paths.get(System.getProperty("user.home"),
+            ".planets-explorer", "coverage-windows.properties");
+
+    /**
+     * The age in days after which a saved window is discovered again
+     */
+    private static final int maxAgeDays = 30;
+
+    /**
+     * The number of windows discovered at once in the background
+     */
+    private static final int discoveryThreads = 4;
+
+    /**
+     * The largest number of background discoveries started per second, two requests each
+     */
+    private static final double discoveriesPerSecond = 1;
+
+    /**
+     * The minutes after which a discovery whose request failed is retried in the background
+     */
+    private static final int requestRetryMinutes = 60;
+
+    /**
+     * The prefix of the keys failed discoveries are saved under
+     */
+    private static final String failedKeyPrefix = "failed.";
+
+    /**
+     * The shortest interval between two saves while a background discovery is running
+     */
+    private static final long saveIntervalNanos = 2_000_000_000L;
+
+    /**
+     * The known windows by spacecraft id, as {@code {start, stop}}
+     */
+    private static final ConcurrentHashMap<String, LocalDateTime[]> windows = new ConcurrentHashMap<>();
+
+    /**
+     * The date every known window was discovered on
+     */
+    private static final ConcurrentHashMap<String, LocalDate> discoveryDates = new ConcurrentHashMap<>();
+
+    /**
+     * The time every failed discovery may be retried in the background after
+     */
+    private static final ConcurrentHashMap<String, LocalDateTime> retryAfter = new ConcurrentHashMap<>();
+
+    /**
+     * The windows being discovered, so concurrent callers share one discovery
+     */
+    private static final ConcurrentHashMap<String, CompletableFuture<LocalDateTime[]>> discovering = new ConcurrentHashMap<>();
+
+    /**
+     * The number of background discoveries queued or running
+     */
+    private static final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The number of background discoveries that failed since the last report
+     */
+    private static final AtomicInteger failed = new AtomicInteger();
+
+    private static final RequestLimiter discoveryLimiter = new RequestLimiter(discoveriesPerSecond);
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(discoveryThreads, runnable -> {
+        Thread thread = new Thread(runnable, "Coverage Discovery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static long lastSaveNanos = System.nanoTime();
+
+    static {
+        load();
+    }
+
+    /**
+     * Returns the window of a spacecraft, discovering it if it isn't known. Blocks on two
+     * requests, or on a discovery already running, if it isn't known.
+     * @param dbID The database ID of the spacecraft
+     * @return The start and stop of the window, in that order
+     * @throws RuntimeException if the discovery failed, or was interrupted, in which case the
+     * cause is an {@link InterruptedIOException}
+     */
+    public static LocalDateTime[] getWindow(String dbID) {
+        LocalDateTime[] window = windows.get(dbID);
+        return window != null ? window.clone() : discover(dbID).clone();
+    }
+
+    /**
+     * Discovers the unknown or outdated windows of a list of spacecraft on background threads,
+     * and saves them as they are found. Spacecraft already being discovered, and spacecraft
+     * whose failed discovery may not be retried yet, are skipped. The failures are reported in
+     * one line once the discoveries are done.
+     * @param dbIDs The database IDs of the spacecraft
+     */
+    public static void discoverInBackground(Collection<String> dbIDs) {
+        LocalDate oldest = LocalDate.now().minusDays(maxAgeDays);
+        LocalDateTime now = LocalDateTime.now();
+        for(String dbID: dbIDs) {
+            LocalDate discovered = discoveryDates.get(dbID);
+            if(discovered != null && !discovered.isBefore(oldest)) continue;
+            LocalDateTime retry = retryAfter.get(dbID);
+            if(retry != null && retry.isAfter(now)) continue;
+
+            pending.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    discoveryLimiter.await();
+                    if(!discovering.containsKey(dbID)) discover(dbID, true);
+                } catch (InterruptedIOException | RuntimeException e) {
+                    if(!isInterruption(e)) failed.incrementAndGet();
+                } finally {
+                    if(pending.decrementAndGet() == 0) {
+                        int failures = failed.getAndSet(0);
+                        if(failures > 0)
+                            System.err.println("Could not discover the coverage windows of " + failures + " spacecraft, see " + windowsFile);
+                        save();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Discovers the window of a spacecraft unless another thread already is, in which case
+     * its result is waited for.
+     * @param dbID The database ID of the spacecraft
+     * @return The start and stop of the window
+     */
+    private static LocalDateTime[] discover(String dbID) {
+        return discover(dbID, false);
+    }
+
+    /**
+     * Discovers the window of a spacecraft, sharing a discovery that is already running.
+     * @param dbID The database ID of the spacecraft
+     * @param refresh {@code true} to discover a window that is already known again
+     * @return The start and stop of the window
+     */
+    private static LocalDateTime[] discover(String dbID, boolean refresh) {
+        CompletableFuture<LocalDateTime[]> discovery = new CompletableFuture<>();
+        CompletableFuture<LocalDateTime[]> running = discovering.putIfAbsent(dbID, discovery);
+        if(running != null) return await(dbID, running);
+
+        try {
+            LocalDateTime[] window = refresh ? null : windows.get(dbID);
+            if(window == null) {
+                window = Spacecraft.fetchDateRange(dbID);
+                windows.put(dbID, window);
+                discoveryDates.put(dbID, LocalDate.now());
+                retryAfter.remove(dbID);
+                if(pending.get() == 0 || System.nanoTime() - lastSaveNanos >= saveIntervalNanos) save();
+            }
+            discovery.complete(window);
+            return window;
+        } catch (RuntimeException | Error e) {
+            if(e instanceof RuntimeException failure && !isInterruption(failure)) {
+                // A request that failed may work soon, an answer without a window won't
+                boolean requestFailed = failure.getCause() instanceof IOException;
+                LocalDateTime now = LocalDateTime.now().withNano(0);
+                retryAfter.put(dbID, requestFailed ? now.plusMinutes(requestRetryMinutes) : now.plusDays(maxAgeDays));
+            }
+            // Complete the discovery however it failed, or the threads sharing it wait forever
+            discovery.completeExceptionally(e);
+            throw e;
+        } finally {
+            discovering.remove(dbID, discovery);
+        }
+    }
+
+    /**
+     * Waits for a discovery running on another thread. The wait can be interrupted, so a
+     * cancelled load doesn't wait for the other thread's requests.
+     * @param dbID The database ID of the spacecraft
+     * @param discovery The running discovery
+     * @return The start and stop of the window
+     */
+    private static LocalDateTime[] await(String dbID, CompletableFuture<LocalDateTime[]> discovery) {
+        try {
+            return discovery.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(new InterruptedIOException("Interrupted waiting for the coverage window of " + dbID));
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException cause) throw cause;
+            if(e.getCause() instanceof Error cause) throw cause;
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns {@code true} if a discovery failed because it was interrupted, rather than
+     * because the database couldn't be reached or had no window.
+     * @param e The failure
+     * @return {@code true} if the failure is, or is caused by, an {@link InterruptedIOException}
+     */
+    private static boolean isInterruption(Exception e) {
+        return e instanceof InterruptedIOException || e.getCause() instanceof InterruptedIOException;
+    }
+
+    /**
+     * Loads the saved windows. A missing file means nothing has been discovered yet, and an
+     * unreadable entry is skipped.
+     */
+    private static void load() {
+        if(!Files.exists(windowsFile)) return;
+
+        Properties properties = new Properties();
+        try(Reader reader = Files.newBufferedReader(windowsFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.err.println("Could not read " + windowsFile + ": " + e.getMessage());
+            return;
+        }
+
+        for(String dbID: properties.stringPropertyNames()) {
+            try {
+                if(dbID.startsWith(failedKeyPrefix)) {
+                    retryAfter.put(dbID.substring(failedKeyPrefix.length()), LocalDateTime.parse(properties.getProperty(dbID)));
+                    continue;
+                }
+
+                // Saved as start,stop,discovered
+                String[] fields = properties.getProperty(dbID).split(",");
+                windows.put(dbID, new LocalDateTime[] {LocalDateTime.parse(fields[0]), LocalDateTime.parse(fields[1])});
+                discoveryDates.put(dbID, LocalDate.parse(fields[2]));
+            } catch (RuntimeException e) {
+                System.err.println("Skipping the saved coverage window of " + dbID + ": " + properties.getProperty(dbID));
+            }
+        }
+    }
+
+    /**
+     * Saves every known window. Written to a temporary file first and moved over the old one,
+     * so a failed save never loses the windows saved before.
+     */
+    private static synchronized void save() {
+        lastSaveNanos = System.nanoTime();
+        Properties properties = new Properties();
+        windows.forEach((dbID, window) -> properties.setProperty(dbID,
+                window[0] + "," + window[1] + "," + discoveryDates.getOrDefault(dbID, LocalDate.now())));
+        retryAfter.forEach((dbID, retry) -> properties.setProperty(failedKeyPrefix + dbID, retry.toString()));
+
+        try {
+            Files.createDirectories(windowsFile.getParent());
+            Path temporary = windowsFile.resolveSibling(windowsFile.getFileName() + ".tmp");
+            try(Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                properties.store(writer, "Spacecraft ephemeris windows: start,stop,discovered, and failed.<id>: retry after");
+            }
+            Files.move(temporary, windowsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not save " + windowsFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of known windows.
+     * @return The number of spacecraft whose window is known
+     */
+    public static int getSize() {
+        return windows.size();
+    }
+}
@@ -0,0 +1,244 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.EphemerisQuery;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs an {@link ExportJob}: fetches the ephemeris of every body from {@link HorizonSystem}
+ * and writes it to one file per body, without JavaFX.
+ *
+ * <p> Bodies are fetched in parallel, one per thread, through the rate limit set by
+ * {@link HorizonSystem#setMaxRequestsPerSecond(double)}. The date-time range of each body is
+ * split into queries of at most {@code maxStepsPerQuery} steps, below the database's row
+ * limit. The rows of every query are written to the file as they are parsed and then dropped,
+ * so memory use depends on the number of threads, not on the length of the range or the
+ * number of bodies.
+ *
+ * <p> Progress is printed every few seconds as the rows exported and rows per second. The
+ * rows of a body are counted once its file is complete, so a body that fails part way
+ * through never counts.
+ *
+ * @see ExportLauncher
+ */
+public final class EphemerisExporter {
+    /**
+     * The largest number of steps requested in a single query. The database returns at most
+     * 90024 lines, four per step.
+     */
+    private static final long maxStepsPerQuery = 20000;
+
+    /**
+     * The number of times a query is attempted before its body fails
+     */
+    private static final int maxAttempts = 3;
+
+    /**
+     * The interval between progress reports in seconds
+     */
+    private static final long reportIntervalSeconds = 2;
+
+    private final ExportJob job;
+
+    /**
+     * The number of rows written across every body that has been exported, counted once the
+     * body's file is complete
+     */
+    private final LongAdder rowsWritten = new LongAdder();
+
+    /**
+     * The number of bodies whose export has finished, successfully or not
+     */
+    private final AtomicInteger bodiesFinished = new AtomicInteger();
+
+    /**
+     * Constructs an {@code EphemerisExporter}.
+     * @param job The job to run
+     */
+    public EphemerisExporter(ExportJob job) {
+        this.job = job;
+    }
+
+    /**
+     * Runs the job and blocks until every body is exported or has failed.
+     * @return The number of bodies that failed
+     * @throws IOException if the output directory can't be created
+     */
+    public int run() throws IOException {
+        HorizonSystem.setMaxRequestsPerSecond(job.getRequestsPerSecond());
+        Files.createDirectories(job.getOutput());
+        List<String> bodies = resolveBodies();
+
+        long start = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Export Reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> report(start, bodies.size()),
+                reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(job.getThreads());
+        ArrayList<Future<?>> exports = new ArrayList<>(bodies.size());
+        for(String id: bodies)
+            exports.add(executor.submit(() -> { exportBody(id); return null; }));
+
+        int failures = 0;
+        for(int i=0; i < bodies.size(); i++) {
+            try {
+                exports.get(i).get();
+            } catch (Exception e) {
+                failures++;
+                System.err.println("Failed to export " + bodies.get(i) + ": " + (e.getCause() != null ? e.getCause() : e));
+            }
+        }
+        executor.shutdown();
+        reporter.shutdownNow();
+
+        report(start, bodies.size());
+        System.out.println("Export finished, " + (bodies.size() - failures) + " of " + bodies.size() + " bodies written to " + job.getOutput());
+        return failures;
+    }
+
+    /**
+     * Expands the {@code planets} and {@code moons} keywords of the job into database ids. The
+     * catalog is only fetched if moons are requested.
+     * @return The database ids to export, without duplicates, in the order of the job
+     */
+    private List<String> resolveBodies() {
+        LinkedHashSet<String> ids = new LinkedHashSet<>();
+        for(String body: job.getBodies()) {
+            if(body.equalsIgnoreCase(ExportJob.planetsKeyword)) {
+                for(int i=199; i<=999; i=i+100) ids.add(String.valueOf(i));
+            } else if(body.equalsIgnoreCase(ExportJob.moonsKeyword)) {
+                if(HorizonSystem.getSpacecraftIds().isEmpty()) HorizonSystem.initializeLookupTables();
+                for(int i=199; i<=999; i=i+100) ids.addAll(HorizonSystem.getMoonIds(String.valueOf(i)));
+            } else {
+                ids.add(body);
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Exports the ephemeris of one body to its file, one query at a time. The file of a body
+     * that fails is deleted, so a partial file is never mistaken for a complete one.
+     * @param id The database id of the body
+     * @throws Exception if a query failed {@code maxAttempts} times or the file can't be written
+     */
+    private void exportBody(String id) throws Exception {
+        String centerID = job.getCenterID() != null ? job.getCenterID() : defaultCenter(id);
+        Path file = job.getOutput().resolve(id + job.getFormat().getExtension());
+
+        long rows = 0;
+        try(EphemerisWriter writer = EphemerisWriter.open(Files.newOutputStream(file), job.getFormat(),
+                id, centerID, job.getStepSize())) {
+            for(LocalDateTime[] query: splitRange(job.getDateStart(), job.getDateStop(), job.getStepSize()))
+                rows += fetchQuery(id, centerID, query[0], query[1], writer);
+        } catch (Exception e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            bodiesFinished.incrementAndGet();
+        }
+        rowsWritten.add(rows);
+    }
+
+    /**
+     * Fetches one query and writes its rows, retrying if the request fails before any row
+     * was written.
+     * @param id The database id of the body
+     * @param centerID The database id of the center
+     * @param queryStart The start of the query's date-time range
+     * @param queryStop The end of the query's date-time range
+     * @param writer The writer of the body's file
+     * @return The number of rows written
+     * @throws Exception if the query failed {@code maxAttempts} times or a row can't be written
+     */
+    private long fetchQuery(String id, String centerID, LocalDateTime queryStart, LocalDateTime queryStop,
+                            EphemerisWriter writer) throws Exception {
+        for(int attempt = 1; ; attempt++) {
+            long[] written = {0};
+            try {
+                HorizonSystem.streamEphemeris(id, centerID,
+                        EphemerisQuery.toTimestamp(queryStart), EphemerisQuery.toTimestamp(queryStop), job.getStepSize(),
+                        row -> {
+                            try {
+                                writer.write(row);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            written[0]++;
+                        });
+                return written[0];
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (IOException e) {
+                if(e instanceof InterruptedIOException || written[0] > 0 || attempt == maxAttempts) throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns the body a body orbits, used as the center when the job doesn't set one: the Sun
+     * for planets and spacecraft, the planet for moons, and the solar system barycenter for the Sun.
+     * @param id The database id of the body
+     * @return The database id of the center
+     */
+    static String defaultCenter(String id) {
+        if(id.equals("10")) return "0";
+        if(id.matches("[1-9](0[1-9]|[1-8]\\d|9[0-8])")) return id.charAt(0) + "99";
+        return "10";
+    }
+
+    /**
+     * Splits a date-time range into consecutive queries of at most {@code maxStepsPerQuery}
+     * steps each. A single step left over at the end is taken by the last query, since a query
+     * that starts at its stop is rejected by the database.
+     * @param start The start of the range
+     * @param stop The end of the range, after {@code start}
+     * @param stepSize The time-based increment between two sequential ephemeris points
+     * @return The start and stop of every query, in order
+     */
+    static List<LocalDateTime[]> splitRange(LocalDateTime start, LocalDateTime stop, StepSize stepSize) {
+        ChronoUnit unit = stepSize.getUnit();
+        ArrayList<LocalDateTime[]> queries = new ArrayList<>();
+        LocalDateTime queryStart = start;
+        while(queryStart.isBefore(stop)) {
+            LocalDateTime queryStop = queryStart.plus(maxStepsPerQuery - 1, unit);
+            if(!queryStop.plus(1, unit).isBefore(stop)) queryStop = stop;
+
+            queries.add(new LocalDateTime[]{queryStart, queryStop});
+            queryStart = queryStop.plus(1, unit);
+        }
+        return queries;
+    }
+
+    /**
+     * Prints the rows exported so far and the rate they were exported at.
+     * @param start The timestamp the export started at
+     * @param bodies The number of bodies in the export
+     */
+    private void report(long start, int bodies) {
+        long rows = rowsWritten.sum();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d rows, %d/%d bodies, %.1f s, %.0f rows/s%n",
+                rows, bodiesFinished.get(), bodies, seconds, seconds > 0 ? rows / seconds : 0);
+    }
+}
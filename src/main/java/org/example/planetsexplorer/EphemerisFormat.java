@@ -0,0 +1,32 @@
+package org.example.planetsexplorer;
+
+/**
+ * The formats ephemeris rows can be written in by an {@link EphemerisWriter}
+ */
+public enum EphemerisFormat {
+    /**
+     * CSV with a header row, keeping the database's text and units of every cell
+     */
+    CSV(".csv", "text/csv; charset=utf-8"),
+
+    /**
+     * Big-endian binary: a header, then seven doubles per row
+     */
+    BINARY(".bin", "application/octet-stream");
+
+    private final String extension;
+    private final String contentType;
+
+    EphemerisFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
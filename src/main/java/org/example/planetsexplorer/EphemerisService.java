@@ -0,0 +1,292 @@
+package org.example.planetsexplorer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.planetsexplorer.celestial.CelestialInfoFacade;
+import org.example.planetsexplorer.celestial.EphemerisQuery;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * An embedded HTTP service that answers ephemeris and physical data queries. Physical data is
+ * answered from the {@link HorizonCache}, falling back to the database on a miss, and ephemeris
+ * is streamed from the database like an export. It only listens on the loopback address, so
+ * other local tools can share the explorer's cache and rate limit.
+ *
+ * <pre>
+ * GET /ephemeris?id=399&amp;start=2020-01-01&amp;stop=2030-01-01&amp;step=DAYS[&amp;center=10][&amp;format=csv|binary]
+ * GET /body?id=399[&amp;format=csv|binary]
+ * GET /stats
+ * </pre>
+ *
+ * <p> Ephemeris responses use the {@link EphemerisFormat}s of the export, and default to the
+ * center {@link EphemerisExporter} would use. A range is fetched in the same queries as the
+ * export, and every query's rows are written and flushed as a chunk of the response before the
+ * next query is fetched, so large ranges start arriving at once and only one query is held in
+ * memory per request. If a later query fails, the connection is closed without ending the
+ * chunked response, so clients see a truncated body rather than a short one.
+ *
+ * <p> Physical data is {@code siderealOrbitDays,siderealDayHr,obliquityToOrbitDeg,meanRadKM}
+ * as a CSV row under a header, or as four big-endian floats.
+ *
+ * @see ServiceLauncher
+ * @see ServiceLoadClient
+ */
+public final class EphemerisService {
+    /**
+     * The header of physical data in CSV
+     */
+    private static final String bodyCsvHeader = "siderealOrbitDays,siderealDayHr,obliquityToOrbitDeg,meanRadKM";
+
+    static {
+        // Small responses otherwise wait on the client's delayed ACK, ~40 ms each. Read once by
+        // the JDK server, so it must be set before the first HttpServer is created.
+        if(System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Constructs an {@code EphemerisService} bound to the loopback address. Call
+     * {@link #start()} to start answering requests.
+     * @param port The port to listen on, or {@code 0} for any free port
+     * @param threads The number of requests answered in parallel
+     * @throws IOException if the port can't be bound
+     */
+    public EphemerisService(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "Ephemeris Service");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+
+        server.createContext("/ephemeris", exchange -> handle(exchange, this::serveEphemeris));
+        server.createContext("/body", exchange -> handle(exchange, this::serveBody));
+        server.createContext("/stats", exchange -> handle(exchange, this::serveStats));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for the open ones, and stops the threads.
+     */
+    public void stop() {
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * An endpoint of the service
+     */
+    private interface Endpoint {
+        /**
+         * Answers a request. Throwing before the response headers are sent sends an error
+         * status instead.
+         * @param exchange The request
+         * @param parameters The decoded query parameters of the request
+         * @throws IllegalArgumentException if a parameter is missing or invalid
+         * @throws Exception if the database couldn't answer the request
+         */
+        void serve(HttpExchange exchange, HashMap<String, String> parameters) throws Exception;
+    }
+
+    /**
+     * Answers a request with an endpoint, mapping invalid parameters to {@code 400} and
+     * failed queries to {@code 502}.
+     * @param exchange The request
+     * @param endpoint The endpoint of the request's path
+     * @throws IOException if the response can't be written
+     */
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try {
+            if(!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Only GET is supported");
+                return;
+            }
+            endpoint.serve(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+            exchange.close();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Like a row the writer rejects, once the response has started no status can be sent
+            if(exchange.getResponseCode() != -1) throw new IOException(e);
+            sendError(exchange, 400, e.getMessage());
+        } catch (IOException e) {
+            // The response has started, end the connection so the body is visibly truncated
+            if(exchange.getResponseCode() != -1) throw e;
+            sendError(exchange, 502, "Query failed: " + e.getMessage());
+        } catch (Exception e) {
+            if(exchange.getResponseCode() != -1) throw new IOException(e);
+            sendError(exchange, 502, "Query failed: " + e);
+        }
+    }
+
+    /**
+     * Streams the ephemeris of a body, one query at a time.
+     * @param exchange The request
+     * @param parameters {@code id}, {@code start}, {@code stop}, {@code step}, and optionally
+     *                   {@code center} and {@code format}
+     * @throws Exception if a query failed or the response can't be written
+     */
+    private void serveEphemeris(HttpExchange exchange, HashMap<String, String> parameters) throws Exception {
+        String id = require(parameters, "id");
+        String centerID = parameters.getOrDefault("center", EphemerisExporter.defaultCenter(id));
+        LocalDateTime dateStart = ExportJob.parseDateTime(require(parameters, "start"));
+        LocalDateTime dateStop = ExportJob.parseDateTime(require(parameters, "stop"));
+        StepSize stepSize = StepSize.valueOf(require(parameters, "step").toUpperCase(Locale.ROOT));
+        EphemerisFormat format = parseFormat(parameters);
+        if(!dateStart.isBefore(dateStop)) throw new IllegalArgumentException("start must be before stop");
+
+        EphemerisWriter writer = null;
+        for(LocalDateTime[] query: EphemerisExporter.splitRange(dateStart, dateStop, stepSize)) {
+            ArrayList<String[]> rows = new ArrayList<>();
+            HorizonSystem.streamEphemeris(id, centerID,
+                    EphemerisQuery.toTimestamp(query[0]), EphemerisQuery.toTimestamp(query[1]), stepSize, rows::add);
+
+            // Headers are only sent once the first query succeeded, so it can still fail with a status
+            if(writer == null) {
+                exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+                exchange.sendResponseHeaders(200, 0);
+                writer = EphemerisWriter.open(exchange.getResponseBody(), format, id, centerID, stepSize);
+            }
+            for(String[] row: rows) writer.write(row);
+            writer.flush();
+        }
+        if(writer != null) writer.close();
+    }
+
+    /**
+     * Answers the physical data of a body.
+     * @param exchange The request
+     * @param parameters {@code id}, and optionally {@code format}
+     * @throws Exception if the query failed or the response can't be written
+     */
+    private void serveBody(HttpExchange exchange, HashMap<String, String> parameters) throws Exception {
+        String id = require(parameters, "id");
+        EphemerisFormat format = parseFormat(parameters);
+        CelestialInfoFacade info = HorizonSystem.getBody(id);
+        if(info == null) throw new IOException("No physical data returned for " + id);
+
+        // meanRadKM is kept in km here, getMeanRadKM() is scaled for the scene. Despite its
+        // name, getSiderealOrbitDays() is in years
+        float meanRadKM = info.getMeanRadKM() * HorizonSystem.pixelKmScale;
+        float siderealOrbitDays = info.getSiderealOrbitDays() * 365.25f;
+        if(format == EphemerisFormat.CSV) {
+            String csv = bodyCsvHeader + "\n" + siderealOrbitDays + "," + info.getSiderealDayHr() + ","
+                    + info.getObliquityToOrbitDeg() + "," + meanRadKM + "\n";
+            sendBytes(exchange, 200, format.getContentType(), csv.getBytes(StandardCharsets.UTF_8));
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", format.getContentType());
+            exchange.sendResponseHeaders(200, 16);
+            try(DataOutputStream out = new DataOutputStream(exchange.getResponseBody())) {
+                out.writeFloat(siderealOrbitDays);
+                out.writeFloat(info.getSiderealDayHr());
+                out.writeFloat(info.getObliquityToOrbitDeg());
+                out.writeFloat(meanRadKM);
+            }
+        }
+    }
+
+    /**
+     * Answers the size and hit rate of the cache as {@code key=value} lines.
+     * @param exchange The request
+     * @param parameters Ignored
+     * @throws IOException if the response can't be written
+     */
+    private void serveStats(HttpExchange exchange, HashMap<String, String> parameters) throws IOException {
+        String stats = "entries=" + HorizonCache.getSize() + "\n" +
+                "chars=" + HorizonCache.getTotalChars() + "\n" +
+                "hits=" + HorizonCache.getHits() + "\n" +
+                "misses=" + HorizonCache.getMisses() + "\n";
+        sendBytes(exchange, 200, "text/plain; charset=utf-8", stats.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the {@code format} parameter, which defaults to CSV.
+     * @param parameters The query parameters
+     * @return The format
+     * @throws IllegalArgumentException if the format isn't {@code csv} or {@code binary}
+     */
+    private static EphemerisFormat parseFormat(HashMap<String, String> parameters) {
+        return EphemerisFormat.valueOf(parameters.getOrDefault("format", "csv").toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Decodes the parameters of a query string.
+     * @param rawQuery The encoded query, or {@code null}
+     * @return The parameters by name
+     */
+    private static HashMap<String, String> parseQuery(String rawQuery) {
+        HashMap<String, String> parameters = new HashMap<>();
+        if(rawQuery == null) return parameters;
+        for(String pair: rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if(equals <= 0) continue;
+            parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8).trim());
+        }
+        return parameters;
+    }
+
+    /**
+     * Returns a required parameter.
+     * @param parameters The query parameters
+     * @param key The name of the parameter
+     * @return The value of the parameter
+     * @throws IllegalArgumentException if the parameter is missing
+     */
+    private static String require(HashMap<String, String> parameters, String key) {
+        String value = parameters.get(key);
+        if(value == null || value.isEmpty()) throw new IllegalArgumentException("Missing parameter: " + key);
+        return value;
+    }
+
+    /**
+     * Sends a plain text error. Does nothing if the response has already started.
+     * @param exchange The request
+     * @param status The HTTP status
+     * @param message The error message
+     * @throws IOException if the response can't be written
+     */
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        if(exchange.getResponseCode() != -1) return;
+        sendBytes(exchange, status, "text/plain; charset=utf-8", (message + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a complete response with a fixed length.
+     * @param exchange The request
+     * @param status The HTTP status
+     * @param contentType The type of the body
+     * @param body The body
+     * @throws IOException if the response can't be written
+     */
+    private static void sendBytes(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try(OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.planetsexplorer;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the ephemeris rows of one body to a stream, in one of the {@link EphemerisFormat}s.
+ * Used by {@link EphemerisExporter} for files and by {@link EphemerisService} for responses,
+ * so both produce the same bytes.
+ */
+public interface EphemerisWriter extends Closeable, Flushable {
+    /**
+     * The header of every CSV stream
+     */
+    String csvHeader = "jd_tdb,calendar_tdb,x_km,y_km,z_km,vx_km_s,vy_km_s,vz_km_s";
+
+    /**
+     * The first four bytes of every binary stream, {@code "EPHM"}
+     */
+    int binaryMagic = 0x4550484D;
+
+    /**
+     * The version of the binary format
+     */
+    int binaryVersion = 1;
+
+    /**
+     * Writes a row.
+     * @param row The Julian day number, calendar date, x, y, z and vx, vy, vz, as returned
+     *            by {@link HorizonSystem#streamEphemeris}
+     * @throws IOException if the row can't be written
+     */
+    void write(String[] row) throws IOException;
+
+    /**
+     * Opens a writer and writes the header of its format.
+     * @param out The stream to write to, closed with the writer
+     * @param format The format to write
+     * @param id The database id of the body
+     * @param centerID The database id of the center
+     * @param stepSize The step size of the rows
+     * @return The writer
+     * @throws IOException if the header can't be written
+     */
+    static EphemerisWriter open(OutputStream out, EphemerisFormat format, String id, String centerID,
+                                StepSize stepSize) throws IOException {
+        return format == EphemerisFormat.CSV ? new Csv(out) : new Binary(out, id, centerID, stepSize);
+    }
+
+    /**
+     * Writes rows as CSV with a header row, keeping the database's text of every cell
+     */
+    final class Csv implements EphemerisWriter {
+        private final BufferedWriter writer;
+
+        private Csv(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            this.writer.write(csvHeader);
+            this.writer.newLine();
+        }
+
+        @Override
+        public void write(String[] row) throws IOException {
+            for(int i=0; i < 8; i++) {
+                if(i > 0) writer.write(',');
+                writer.write(row[i]);
+            }
+            writer.newLine();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Writes rows as big-endian binary. The header holds {@code binaryMagic},
+     * {@code binaryVersion}, and the body id, center id and step size as modified UTF-8 strings.
+     * Every row is then seven doubles: the Julian day number, x, y, z in km and vx, vy, vz in
+     * km/s, until the end of the stream.
+     */
+    final class Binary implements EphemerisWriter {
+        private final DataOutputStream out;
+
+        private Binary(OutputStream out, String id, String centerID, StepSize stepSize) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            this.out.writeInt(binaryMagic);
+            this.out.writeInt(binaryVersion);
+            this.out.writeUTF(id);
+            this.out.writeUTF(centerID);
+            this.out.writeUTF(stepSize.name());
+        }
+
+        @Override
+        public void write(String[] row) throws IOException {
+            out.writeDouble(Double.parseDouble(row[0]));
+            for(int i=2; i < 8; i++) out.writeDouble(Double.parseDouble(row[i]));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
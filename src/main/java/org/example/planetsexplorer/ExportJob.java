@@ -0,0 +1,184 @@
+package org.example.planetsexplorer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * The specification of a bulk ephemeris export, read from a properties file.
+ *
+ * <pre>
+ * # Bodies by database id, or the keywords planets and moons
+ * bodies=planets, moons, -48, -82
+ * start=2015-01-01
+ * stop=2025-01-01 00:00
+ * step=DAYS
+ * # Optional, defaults to the body each target orbits
+ * center=10
+ * format=csv
+ * output=export
+ * threads=4
+ * requestsPerSecond=2
+ * </pre>
+ *
+ * @see EphemerisExporter
+ * @see ExportLauncher
+ */
+public final class ExportJob {
+    /**
+     * The keyword that stands for every planet
+     */
+    public static final String planetsKeyword = "planets";
+
+    /**
+     * The keyword that stands for every moon in the catalog
+     */
+    public static final String moonsKeyword = "moons";
+
+    private static final DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final List<String> bodies;
+    private final LocalDateTime dateStart;
+    private final LocalDateTime dateStop;
+    private final StepSize stepSize;
+    private final String centerID;
+    private final EphemerisFormat format;
+    private final Path output;
+    private final int threads;
+    private final double requestsPerSecond;
+
+    /**
+     * Constructs an {@code ExportJob}.
+     *
+     * @param bodies The database ids and keywords of the bodies to export
+     * @param dateStart The start of the ephemeris date-time range
+     * @param dateStop The end of the ephemeris date-time range
+     * @param stepSize The time-based increment between two sequential ephemeris points
+     * @param centerID The database id every ephemeris is measured from, or {@code null} to
+     *                 measure each body from the body it orbits
+     * @param format The format of the output files
+     * @param output The directory the output files are written to
+     * @param threads The number of bodies fetched in parallel
+     * @param requestsPerSecond The largest number of requests started per second, or {@code 0}
+     *                          for no limit
+     */
+    public ExportJob(List<String> bodies, LocalDateTime dateStart, LocalDateTime dateStop, StepSize stepSize,
+                     String centerID, EphemerisFormat format, Path output, int threads, double requestsPerSecond) {
+        if(bodies.isEmpty()) throw new IllegalArgumentException("No bodies to export");
+        if(!dateStart.isBefore(dateStop)) throw new IllegalArgumentException("start must be before stop");
+        if(threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+
+        this.bodies = List.copyOf(bodies);
+        this.dateStart = dateStart;
+        this.dateStop = dateStop;
+        this.stepSize = stepSize;
+        this.centerID = centerID;
+        this.format = format;
+        this.output = output;
+        this.threads = threads;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Reads an {@code ExportJob} from a properties file.
+     * @param file The job specification
+     * @return The job
+     * @throws IOException if the file can't be read
+     * @throws IllegalArgumentException if a property is missing or invalid
+     */
+    public static ExportJob load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try(Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+
+        ArrayList<String> bodies = new ArrayList<>();
+        for(String body: require(properties, "bodies").split(","))
+            if(!body.isBlank()) bodies.add(body.trim());
+
+        String center = properties.getProperty("center");
+        try {
+            return new ExportJob(bodies,
+                    parseDateTime(require(properties, "start")),
+                    parseDateTime(require(properties, "stop")),
+                    StepSize.valueOf(require(properties, "step").trim().toUpperCase(Locale.ROOT)),
+                    center == null || center.isBlank() ? null : center.trim(),
+                    EphemerisFormat.valueOf(properties.getProperty("format", "csv").trim().toUpperCase(Locale.ROOT)),
+                    Paths.get(properties.getProperty("output", "export").trim()),
+                    Integer.parseInt(properties.getProperty("threads", "4").trim()),
+                    Double.parseDouble(properties.getProperty("requestsPerSecond", "2").trim()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date, expected YYYY-MM-DD or YYYY-MM-DD HH:MM: " + e.getParsedString());
+        }
+    }
+
+    /**
+     * Returns a required property.
+     * @param properties The job specification
+     * @param key The name of the property
+     * @return The value of the property
+     * @throws IllegalArgumentException if the property is missing
+     */
+    private static String require(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if(value == null || value.isBlank()) throw new IllegalArgumentException("Missing property: " + key);
+        return value;
+    }
+
+    /**
+     * Parses a date-time in format "YYYY-MM-DD HH:MM", or a date in format "YYYY-MM-DD" at midnight.
+     * @param value The text to parse
+     * @return The date-time
+     */
+    static LocalDateTime parseDateTime(String value) {
+        value = value.trim();
+        if(value.length() == 10) return LocalDate.parse(value).atStartOfDay();
+        return LocalDateTime.parse(value, dateTimeFormat);
+    }
+
+    public List<String> getBodies() {
+        return bodies;
+    }
+
+    public LocalDateTime getDateStart() {
+        return dateStart;
+    }
+
+    public LocalDateTime getDateStop() {
+        return dateStop;
+    }
+
+    public StepSize getStepSize() {
+        return stepSize;
+    }
+
+    public String getCenterID() {
+        return centerID;
+    }
+
+    public EphemerisFormat getFormat() {
+        return format;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+}
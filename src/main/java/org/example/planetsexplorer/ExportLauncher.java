@@ -0,0 +1,44 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The headless entry point of the bulk ephemeris export. Unlike {@link Launcher}, it never
+ * starts JavaFX, so it can run in batch jobs.
+ *
+ * <p> Run with {@code ExportLauncher <job.properties>}. The job format is described in
+ * {@link ExportJob}. Exits with {@code 0} if every body was exported, {@code 1} if any failed,
+ * and {@code 2} if the job couldn't be read. The {@link Metrics} of a long export can be
+ * watched over JMX.
+ *
+ * @see EphemerisExporter
+ */
+public class ExportLauncher {
+    public static void main(String[] args) {
+        if(args.length != 1) {
+            System.err.println("Usage: ExportLauncher <job.properties>");
+            System.exit(2);
+        }
+
+        ExportJob job;
+        try {
+            job = ExportJob.load(Paths.get(args[0]));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Invalid export job: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        Metrics.register();
+        try {
+            int failures = new EphemerisExporter(job).run();
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e);
+            System.exit(1);
+        }
+    }
+}
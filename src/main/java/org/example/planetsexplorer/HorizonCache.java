@@ -0,0 +1,138 @@
+package org.example.planetsexplorer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * A static helper class that keeps the responses of {@link HorizonSystem} requests in memory,
+ * keyed by their URL, so repeating a query never reaches the database again.
+ *
+ * <p> The database's answer to a query doesn't change, so cached responses never expire. The
+ * cache is bounded by the total length of its responses instead, and evicts the least recently
+ * used ones first. A single response longer than the bound is never cached, and neither is a
+ * response that reports an error, which a later request may not.
+ *
+ * <p> The cache is shared by the explorer, the export and the query service, so anything one
+ * of them fetched is served to the others.
+ *
+ * @see HorizonSystem
+ * @see EphemerisService
+ */
+public final class HorizonCache {
+    /**
+     * Don't let this class be instantiated
+     */
+    private HorizonCache() {}
+
+    /**
+     * The responses by URL, in access order, least recently used first
+     */
+    private static final LinkedHashMap<String, String> responses = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * The largest total length of the cached responses in chars
+     */
+    private static long maxChars = 32L << 20;
+
+    /**
+     * The total length of the cached responses in chars
+     */
+    private static long totalChars = 0;
+
+    /**
+     * Matches the {@code error} field the database answers a failed query with. The same word
+     * inside the text of a {@code result} has its quotes escaped, so it never matches.
+     */
+    private static final Pattern errorField = Pattern.compile("(?<!\\\\)\"error\"\\s*:");
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * Returns the cached response of a request.
+     * @param url The URL of the request
+     * @return The response, or {@code null} if it isn't cached
+     */
+    public static String get(String url) {
+        String response;
+        synchronized (HorizonCache.class) {
+            response = responses.get(url);
+        }
+        if(response != null) hits.increment();
+        else misses.increment();
+        return response;
+    }
+
+    /**
+     * Caches the response of a request, evicting the least recently used responses until the
+     * cache fits its bound. A response with an {@code error} field is not cached, so the query
+     * is sent again the next time it is made.
+     * @param url The URL of the request
+     * @param response The complete response
+     */
+    public static synchronized void put(String url, String response) {
+        if(response.length() > maxChars || isError(response)) return;
+
+        String previous = responses.put(url, response);
+        if(previous != null) totalChars -= previous.length();
+        totalChars += response.length();
+        evict();
+    }
+
+    /**
+     * Returns {@code true} if a response reports that its query failed.
+     * @param response The response
+     * @return {@code true} if the response has an {@code error} field
+     */
+    private static boolean isError(String response) {
+        return errorField.matcher(response).find();
+    }
+
+    /**
+     * Sets the largest total length of the cached responses, evicting responses if the cache
+     * no longer fits.
+     * @param chars The bound in chars, or {@code 0} to disable the cache
+     */
+    public static synchronized void setMaxChars(long chars) {
+        maxChars = chars;
+        evict();
+    }
+
+    /**
+     * Removes the least recently used responses until the cache fits {@code maxChars}.
+     */
+    private static void evict() {
+        Iterator<Map.Entry<String, String>> iterator = responses.entrySet().iterator();
+        while(totalChars > maxChars && iterator.hasNext()) {
+            totalChars -= iterator.next().getValue().length();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes every cached response. The hit and miss counts are kept.
+     */
+    public static synchronized void clear() {
+        responses.clear();
+        totalChars = 0;
+    }
+
+    public static synchronized int getSize() {
+        return responses.size();
+    }
+
+    public static synchronized long getTotalChars() {
+        return totalChars;
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+}
@@ -1,22 +1,31 @@
 package org.example.planetsexplorer;
 
+import com.opencsv.CSVParser;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
 import org.example.planetsexplorer.celestial.CelestialInfoFacade;
 import org.example.planetsexplorer.celestial.EphemerisCoordinateFacade;
-import org.example.planetsexplorer.celestial.Moon;
+import org.example.planetsexplorer.celestial.MoonTable;
+import org.example.planetsexplorer.metrics.Metrics;
+import org.example.planetsexplorer.metrics.QueryMetrics;
+import org.example.planetsexplorer.metrics.QueryType;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.BufferedReader;
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -76,25 +85,183 @@ public final class HorizonSystem {
      */
     private static final HashMap<String, String> idAliasMap = new HashMap<>(100);
 
+    /**
+     * A lookup table of the gravitational parameter in km³/s² of every body whose data has been
+     * fetched with {@link HorizonSystem#getBody(String)} and records one. Written by the loader
+     * threads and read on the JavaFX Application Thread.
+     */
+    private static final ConcurrentHashMap<String, Double> idGMMap = new ConcurrentHashMap<>();
+
+    /**
+     * The database ids of every spacecraft, which are the ids that contain a '-', in sorted
+     * order. Built once with the lookup tables.
+     */
+    private static List<String> spacecraftIds = List.of();
+
+    /**
+     * The database ids of every moon by the id of the planet it orbits, in numeric order.
+     * A moon id is three digits, the planet's first digit followed by the moon's number.
+     */
+    private static final HashMap<String, List<String>> planetMoonIdsMap = new HashMap<>(10);
+
+    /**
+     * The connection each thread currently has open to the database, so that another thread
+     * can abort it.
+     * @see HorizonSystem#abortRequest(Thread)
+     */
+    private static final ConcurrentHashMap<Thread, HttpURLConnection> openConnections = new ConcurrentHashMap<>();
+
+    /**
+     * The rate limit of every request to the database, off unless set
+     * @see HorizonSystem#setMaxRequestsPerSecond(double)
+     */
+    private static final RequestLimiter requestLimiter = new RequestLimiter(0);
+
+    /**
+     * Limits the rate requests to the database are started at, across all threads. Requests
+     * over the limit wait for their turn in {@code executeGet}.
+     * @param requestsPerSecond The largest number of requests started per second, or
+     *                          {@code 0} for no limit
+     */
+    public static void setMaxRequestsPerSecond(double requestsPerSecond) {
+        requestLimiter.setMaxPerSecond(requestsPerSecond);
+    }
+
     /**
      * Performs a GET request to the HorizonSystem database.
      *
+     * <p> The request can be aborted from another thread with {@link HorizonSystem#abortRequest(Thread)},
+     * or by interrupting the calling thread, which stops reading at the next chunk of the response.
+     * Either way the connection is closed and the partial response is discarded.
+     *
+     * <p> A request already in the {@link HorizonCache} is answered from it, without waiting for
+     * the rate limit. Otherwise the request first waits for its slot, and a complete response
+     * is cached.
+     *
+     * <p> The cache hit, or the latency and size of the request, is recorded in the
+     * {@link QueryMetrics} of its type.
+     *
+     * @param type The kind of query, which the request is counted under
      * @param urlDatabase The URL for the HTTP request
      * @return A {@link StringBuilder} representation of a {@link JSONObject}
-     * @throws IOException if there was an error connecting to the database or executing the GET request
+     * @throws IOException if there was an error connecting to the database or executing the GET request,
+     * or {@link InterruptedIOException} if the request was aborted
      */
-    private static StringBuilder executeGet(String urlDatabase) throws IOException {
+    private static StringBuilder executeGet(QueryType type, String urlDatabase) throws IOException {
+        String cached = HorizonCache.get(urlDatabase);
+        if(cached != null) {
+            Metrics.getQueryMetrics(type).recordCacheHit();
+            return new StringBuilder(cached);
+        }
+
         StringBuilder result = new StringBuilder();
-        URL url = new URL(urlDatabase);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
+        executeGet(type, urlDatabase, reader -> {
+            char[] buffer = new char[8192];
+            for(int read; (read = reader.read(buffer)) != -1;) result.append(buffer, 0, read);
+        });
+        HorizonCache.put(urlDatabase, result.toString());
+        return result;
+    }
+
+    /**
+     * Performs a GET request to the HorizonSystem database, and hands the response to a reader
+     * as it arrives instead of collecting it. The response is neither looked up in nor added to
+     * the {@link HorizonCache}.
+     *
+     * <p> The request waits for its slot under the rate limit, and can be aborted like
+     * {@link HorizonSystem#executeGet(QueryType, String)}, in which case the reader's next read
+     * throws an {@link InterruptedIOException}. The latency recorded in the {@link QueryMetrics}
+     * of its type includes the time the reader spends on the response.
+     *
+     * @param type The kind of query, which the request is counted under
+     * @param urlDatabase The URL for the HTTP request
+     * @param responseReader Reads the response, on the calling thread
+     * @throws IOException if there was an error connecting to the database, executing the GET request
+     * or reading the response, or {@link InterruptedIOException} if the request was aborted
+     */
+    private static void executeGet(QueryType type, String urlDatabase, ResponseReader responseReader) throws IOException {
+        QueryMetrics metrics = Metrics.getQueryMetrics(type);
+        metrics.requestStarted();
+        long requestStart;
+        long chars;
+        Thread caller = Thread.currentThread();
+        try {
+            requestLimiter.await();
+            requestStart = System.nanoTime();
+            URL url = new URL(urlDatabase);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("GET");
+
+            openConnections.put(caller, connection);
+            try (AbortableReader reader = new AbortableReader(new InputStreamReader(connection.getInputStream()),
+                    caller, urlDatabase)) {
+                responseReader.read(new BufferedReader(reader));
+                chars = reader.chars;
+            } catch (IOException e) {
+                if(caller.isInterrupted()) throw new InterruptedIOException("Request aborted: " + urlDatabase);
+                throw e;
+            } finally {
+                openConnections.remove(caller);
+                connection.disconnect();
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            // Count the failure however the request failed, or it stays in flight forever
+            metrics.requestFailed();
+            throw e;
+        }
+
+        // The responses are escaped to ASCII, so every char is a byte
+        metrics.requestFinished(System.nanoTime() - requestStart, chars);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-            for(char letter; (letter = (char)reader.read()) != (char)-1;)
-                result.append(letter);
+    /**
+     * Reads the response of a request to the database.
+     * @see HorizonSystem#executeGet(QueryType, String, ResponseReader)
+     */
+    @FunctionalInterface
+    private interface ResponseReader {
+        void read(BufferedReader reader) throws IOException;
+    }
+
+    /**
+     * Reads a response, counting its chars, and stops at the next chunk once the thread that
+     * made the request is interrupted.
+     */
+    private static final class AbortableReader extends FilterReader {
+        private final Thread caller;
+        private final String urlDatabase;
+        private long chars = 0;
+
+        private AbortableReader(Reader in, Thread caller, String urlDatabase) {
+            super(in);
+            this.caller = caller;
+            this.urlDatabase = urlDatabase;
         }
 
-        return result;
+        @Override
+        public int read() throws IOException {
+            char[] single = new char[1];
+            return this.read(single, 0, 1) == -1 ? -1 : single[0];
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if(caller.isInterrupted()) throw new InterruptedIOException("Request aborted: " + urlDatabase);
+            int read = super.read(buffer, offset, length);
+            if(read > 0) chars += read;
+            return read;
+        }
+    }
+
+    /**
+     * Aborts the database request a given thread is waiting on, if any, by closing its connection.
+     * The aborted {@code executeGet} throws an {@link InterruptedIOException} if the thread was
+     * also interrupted, otherwise an {@link IOException}.
+     * @param thread The thread whose request is to be aborted
+     */
+    public static void abortRequest(Thread thread) {
+        HttpURLConnection connection = openConnections.get(thread);
+        if(connection != null) connection.disconnect();
     }
 
     /**
@@ -105,9 +272,12 @@ public final class HorizonSystem {
      * <p> The database is incomplete and may not contain the needed information. In this case, a
      * default value is assigned.
      *
+     * <p> The body's GM is stored as well, if the data records it.
+     *
      * @param id The database id of the celestial
      * @return A {@link JSONObject} containing {@code siderealOrbitDays}, {@code siderealDayHr},
      * {@code obliquityToOrbitDeg} {@code meanRadKM}
+     * @see HorizonSystem#getGM(String)
      */
     public static CelestialInfoFacade getBody(String id) {
         String urlQuery = "https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND='" + id +
@@ -115,11 +285,12 @@ public final class HorizonSystem {
                 "'&MAKE_EPHEM='" + "NO" + "'";
         String planetStrJSON;
         try {
-            planetStrJSON = executeGet(urlQuery).toString();
+            planetStrJSON = executeGet(QueryType.BODY, urlQuery).toString();
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
 
+        long parseStart = System.nanoTime();
         try{
             JSONObject planetJSON = new JSONObject(planetStrJSON);
             String resultStr = (String) planetJSON.get("result");
@@ -137,12 +308,17 @@ public final class HorizonSystem {
             String obliquityToOrbit = extractObliquityToOrbit(resultStr);
             String meanRadKM = extractVolMeanRadiusKM(resultStr, id);
 
-            return new CelestialInfoFacade(
+            double gm = extractGM(resultStr);
+            if(gm > 0) idGMMap.put(id, gm);
+
+            CelestialInfoFacade info = new CelestialInfoFacade(
                     Float.parseFloat(siderealPeriod),
                     siderealDayHr,
                     Float.parseFloat(obliquityToOrbit),
                     Float.parseFloat(meanRadKM)
             );
+            Metrics.getQueryMetrics(QueryType.BODY).recordParse(System.nanoTime() - parseStart, 0);
+            return info;
 
         } catch (JSONException err) {
             System.err.println(err);
@@ -164,14 +340,106 @@ public final class HorizonSystem {
      * @throws Exception if the returned data doesn't contain any of the required components
      */
     public static ArrayList<EphemerisCoordinateFacade> getEphemeris(String id, String centerId, String startTime, String stopTime, StepSize stepSize) throws Exception {
-        String urlQuery = "https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND='" + id +
+        String ephemStrJSON = executeGet(QueryType.EPHEMERIS, getVectorsURL("json", id, centerId, startTime, stopTime, stepSize)).toString();
+
+        long parseStart = System.nanoTime();
+        String strCSV = extractVectorsBlock(ephemStrJSON);
+        ArrayList<EphemerisCoordinateFacade> ephemeris = strCSV == null ? null : extractVectorsCSV(strCSV);
+        Metrics.getQueryMetrics(QueryType.EPHEMERIS).recordParse(System.nanoTime() - parseStart,
+                ephemeris == null ? 0 : ephemeris.size());
+        return ephemeris;
+    }
+
+    /**
+     * Queries the database for the ephemeris of a target celestial relative to a center celestial,
+     * and passes every row to a consumer as soon as it is parsed, instead of collecting them. Rows
+     * keep the full precision and units of the database: the Julian day number (TDB), the calendar
+     * date, the x, y, z displacement in km and the vx, vy, vz velocity in km/s.
+     *
+     * <p> The response is parsed as it arrives, and never cached, so an export of any length
+     * holds one row at a time and doesn't evict the responses the views use from the
+     * {@link HorizonCache}.
+     *
+     * @param id The database id of the target celestial
+     * @param centerId The database id of the celestial from which the position of the target is calculated
+     * @param startTime The date-timestamp start of the ephemeris range in format: "YYYY-MM-DD HH:MM"
+     * @param stopTime The date-timestamp stop of the ephemeris range in format: "YYYY-MM-DD HH:MM"
+     * @param stepSize The time-based increment in between each sequential point in the ephemeris data
+     * @param rowConsumer Called with the cells of every complete row, in order
+     * @return The number of rows passed to {@code rowConsumer}
+     * @throws Exception if the request failed or the returned data contains no ephemeris
+     */
+    public static long streamEphemeris(String id, String centerId, String startTime, String stopTime, StepSize stepSize,
+                                       Consumer<String[]> rowConsumer) throws Exception {
+        // The text format is the result alone, so its rows can be read as lines while they arrive
+        String url = getVectorsURL("text", id, centerId, startTime, stopTime, stepSize);
+        long[] rows = {0};
+        executeGet(QueryType.EPHEMERIS, url, reader -> rows[0] = readVectorsRows(reader, id, rowConsumer));
+
+        // The consumer's work is interleaved with the parsing, so only the rows are recorded
+        Metrics.getQueryMetrics(QueryType.EPHEMERIS).recordRows(rows[0]);
+        return rows[0];
+    }
+
+    /**
+     * Reads the rows between the {@code $$SOE} and {@code $$EOE} delimiters of an ephemeris
+     * query's text result one line at a time, and passes every complete row to a consumer.
+     *
+     * @param reader The result of the query
+     * @param id The database id of the target celestial, for the error message
+     * @param rowConsumer Called with the trimmed cells of every complete row, in order
+     * @return The number of rows passed to {@code rowConsumer}
+     * @throws IOException if the result can't be read, or contains no ephemeris
+     */
+    static long readVectorsRows(BufferedReader reader, String id, Consumer<String[]> rowConsumer) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if(line == null) throw new IOException("No ephemeris returned for " + id);
+        } while(!line.startsWith("$$SOE"));
+
+        CSVParser parser = new CSVParser();
+        long rows = 0;
+        while((line = reader.readLine()) != null && !line.startsWith("$$EOE")) {
+            String[] row = parser.parseLine(line);
+            if(row.length < 8 || row[2].isBlank()) continue;
+            for(int i=0; i < 8; i++) row[i] = row[i].trim();
+            rowConsumer.accept(row);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the URL that queries the database for the ephemeris of a target celestial as a CSV
+     * of vectors.
+     *
+     * @param format The format of the response, {@code json} or {@code text}
+     * @param id The database id of the target celestial
+     * @param centerId The database id of the celestial from which the position of the target is calculated
+     * @param startTime The date-timestamp start of the ephemeris range in format: "YYYY-MM-DD HH:MM"
+     * @param stopTime The date-timestamp stop of the ephemeris range in format: "YYYY-MM-DD HH:MM"
+     * @param stepSize The time-based increment in between each sequential point in the ephemeris data
+     * @return The URL of the query
+     */
+    private static String getVectorsURL(String format, String id, String centerId, String startTime, String stopTime,
+                                        StepSize stepSize) {
+        return "https://ssd.jpl.nasa.gov/api/horizons.api?format=" + format + "&COMMAND='" + id +
                 "'&OBJ_DATA='NO'&MAKE_EPHEM='YES'&EPHEM_TYPE='VECTORS'&VEC_TABLE='2'&CENTER='@"+  centerId +
                 "'&CSV_FORMAT='YES'" +
                 "&START_TIME='" + startTime +
                 "'&STOP_TIME='" + stopTime +
                 "'&STEP_SIZE='" + stepSize.toString() + "'";
-        String ephemStrJSON = executeGet(urlQuery).toString();
+    }
 
+    /**
+     * Returns the CSV block between the {@code $$SOE} and {@code $$EOE} delimiters of an
+     * ephemeris query's result.
+     *
+     * @param ephemStrJSON The response of the query
+     * @return The CSV block, or {@code null} if the result contains none
+     */
+    private static String extractVectorsBlock(String ephemStrJSON) {
         try {
             JSONObject ephemJSON = new JSONObject(ephemStrJSON);
             String ephemResult = (String) ephemJSON.get("result");
@@ -181,7 +449,7 @@ public final class HorizonSystem {
             Matcher matcher = csvPattern.matcher(ephemResult);
 
             if(matcher.find()) {
-                return extractVectorsCSV(matcher.group());
+                return matcher.group();
             } else {
                 System.err.println("No CSV found");
                 return null;
@@ -196,9 +464,6 @@ public final class HorizonSystem {
      * Queries the database to get the id, name, designation, and alias of every recorded body in the
      * database. Stores these values in static lookup tables.
      *
-     * <p> After initializing the lookup tables, this method calls {@code Moon.initializeMoonInfo()},
-     * which initializes the Moon specific lookup tables.
-     *
      * @see HorizonSystem#idNameMap
      * @see HorizonSystem#idDesignationMap
      * @see HorizonSystem#idAliasMap
@@ -207,11 +472,13 @@ public final class HorizonSystem {
         String urlQuery = "https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND=%27*%27";
         String bodyNameIDJSON;
         try {
-            bodyNameIDJSON = executeGet(urlQuery).toString();
+            bodyNameIDJSON = executeGet(QueryType.CATALOG, urlQuery).toString();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
+        long parseStart = System.nanoTime();
+        int entries = 0;
         try {
             JSONObject bodyNameID = new JSONObject(bodyNameIDJSON);
             BufferedReader reader =new BufferedReader(new StringReader((String) bodyNameID.get("result")));
@@ -233,6 +500,7 @@ public final class HorizonSystem {
                         idDesignationMap.put(id, designation);
                         designationIdMap.put(designation, id);
                         idAliasMap.put(id, alias);
+                        entries++;
                     }
                 }
             }
@@ -240,7 +508,36 @@ public final class HorizonSystem {
             System.err.println(err);
         }
 
-        Moon.initializeMoonInfo();
+        indexCatalog();
+        Metrics.getQueryMetrics(QueryType.CATALOG).recordParse(System.nanoTime() - parseStart, entries);
+    }
+
+    /**
+     * Builds the sorted spacecraft and moon id lists from the id-name lookup table, so the
+     * pickers in {@link PlanetViewer} never scan or probe the catalog themselves.
+     *
+     * @see HorizonSystem#spacecraftIds
+     * @see HorizonSystem#planetMoonIdsMap
+     */
+    private static void indexCatalog() {
+        ArrayList<String> spacecraft = new ArrayList<>();
+        ArrayList<String> moons = new ArrayList<>();
+        Pattern moonPattern = Pattern.compile("^[1-9](0[1-9]|[1-8]\\d|9[0-8])$");
+        for(String id: idNameMap.keySet()) {
+            if(id.contains("-")) spacecraft.add(id);
+            else if(moonPattern.matcher(id).matches()) moons.add(id);
+        }
+
+        Collections.sort(spacecraft);
+        spacecraftIds = List.copyOf(spacecraft);
+
+        // Moon ids all have three digits, so they sort numerically as strings
+        Collections.sort(moons);
+        HashMap<String, ArrayList<String>> byPlanet = new HashMap<>();
+        for(String id: moons)
+            byPlanet.computeIfAbsent(id.charAt(0) + "99", key -> new ArrayList<>()).add(id);
+        for(Map.Entry<String, ArrayList<String>> entry: byPlanet.entrySet())
+            planetMoonIdsMap.put(entry.getKey(), List.copyOf(entry.getValue()));
     }
 
     /**
@@ -323,7 +620,7 @@ public final class HorizonSystem {
     public static String getSpacecraftStartTimestamp(String dbID) {
         String timestamp = "";
         try {
-            StringBuilder resultJSON = executeGet(
+            StringBuilder resultJSON = executeGet(QueryType.COVERAGE,
                     "https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND=%27" +
                     dbID +"%27&OBJ_DATA=%27NO%27&MAKE_EPHEM=%27YES%27&CENTER=%27@399%27&START_TIME=%271000-01-01%27");
             JSONObject startTimeJSON = new JSONObject(resultJSON.toString());
@@ -357,7 +654,7 @@ public final class HorizonSystem {
     public static String getSpacecraftStopTimestamp(String dbID, String startTime) {
         String timestamp = "";
         try {
-            StringBuilder resultJSON = executeGet("https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND=%27" + dbID +"%27&OBJ_DATA=%27NO%27&MAKE_EPHEM=%27YES%27&CENTER=%27@399%27&START_TIME=%27" + startTime + "%27&STOP_TIME=%279999-01-01%27");
+            StringBuilder resultJSON = executeGet(QueryType.COVERAGE, "https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND=%27" + dbID +"%27&OBJ_DATA=%27NO%27&MAKE_EPHEM=%27YES%27&CENTER=%27@399%27&START_TIME=%27" + startTime + "%27&STOP_TIME=%279999-01-01%27");
             JSONObject startTimeJSON = new JSONObject(resultJSON.toString());
             String result = startTimeJSON.getString("result");
 
@@ -394,12 +691,12 @@ public final class HorizonSystem {
 
     /**
      * A helper method that parses a string for the pattern that contains the radius of the celestial.
-     * If no radius is found, this method checks if the radius is recorded in Moon radius lookup table.
+     * If no radius is found, this method checks if the radius is recorded in the moon lookup table.
      * If this id is not in the lookup table, this method returns 1km as the default.
      * @param result The String that contains the radius
      * @param id The id of the celestial
      * @return The radius of the celestial in String format
-     * @see Moon#idToRadius(String) 
+     * @see MoonTable#getRadiusKM(String)
      */
     private static String extractVolMeanRadiusKM(String result, String id) {
         // This pattern is meant to match 'mean radius, km   =  1.11'
@@ -410,12 +707,12 @@ public final class HorizonSystem {
         if(matcher.find()) {
             return extractLastNumber(matcher.group());
         } else {
-            String radius = Moon.idToRadius(id);
+            Float radius = MoonTable.getRadiusKM(id);
             if(radius == null) {
                 System.err.println("Could not find 'mean radius'");
                 return "1";
             }
-            return radius;
+            return String.valueOf(radius);
         }
     }
 
@@ -423,12 +720,12 @@ public final class HorizonSystem {
      * A helper method that parses a string for the pattern that contains the sidereal orbit period.
      * Since the database stores the sidereal orbit period in both years and days, 2 separate patterns
      * are checked. If no sidereal orbit period is found, this method checks if the sidereal orbit period
-     * is recorded in Moon's lookup table. If this id is not in the lookup table, this method returns a
+     * is recorded in the moon lookup table. If this id is not in the lookup table, this method returns a
      * default value of 0.
      * @param result The String that contains the sidereal orbit period
      * @param id The id of the celestial
      * @return The sidereal orbit period of the celestial in String format
-     * @see Moon#idToOrbitDays(String) 
+     * @see MoonTable#getOrbitDays(String)
      */
     private static String extractSiderealOrbPeriod(String result, String id) {
         // This regex matches Sidereal orb. per.    =  0.2408467 y
@@ -447,8 +744,8 @@ public final class HorizonSystem {
                 float lastNumber = Float.parseFloat(Objects.requireNonNull(extractLastNumber(matcher1.group())));
                 lastNumber = lastNumber / 365.25f;
                 return String.valueOf(lastNumber);
-            } else if(Moon.idToOrbitDays(id) != null) {
-                float sidereal = Float.parseFloat(Moon.idToOrbitDays(id));
+            } else if(MoonTable.getOrbitDays(id) != null) {
+                float sidereal = MoonTable.getOrbitDays(id);
                 sidereal = sidereal / 365.25f;
 
                 if(sidereal == 0) System.err.println("Could not find 'Sidereal Orb Period' " + id);
@@ -496,6 +793,22 @@ public final class HorizonSystem {
         }
     }
 
+    /**
+     * A helper method that parses a string for the pattern that contains the gravitational
+     * parameter GM of the celestial. If no GM is found, this method returns a default value of 0.
+     * Spacecraft and many small bodies have none, so a missing GM isn't reported.
+     * @param result The String that contains the GM
+     * @return The GM of the celestial in km³/s²
+     */
+    private static double extractGM(String result) {
+        // Matches 'GM, km^3/s^2 = 398600.435436' or 'GM (km^3/s^2) = 42828.375662', but not 'GM 1-sigma'
+        Pattern gmPattern = Pattern.compile("GM,?\\s*\\(?km\\^3/s\\^2\\)?\\s*=\\s*(\\d*\\.?\\d+(E[+-]?\\d+)?)", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = gmPattern.matcher(result);
+
+        if(matcher.find()) return Double.parseDouble(matcher.group(1));
+        return 0;
+    }
+
     /**
      * A helper method that extracts the ending numerical value in a string. This method
      * splices anything out that isn't a digit, a decimal '.', or a negative sign '-'.
@@ -525,6 +838,16 @@ public final class HorizonSystem {
         return idNameMap.get(id);
     }
 
+    /**
+     * Returns the gravitational parameter of a celestial, recorded when its data was fetched.
+     * @param id The database id of the celestial
+     * @return The GM in km³/s², or {@code 0} if it isn't known
+     * @see HorizonSystem#getBody(String)
+     */
+    public static double getGM(String id) {
+        return idGMMap.getOrDefault(id, 0.0);
+    }
+
     /**
      * Returns the keySet of the id-name lookup table
      * @return The keySet of the id-name lookup table
@@ -534,6 +857,25 @@ public final class HorizonSystem {
         return idNameMap.keySet();
     }
 
+    /**
+     * Returns the database ids of every spacecraft in sorted order.
+     * @return An unmodifiable list of the ids
+     * @see HorizonSystem#spacecraftIds
+     */
+    public static List<String> getSpacecraftIds() {
+        return spacecraftIds;
+    }
+
+    /**
+     * Returns the database ids of every moon of a planet in numeric order.
+     * @param planetID The database id of the planet
+     * @return An unmodifiable list of the ids, empty if the planet has no moons in the catalog
+     * @see HorizonSystem#planetMoonIdsMap
+     */
+    public static List<String> getMoonIds(String planetID) {
+        return planetMoonIdsMap.getOrDefault(planetID, List.of());
+    }
+
     /**
      * Returns the id of a celestial given its name.
      * @param name The name of the celestial.
@@ -552,4 +894,14 @@ public final class HorizonSystem {
     public static String designationToId(String designation) {
         return designationIdMap.get(designation);
     }
+
+    /**
+     * Returns the designation of a celestial given it's id.
+     * @param id The id of the celestial.
+     * @return The designation of the celestial, or {@code null} if the lookup tables don't
+     * contain it.
+     */
+    public static String idToDesignation(String id) {
+        return idDesignationMap.get(id);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.EphemerisQuery;
+import org.example.planetsexplorer.celestial.KeplerOrbit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports how far the {@link KeplerOrbit} extrapolation drifts from the database. For every
+ * body, the ephemeris is fetched over a range, the orbit is created from its first point the
+ * way {@code SecondaryBody} creates it from its last, and every later point is compared with
+ * the propagated one. Never starts JavaFX.
+ *
+ * <p> Run with {@code KeplerAccuracyReport [start YYYY-MM-DD] [days] [ids...]}. Defaults to a
+ * year from 2020-01-01 in daily steps, for the planets and the Moon, each measured from the
+ * body it orbits. The error is printed in km and as a percentage of the distance to the
+ * center, after each horizon that fits in the range, and at its largest.
+ */
+public class KeplerAccuracyReport {
+    /**
+     * The days after the first point the error is reported at
+     */
+    private static final int[] horizonDays = {1, 7, 30, 90, 365, 3650};
+
+    private static final double secondsPerDay = 86400;
+
+    public static void main(String[] args) {
+        LocalDateTime start;
+        int days;
+        try {
+            start = ExportJob.parseDateTime(args.length > 0 ? args[0] : "2020-01-01");
+            days = args.length > 1 ? Integer.parseInt(args[1]) : 365;
+        } catch (RuntimeException e) {
+            System.err.println("Usage: KeplerAccuracyReport [start YYYY-MM-DD] [days] [ids...]");
+            System.exit(2);
+            return;
+        }
+
+        ArrayList<String> ids = new ArrayList<>();
+        for(int i=2; i < args.length; i++) ids.add(args[i]);
+        if(ids.isEmpty()) {
+            for(int i=199; i<=999; i=i+100) ids.add(String.valueOf(i));
+            ids.add("301");
+        }
+
+        StringBuilder header = new StringBuilder(String.format("%-6s %-6s %14s %9s", "id", "center", "a (km)", "e"));
+        for(int horizon: horizonDays)
+            if(horizon <= days) header.append(String.format(" %18s", horizon + " d"));
+        header.append(String.format(" %18s", "max"));
+        System.out.println(header);
+
+        int failures = 0;
+        for(String id: ids) {
+            try {
+                System.out.println(report(id, start, days));
+            } catch (Exception e) {
+                failures++;
+                System.err.println("Failed to report " + id + ": " + e);
+            }
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Compares the extrapolated orbit of one body with its fetched ephemeris.
+     * @param id The database id of the body
+     * @param start The date-time of the first point, the epoch of the orbit
+     * @param days The length of the compared range in days
+     * @return One row of the report
+     * @throws Exception if the ephemeris or the GM of the center couldn't be fetched
+     */
+    private static String report(String id, LocalDateTime start, int days) throws Exception {
+        String centerID = EphemerisExporter.defaultCenter(id);
+        HorizonSystem.getBody(centerID);
+        HorizonSystem.getBody(id);
+        double gm = HorizonSystem.getGM(centerID) + HorizonSystem.getGM(id);
+        if(HorizonSystem.getGM(centerID) <= 0) throw new IllegalStateException("No GM recorded for " + centerID);
+
+        List<double[]> rows = new ArrayList<>();
+        HorizonSystem.streamEphemeris(id, centerID, EphemerisQuery.toTimestamp(start),
+                EphemerisQuery.toTimestamp(start.plusDays(days)), StepSize.DAYS, row -> {
+                    double[] values = new double[7];
+                    values[0] = Double.parseDouble(row[0]);
+                    for(int i=2; i < 8; i++) values[i - 1] = Double.parseDouble(row[i]);
+                    rows.add(values);
+                });
+        if(rows.isEmpty()) throw new IllegalStateException("No ephemeris returned");
+
+        double[] first = rows.get(0);
+        KeplerOrbit orbit = new KeplerOrbit(gm, start, first[1], first[2], first[3], first[4], first[5], first[6]);
+
+        StringBuilder line = new StringBuilder(String.format("%-6s %-6s %14.6g %9.6f",
+                id, centerID, orbit.getSemiMajorAxisKM(), orbit.getEccentricity()));
+        double[] state = new double[6];
+        double maxError = 0, maxRelative = 0;
+        int nextHorizon = 0;
+        for(double[] row: rows) {
+            double elapsedDays = row[0] - first[0];
+            orbit.propagate(elapsedDays * secondsPerDay, state);
+            double dx = state[0] - row[1], dy = state[1] - row[2], dz = state[2] - row[3];
+            double error = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            double relative = 100 * error / Math.sqrt(row[1] * row[1] + row[2] * row[2] + row[3] * row[3]);
+            if(error > maxError) {
+                maxError = error;
+                maxRelative = relative;
+            }
+
+            while(nextHorizon < horizonDays.length && horizonDays[nextHorizon] <= days
+                    && elapsedDays >= horizonDays[nextHorizon]) {
+                line.append(formatError(error, relative));
+                nextHorizon++;
+            }
+        }
+        return line.append(formatError(maxError, maxRelative)).toString();
+    }
+
+    /**
+     * Formats one cell of the report.
+     * @param errorKM The position error in km
+     * @param relative The position error as a percentage of the distance to the center
+     * @return The cell, padded to its column
+     */
+    private static String formatError(double errorKM, double relative) {
+        return String.format(" %18s", String.format("%.3g km %.3f%%", errorKM, relative));
+    }
+}
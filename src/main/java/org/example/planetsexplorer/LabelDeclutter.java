@@ -0,0 +1,138 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.Celestial;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hides the labels of {@link Celestial} bodies that would overlap a label of higher
+ * priority. The {@link PlanetViewer#selectedCelestial} always wins, followed by the
+ * bodies with the largest shapes.
+ *
+ * <p> Placed labels are recorded in a uniform grid of screen-space cells, so each label
+ * is only tested against the labels in the cells it covers. With labels no larger than a
+ * few cells, a placement pass is linear in the number of labels after the priority sort.
+ *
+ * @see PlanetsCamera#updateCameraUI()
+ */
+public final class LabelDeclutter {
+    /**
+     * The width and height in pixels of a single grid cell. Roughly the height of two labels.
+     */
+    private static final double cellSize = 64;
+
+    /**
+     * The space in pixels kept clear around every placed label
+     */
+    private static final double labelMargin = 2;
+
+    /**
+     * The screen rectangles of the labels placed in the current pass, packed as
+     * {@code (minX, minY, maxX, maxY)}
+     */
+    private static double[] placedBounds = new double[64];
+
+    /**
+     * For each grid cell, the indices of the placed labels that cover it. Reused between passes.
+     */
+    private static final ArrayList<ArrayList<Integer>> grid = new ArrayList<>();
+
+    /**
+     * The order labels are placed in: the selected body first, then by descending radius
+     */
+    private static final Comparator<Celestial> priority = Comparator
+            .comparing((Celestial celestial) -> celestial != PlanetViewer.selectedCelestial)
+            .thenComparing(celestial -> -celestial.getShape().getRadius());
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private LabelDeclutter() {}
+
+    /**
+     * Shows the label of each given {@code Celestial} unless it overlaps a label of higher
+     * priority, in which case it is hidden. Labels must already be positioned on screen.
+     *
+     * @param celestials The bodies whose labels are in view
+     * @param width The width of the viewport in pixels
+     * @param height The height of the viewport in pixels
+     */
+    public static void placeLabels(List<Celestial> celestials, double width, double height) {
+        ArrayList<Celestial> ordered = new ArrayList<>(celestials);
+        ordered.sort(priority);
+
+        int columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        int rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        resetGrid(columns * rows);
+        if(placedBounds.length < ordered.size() * 4)
+            placedBounds = new double[ordered.size() * 4];
+
+        int placed = 0;
+        for(Celestial celestial: ordered) {
+            double minX = celestial.getGroupUI().getTranslateX() - labelMargin;
+            double minY = celestial.getGroupUI().getTranslateY() - labelMargin;
+            double maxX = minX + celestial.getLabelWidth() + 2 * labelMargin;
+            double maxY = minY + celestial.getLabelHeight() + 2 * labelMargin;
+
+            // Labels entirely off the viewport never overlap anything visible
+            if(maxX < 0 || maxY < 0 || minX > width || minY > height) {
+                celestial.setLabelVisible(true);
+                continue;
+            }
+
+            int firstColumn = clamp((int) (minX / cellSize), columns);
+            int lastColumn = clamp((int) (maxX / cellSize), columns);
+            int firstRow = clamp((int) (minY / cellSize), rows);
+            int lastRow = clamp((int) (maxY / cellSize), rows);
+
+            boolean overlaps = false;
+            for(int row = firstRow; row <= lastRow && !overlaps; row++)
+                for(int column = firstColumn; column <= lastColumn && !overlaps; column++)
+                    for(int other: grid.get(row * columns + column))
+                        if(intersects(other, minX, minY, maxX, maxY)) {
+                            overlaps = true;
+                            break;
+                        }
+
+            celestial.setLabelVisible(!overlaps);
+            if(overlaps) continue;
+
+            placedBounds[placed * 4] = minX;
+            placedBounds[placed * 4 + 1] = minY;
+            placedBounds[placed * 4 + 2] = maxX;
+            placedBounds[placed * 4 + 3] = maxY;
+            for(int row = firstRow; row <= lastRow; row++)
+                for(int column = firstColumn; column <= lastColumn; column++)
+                    grid.get(row * columns + column).add(placed);
+            placed++;
+        }
+    }
+
+    /**
+     * Empties every grid cell, growing the grid to at least the given number of cells.
+     * @param cells The number of cells needed for this pass
+     */
+    private static void resetGrid(int cells) {
+        for(ArrayList<Integer> cell: grid) cell.clear();
+        while(grid.size() < cells) grid.add(new ArrayList<>());
+    }
+
+    /**
+     * Tests a rectangle against a placed label.
+     * @param placed The index of the placed label
+     * @return {@code true} if the rectangle and the placed label overlap
+     */
+    private static boolean intersects(int placed, double minX, double minY, double maxX, double maxY) {
+        return minX < placedBounds[placed * 4 + 2] && maxX > placedBounds[placed * 4] &&
+                minY < placedBounds[placed * 4 + 3] && maxY > placedBounds[placed * 4 + 1];
+    }
+
+    /**
+     * Clamps a grid coordinate into {@code [0, count - 1]}.
+     */
+    private static int clamp(int value, int count) {
+        return Math.max(0, Math.min(count - 1, value));
+    }
+}
@@ -7,17 +7,23 @@ import javafx.scene.SubScene;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
-import org.example.planetsexplorer.celestial.CelestialInfoFacade;
 import org.example.planetsexplorer.celestial.Sun;
-import org.json.JSONObject;
+import org.example.planetsexplorer.metrics.Metrics;
+
+import java.io.IOException;
 
 public class Main extends Application {
     public static final Group rootScene3D = new Group();
     public static final Group sceneRoot = new Group();
     public static Sun sun;
 
+    /**
+     * The query service started with {@code --serve=<port>}, or {@code null}
+     * @see EphemerisService
+     */
+    private static EphemerisService service;
+
     public void start(Stage stage) throws Exception {
-        HorizonSystem.initializeLookupTables();
         SubScene scene3D = new SubScene(rootScene3D, 600, 600, true, null);
         scene3D.setFill(Color.BLACK);
         sceneRoot.getChildren().add(scene3D);
@@ -25,23 +31,37 @@ public class Main extends Application {
         Scene mainScene = new Scene(sceneRoot,600, 600);
         PlanetsCamera.initializeCamera(mainScene, scene3D, rootScene3D);
 
-//        JSONObject sunInfo = HorizonSystem.getBody("10");
-        CelestialInfoFacade celestInfo = HorizonSystem.getBody("10");
-        assert celestInfo != null;
-        sun = new Sun(celestInfo.getMeanRadKM(), "10");
-        rootScene3D.getChildren().add(sun.getShape());
-        sceneRoot.getChildren().add(sun.getGroupUI());
+        // The Sun and PlanetViewer are added once their data arrives in the background
+        StartupSequence.start(mainScene);
 
         stage.setResizable(false);
         stage.setTitle("Planet Explorer!");
         stage.setScene(mainScene);
         stage.show();
 
-        PlanetViewer.initializePlanetViewer();
+        String servePort = getParameters().getNamed().get("serve");
+        if(servePort != null) {
+            // Local tools now query through the explorer, so its requests are limited like a service's
+            HorizonSystem.setMaxRequestsPerSecond(ServiceLauncher.defaultRequestsPerSecond);
+            try {
+                service = new EphemerisService(Integer.parseInt(servePort), ServiceLauncher.serviceThreads);
+                service.start();
+                System.out.println("Ephemeris service listening on http://localhost:" + service.getPort());
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not start the ephemeris service: " + e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if(service != null) service.stop();
     }
 
     public static void main(String[] args) {
-        launch();
+        StartupSequence.markLaunch();
+        Metrics.register();
+        launch(args);
     }
 
 }
\ No newline at end of file
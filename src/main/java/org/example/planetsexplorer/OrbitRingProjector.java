@@ -0,0 +1,224 @@
+package org.example.planetsexplorer;
+
+import javafx.collections.ObservableList;
+import javafx.geometry.Point3D;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Line;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the 2D overlay orbit ring of each {@link SecondaryBody} in two stages.
+ *
+ * <p> The compute stage projects every ephemeris point, applies the "hide behind body"
+ * occlusion tests, and builds the gradient colors. It only reads primitive copies of the
+ * ephemeris and a {@link CameraSnapshot}, so it runs in parallel across bodies on the
+ * common fork-join pool.
+ *
+ * <p> The apply stage runs on the JavaFX Application Thread and copies the finished
+ * segments into the {@code Line} nodes of each body's orbit ring, reusing the nodes
+ * from the previous update.
+ *
+ * @see PlanetsCamera#updateCameraUI()
+ */
+public final class OrbitRingProjector {
+    /**
+     * The starting color in the orbit path gradient.
+     */
+    private static final Color startColor = Color.BLUE;
+
+    /**
+     * The middle color in the orbit path gradient.
+     */
+    private static final Color midColor = Color.YELLOW;
+
+    /**
+     * The ending color in the orbit path gradient.
+     */
+    private static final Color endColor = Color.RED;
+
+    /**
+     * The stroke width of every orbit ring segment
+     */
+    private static final double segmentWidth = 5;
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private OrbitRingProjector() {}
+
+    /**
+     * The input and output of the compute stage for a single body. The inputs are copied
+     * on the JavaFX Application Thread; the outputs are written by a single worker thread.
+     */
+    private static final class RingJob {
+        private final SecondaryBody body;
+        private final double[] positions;
+        private final double primaryX, primaryY, primaryZ;
+
+        private double[] segments;
+        private Color[] colors;
+        private double[] opacities;
+        private int segmentCount;
+
+        private RingJob(SecondaryBody body) {
+            this.body = body;
+            this.positions = body.getEphemerisPositions();
+
+            Point3D primaryPoint = body.getPrimaryBody().getSceneCoordinates();
+            this.primaryX = primaryPoint.getX();
+            this.primaryY = primaryPoint.getY();
+            this.primaryZ = primaryPoint.getZ();
+        }
+    }
+
+    /**
+     * Regenerates the orbit ring of every given body whose ring is visible.
+     *
+     * @param bodies The bodies whose orbit rings are to be updated
+     * @param snapshot The camera projection to draw the rings with
+     * @param hideBehindPrimary {@code true} if segments behind the primary body are hidden
+     * @see PlanetViewer#isHideOrbitGlobalSelected()
+     */
+    public static void updateOrbitRings(List<SecondaryBody> bodies, CameraSnapshot snapshot, boolean hideBehindPrimary) {
+        ArrayList<RingJob> jobs = new ArrayList<>(bodies.size());
+        for(SecondaryBody body: bodies)
+            if(body.getOrbitRing().isVisible())
+                jobs.add(new RingJob(body));
+
+        jobs.parallelStream().forEach(job -> compute(job, snapshot, hideBehindPrimary));
+
+        for(RingJob job: jobs)
+            apply(job);
+    }
+
+    /**
+     * The compute stage. Projects the ephemeris points of a single body and stores the
+     * visible segments, their colors and their opacities in the job.
+     *
+     * @param job The body's ring job
+     * @param snapshot The camera projection
+     * @param hideBehindPrimary {@code true} if segments behind the primary body are hidden
+     */
+    private static void compute(RingJob job, CameraSnapshot snapshot, boolean hideBehindPrimary) {
+        double[] positions = job.positions;
+        int totalSegments = positions.length / 3;
+        int midSegment = totalSegments / 2;
+
+        double[] screen = new double[totalSegments * 2];
+        boolean[] inFront = new boolean[totalSegments];
+        double[] cameraDistance = new double[totalSegments];
+        for(int i=0; i < totalSegments; i++) {
+            double x = positions[i * 3] + job.primaryX;
+            double y = positions[i * 3 + 1] + job.primaryY;
+            double z = positions[i * 3 + 2] + job.primaryZ;
+            inFront[i] = snapshot.project(x, y, z, screen, i * 2);
+            cameraDistance[i] = snapshot.distanceToCamera(x, y, z);
+        }
+        double primaryDistance = snapshot.distanceToCamera(job.primaryX, job.primaryY, job.primaryZ);
+
+        job.segments = new double[Math.max(totalSegments - 1, 0) * 4];
+        job.colors = new Color[Math.max(totalSegments - 1, 0)];
+        job.opacities = new double[Math.max(totalSegments - 1, 0)];
+
+        int count = 0;
+        for(int i=1; i < totalSegments; i++) {
+            // The orbit distance at the segment's end point
+            double px = positions[i * 3];
+            double py = positions[i * 3 + 1];
+            double pz = positions[i * 3 + 2];
+            double orbitDistance = Math.sqrt(px * px + py * py + pz * pz);
+
+            // If camera is close to body, hide its orbit ring
+            if(cameraDistance[i - 1] < 2 * orbitDistance) continue;
+
+            // If segment is further away from the camera than the celestialObject it's modelling, hide that segment
+            if(hideBehindPrimary && (cameraDistance[i] > primaryDistance + (orbitDistance / 2) ||
+                    cameraDistance[i - 1] > primaryDistance + (orbitDistance / 2)))
+                continue;
+
+            // Segments that cross behind the camera have no meaningful projection
+            if(!inFront[i - 1] || !inFront[i]) continue;
+
+            job.segments[count * 4] = screen[(i - 1) * 2];
+            job.segments[count * 4 + 1] = screen[(i - 1) * 2 + 1];
+            job.segments[count * 4 + 2] = screen[i * 2];
+            job.segments[count * 4 + 3] = screen[i * 2 + 1];
+            job.colors[count] = gradientColor(i, midSegment, totalSegments);
+            job.opacities[count] = 1 - ((double) i / totalSegments);
+            count++;
+        }
+
+        job.segmentCount = count;
+    }
+
+    /**
+     * The apply stage. Copies the computed segments into the body's orbit ring, reusing
+     * the {@code Line} nodes it already contains. Must be called on the JavaFX Application
+     * Thread.
+     *
+     * @param job The body's finished ring job
+     */
+    private static void apply(RingJob job) {
+        ObservableList<Node> lines = job.body.getOrbitRing().getChildren();
+        if(lines.size() > job.segmentCount)
+            lines.remove(job.segmentCount, lines.size());
+
+        ArrayList<Line> added = new ArrayList<>();
+        for(int i=0; i < job.segmentCount; i++) {
+            Line segment;
+            if(i < lines.size()) {
+                segment = (Line) lines.get(i);
+            } else {
+                segment = new Line();
+                segment.setStrokeWidth(segmentWidth);
+                added.add(segment);
+            }
+
+            segment.setStartX(job.segments[i * 4]);
+            segment.setStartY(job.segments[i * 4 + 1]);
+            segment.setEndX(job.segments[i * 4 + 2]);
+            segment.setEndY(job.segments[i * 4 + 3]);
+            segment.setStroke(job.colors[i]);
+            segment.setOpacity(job.opacities[i]);
+        }
+
+        if(!added.isEmpty()) lines.addAll(added);
+    }
+
+    /**
+     * Returns the color of an orbit segment along the start → middle → end gradient.
+     *
+     * @param segment The index of the segment's end point
+     * @param midSegment The index of the segment drawn with the middle color
+     * @param totalSegments The number of points in the orbit
+     * @return The gradient color of the segment
+     */
+    public static Color gradientColor(int segment, int midSegment, int totalSegments) {
+        double ratio; // Determining the mix of two gradient colors
+        if (segment <= midSegment) {
+            ratio = (double) segment / midSegment;
+            return mixColors(startColor, midColor, ratio);
+        } else {
+            ratio = (double) (segment - midSegment) / (totalSegments - midSegment);
+            return mixColors(midColor, endColor, ratio);
+        }
+    }
+
+    /**
+     * Returns the fractional mix of two colors
+     * @param start The starting colour
+     * @param end The color being mixed in
+     * @param ratio The fractional mix of the two colors
+     * @return The mix of start and end colors
+     */
+    private static Color mixColors(Color start, Color end, double ratio) {
+        double r = start.getRed() + (end.getRed() - start.getRed()) * ratio;
+        double g = start.getGreen() + (end.getGreen() - start.getGreen()) * ratio;
+        double b = start.getBlue() + (end.getBlue() - start.getBlue()) * ratio;
+        return new Color(r, g, b, 1.0);
+    }
+}
@@ -1,18 +1,24 @@
 package org.example.planetsexplorer;
 
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import org.example.planetsexplorer.celestial.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A separate window that contains UI elements for viewing the
@@ -43,7 +49,6 @@ public final class PlanetViewer {
     private final static GridPane queryCelestialGridPane = new GridPane();
     private final static Tab queryCelestialTab = new Tab("Query Celestial");
 
-    private final static GridPane querySpacecraftGridPane = new GridPane();
     private final static Tab querySpacecraftTab = new Tab("Query Spacecraft");
 
     private final static TabPane tabPane = new TabPane(selectedCelestialTab, queryCelestialTab, querySpacecraftTab);
@@ -73,10 +78,34 @@ public final class PlanetViewer {
     private final static Button btnQueryEphem = new Button("Query Ephemeris");
     private final static Button btnCopyEphem = new Button("Copy Ephemeris");
     private final static Button btnSelectPrimary = new Button("Select Primary");
+    private final static Button btnPlayback = new Button("Play");
+
+    private final static ComboBox<Double> speedPlayback = new ComboBox<>();
+    private final static Label lblFrameTime = new Label("Frame: ");
+
+    private final static Button btnFindApproaches = new Button("Find Close Approaches");
+    private final static ListView<String> listApproaches = new ListView<>();
+
+    private final static Label lblLoadStatus = new Label();
+    private final static ProgressBar progressLoad = new ProgressBar(0);
+    private final static ListView<CelestialLoader.Load> listLoadQueue = new ListView<>(CelestialLoader.getQueue());
+
+    private final static CatalogPicker moonPicker = new CatalogPicker("Search moons of the checked planets",
+            (id, checked) -> {
+                if(checked) CelestialLoader.loadMoon(id, id.charAt(0) + "99");
+                else if(!CelestialLoader.cancel(id)) Moon.deleteMoon(id);
+            });
+    private final static CatalogPicker spacecraftPicker = new CatalogPicker("Search spacecraft",
+            (id, checked) -> {
+                if(checked) CelestialLoader.loadSpacecraft(HorizonSystem.idToName(id), id);
+                else if(!CelestialLoader.cancel(id)) Spacecraft.deleteSpacecraft(id);
+            });
 
     private final static CheckBox checkEphemFrozen = new CheckBox("Freeze Selected Ephemeris");
     private final static CheckBox checkDisableOrbitSelected = new CheckBox("Disable Selected Celestial Orbit Ring ");
     private final static CheckBox checkHideOrbitGlobal = new CheckBox("Hide Orbit Ring Behind Body");
+    private final static CheckBox checkOrbitPath3D = new CheckBox("Draw Orbits As 3D Paths");
+    private final static CheckBox checkExtrapolate = new CheckBox("Extrapolate Past Fetched Ephemeris");
 
     private static String checkboxStyle;
     private static String gridpaneStyle;
@@ -165,6 +194,35 @@ public final class PlanetViewer {
         checkHideOrbitGlobal.setAllowIndeterminate(false);
         viewerGridRoot.getChildren().add(checkHideOrbitGlobal);
 
+        GridPane.setConstraints(checkOrbitPath3D, 0, 16);
+        checkOrbitPath3D.setAllowIndeterminate(false);
+        viewerGridRoot.getChildren().add(checkOrbitPath3D);
+
+        GridPane.setConstraints(checkExtrapolate, 0, 17);
+        checkExtrapolate.setAllowIndeterminate(false);
+        checkExtrapolate.setSelected(true);
+        viewerGridRoot.getChildren().add(checkExtrapolate);
+
+        // VISUAL SEPARATION
+
+        GridPane.setConstraints(btnPlayback, 0, 18);
+        viewerGridRoot.getChildren().add(btnPlayback);
+
+        GridPane.setConstraints(speedPlayback, 1, 18);
+        viewerGridRoot.getChildren().add(speedPlayback);
+
+        GridPane.setConstraints(lblFrameTime, 0, 19, 3, 1);
+        viewerGridRoot.getChildren().add(lblFrameTime);
+
+        // VISUAL SEPARATION
+
+        GridPane.setConstraints(btnFindApproaches, 0, 20);
+        viewerGridRoot.getChildren().add(btnFindApproaches);
+
+        GridPane.setConstraints(listApproaches, 0, 21, 3, 1);
+        listApproaches.setPrefHeight(160);
+        viewerGridRoot.getChildren().add(listApproaches);
+
         initializeComboBoxes();
         initializeButtons();
         initializeCheckboxes();
@@ -174,46 +232,33 @@ public final class PlanetViewer {
         queryCelestialTab.setContent(queryCelestialGridPane);
         queryCelestialTab.setClosable(false);
         for(int i=199; i<=999; i=i+100) {
-            int rowIndex = ((i / 100) - 1) * 2;
+            int rowIndex = (i / 100) - 1;
             CheckBox planetCheckBox = new CheckBox(i + " " + HorizonSystem.idToName(String.valueOf(i)));
             planetCheckBox.setStyle(checkboxStyle);
 
             GridPane.setConstraints(planetCheckBox, 0, rowIndex);
             queryCelestialGridPane.getChildren().add(planetCheckBox);
 
-            initializeMoonQueryCheckbox(i, planetCheckBox, rowIndex);
+            initializePlanetQueryCheckbox(planetCheckBox);
         }
 
-        // Initialize querying Spacecraft tab
-        querySpacecraftTab.setContent(querySpacecraftGridPane);
+        // The moons of every checked planet share one searchable picker below the planets
+        GridPane.setConstraints(moonPicker.getRoot(), 0, 9);
+        GridPane.setVgrow(moonPicker.getRoot(), Priority.ALWAYS);
+        queryCelestialGridPane.getChildren().add(moonPicker.getRoot());
+
+        // Initialize querying Spacecraft tab, only usable once Earth is queried
+        querySpacecraftTab.setContent(spacecraftPicker.getRoot());
         querySpacecraftTab.setClosable(false);
-        querySpacecraftGridPane.setVisible(false);
-        int row = 0;
-        int col=0;
-
-        // Only create checkbox for Celestials with '-' sign in their ID
-        List<String> sortedKeys = new ArrayList<>(HorizonSystem.getIdNameMapKeySet());
-        Collections.sort(sortedKeys);
-        for(String id: sortedKeys) {
-            if(id.contains("-")) {
-                CheckBox spacecraftCheckbox = new CheckBox(id);
-                spacecraftCheckbox.setStyle(checkboxStyle);
-                GridPane.setConstraints(spacecraftCheckbox, col, row);
-                querySpacecraftGridPane.getChildren().add(spacecraftCheckbox);
-
-                spacecraftCheckbox.selectedProperty().addListener(e-> {
-                    System.out.println(id);
-                    if(spacecraftCheckbox.isSelected())
-                        Spacecraft.createSpacecraft(HorizonSystem.idToName(id), id);
-                    else Spacecraft.deleteSpacecraft(id);
-                });
+        spacecraftPicker.getRoot().setVisible(false);
+        spacecraftPicker.setIds(HorizonSystem.getSpacecraftIds());
 
-                row++;
-                if(row % 23 == 0) { row = 0; col++; }
-            }
-        }
+        // The load queue stays visible below whichever tab is open
+        GridPane loadGridPane = initializeLoadQueue();
+        VBox viewerRoot = new VBox(tabPane, loadGridPane);
+        VBox.setVgrow(tabPane, Priority.ALWAYS);
 
-        Scene viewerScene = new Scene(tabPane, 400, 600);
+        Scene viewerScene = new Scene(viewerRoot, 400, 600);
         Stage viewerStage = new Stage();
         viewerStage.setTitle("Planet Viewer");
         viewerStage.setScene(viewerScene);
@@ -221,71 +266,98 @@ public final class PlanetViewer {
     }
 
     /**
-     * Initializes the set of {@link Moon} checkboxes that expand out
-     * after a given {@link Planet} is queried. Inserts a GridPane inside
-     * another GridPane where the nested GridPane's children are {@code Moon}
-     * checkboxes. {@code Moon} checkboxes are hidden if their {@code Planet}
-     * is not queried.
+     * Initializes the click event of a {@link Planet} checkbox. Checking a {@code Planet}
+     * queues its load and lists its {@link Moon} ids in the {@code moonPicker}. Unchecking
+     * it also unchecks its moons, and for Earth, every {@link Spacecraft}.
      *
-     * @param planetID       The ID of the {@code Planet} these set of {@code Moon} orbits
-     * @param planetCheckbox The checkbox that will expand out the {@code moonCheckboxe} when enabled
-     * @param rowIndex       The row in which the {@code planetCheckbox} resides
+     * @param planetCheckbox The checkbox of the {@code Planet}, labelled with its ID first
      */
-    private static void initializeMoonQueryCheckbox(int planetID, CheckBox planetCheckbox, int rowIndex) {
-        GridPane moonGridPane = new GridPane();
-        moonGridPane.setVisible(false);
-        moonGridPane.setManaged(false);
-
-        GridPane.setConstraints(moonGridPane, 0, rowIndex + 1);
-        queryCelestialGridPane.getChildren().add(moonGridPane);
-
-        // Begin at the first possible moonID, "[1-9]01"
-        // Continues until HorizonSystem has no valid ID
-        int row = 0;
-        int col = 0;
-        int moonID = planetID - 98;
-        String moonName = HorizonSystem.idToName(String.valueOf(moonID));
-
-        while(moonName != null) {
-            CheckBox moonCheckbox = new CheckBox(String.valueOf(moonID));
-            moonCheckbox.setStyle(checkboxStyle);
-            GridPane.setConstraints(moonCheckbox, col, row);
-            moonGridPane.getChildren().add(moonCheckbox);
-
-            moonCheckbox.selectedProperty().addListener(e-> {
-                if(moonCheckbox.isSelected()) Moon.createMoon(moonCheckbox.getText(), moonCheckbox.getText().charAt(0) + "99");
-                else Moon.deleteMoon(moonCheckbox.getText());
-            });
-
-            if(col == 8) { col = 0; row++; }
-            moonID++;
-            col++; // Col should only be updated at the end to give the indentation
-            moonName = HorizonSystem.idToName(String.valueOf(moonID));
-        }
-
+    private static void initializePlanetQueryCheckbox(CheckBox planetCheckbox) {
         planetCheckbox.setOnMouseClicked(e -> {
             String id = planetCheckbox.getText().substring(0, 3);
             if(planetCheckbox.isSelected()) {
-                Planet.createPlanet(id);
-                moonGridPane.setVisible(true);
-                moonGridPane.setManaged(true);
-                if(id.equals("399")) querySpacecraftGridPane.setVisible(true);
+                CelestialLoader.loadPlanet(id);
+                if(id.equals("399")) {
+                    spacecraftPicker.getRoot().setVisible(true);
+                    // Selecting a spacecraft then only has to fetch its ephemeris
+                    CoverageWindows.discoverInBackground(HorizonSystem.getSpacecraftIds());
+                }
             } else {
-                Planet.deletePlanet(id);
-                moonGridPane.setVisible(false);
-                moonGridPane.setManaged(false);
-                if(id.equals("399")) querySpacecraftGridPane.setVisible(false);
-
-                for(Node node: moonGridPane.getChildren())
-                    if(node instanceof CheckBox checkBox)
-                        checkBox.setSelected(false);
-                for(Node node: querySpacecraftGridPane.getChildren())
-                    if(node instanceof CheckBox checkBox)
-                        checkBox.setSelected(false);
+                if(!CelestialLoader.cancel(id)) Planet.deletePlanet(id);
+                for(String moonID: HorizonSystem.getMoonIds(id))
+                    moonPicker.setChecked(moonID, false);
+                if(id.equals("399")) {
+                    spacecraftPicker.getRoot().setVisible(false);
+                    spacecraftPicker.uncheckAll();
+                }
             }
+            updateMoonPicker();
         });
     }
 
+    /**
+     * Lists the {@link Moon} ids of every checked {@link Planet} in the {@code moonPicker}.
+     */
+    private static void updateMoonPicker() {
+        ArrayList<String> moonIds = new ArrayList<>();
+        for(Node node: queryCelestialGridPane.getChildren())
+            if(node instanceof CheckBox planetCheckbox && planetCheckbox.isSelected())
+                moonIds.addAll(HorizonSystem.getMoonIds(planetCheckbox.getText().substring(0, 3)));
+        moonPicker.setIds(moonIds);
+    }
+
+    /**
+     * Initializes the panel that shows the {@link CelestialLoader} queue: the status and
+     * progress of the load at the head of the queue, and every load still waiting.
+     * @return The panel's {@code GridPane}
+     */
+    private static GridPane initializeLoadQueue() {
+        GridPane loadGridPane = new GridPane();
+        loadGridPane.setStyle(gridpaneStyle);
+
+        GridPane.setConstraints(lblLoadStatus, 0, 0);
+        loadGridPane.getChildren().add(lblLoadStatus);
+
+        GridPane.setConstraints(progressLoad, 0, 1);
+        progressLoad.setMaxWidth(Double.MAX_VALUE);
+        loadGridPane.getChildren().add(progressLoad);
+
+        GridPane.setConstraints(listLoadQueue, 0, 2);
+        listLoadQueue.setPrefHeight(96);
+        listLoadQueue.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(CelestialLoader.Load load, boolean empty) {
+                super.updateItem(load, empty);
+                textProperty().unbind();
+                if(empty || load == null) setText(null);
+                else textProperty().bind(load.titleProperty().concat(" - ").concat(load.messageProperty()));
+            }
+        });
+        loadGridPane.getChildren().add(listLoadQueue);
+
+        // Loads run in queue order, so the head of the queue is the one in progress
+        CelestialLoader.getQueue().addListener((ListChangeListener<CelestialLoader.Load>) change -> updateLoadStatus());
+        updateLoadStatus();
+        return loadGridPane;
+    }
+
+    /**
+     * Binds the load status and progress bar to the load at the head of the queue.
+     */
+    private static void updateLoadStatus() {
+        lblLoadStatus.textProperty().unbind();
+        progressLoad.progressProperty().unbind();
+
+        if(CelestialLoader.getQueue().isEmpty()) {
+            lblLoadStatus.setText("No bodies loading");
+            progressLoad.setProgress(0);
+        } else {
+            CelestialLoader.Load current = CelestialLoader.getQueue().get(0);
+            lblLoadStatus.textProperty().bind(current.titleProperty().concat(": ").concat(current.messageProperty()));
+            progressLoad.progressProperty().bind(current.progressProperty());
+        }
+    }
+
     /**
      * Initializes the values stored in the {@code ComboBox} for
      * the ephemeris date range query.
@@ -304,6 +376,14 @@ public final class PlanetViewer {
             minEphemStart.getItems().add(i);
             minEphemStop.getItems().add(i);
         }
+
+        // Playback speeds in ephemeris steps per second
+        speedPlayback.getItems().addAll(1.0, 2.0, 5.0, 10.0, 30.0, 60.0);
+        speedPlayback.setValue(PlaybackEngine.getStepsPerSecond());
+        speedPlayback.valueProperty().addListener(e -> {
+            if(speedPlayback.getValue() != null)
+                PlaybackEngine.setStepsPerSecond(speedPlayback.getValue());
+        });
     }
 
     /**
@@ -321,20 +401,18 @@ public final class PlanetViewer {
                         dateStop.getYear(), dateStop.getMonth().getValue(), dateStop.getDayOfMonth(),
                         hourEphemStop.getValue(), minEphemStop.getValue());
 
+                // The query runs in the background and supersedes any older query of the same bodies
+                ArrayList<SecondaryBody> bodies = new ArrayList<>();
                 if(selectedCelestial instanceof Spacecraft spacecraft) {
                     if(spacecraft.getPrimaryBody() instanceof SecondaryBody primary)
-                        primary.setEphemeris(dateTimeStart, dateTimeStop, stepEphem.getValue());
-
-                    for(SecondaryBody child: spacecraft.getPrimaryBody().getSecondaryBodies())
-                        child.setEphemeris(dateTimeStart, dateTimeStop, stepEphem.getValue());
+                        bodies.add(primary);
+                    Collections.addAll(bodies, spacecraft.getPrimaryBody().getSecondaryBodies());
                 } else {
-                    secBody.setEphemeris(dateTimeStart, dateTimeStop, stepEphem.getValue());
-                    for(SecondaryBody child: secBody.getSecondaryBodies())
-                        child.setEphemeris(dateTimeStart, dateTimeStop, stepEphem.getValue());
+                    bodies.add(secBody);
+                    Collections.addAll(bodies, secBody.getSecondaryBodies());
                 }
 
-                PlanetsCamera.updateEphemeris();
-                PlanetsCamera.updateCameraUI();
+                CelestialLoader.loadEphemeris(secBody, bodies, dateTimeStart, dateTimeStop, stepEphem.getValue());
             }
         });
 
@@ -347,6 +425,21 @@ public final class PlanetViewer {
             if(selectedCelestial instanceof Spacecraft)
                 selectPrimary = true;
         });
+
+        btnFindApproaches.setOnMouseClicked(e -> {
+            if(selectedCelestial instanceof SecondaryBody secBody)
+                findCloseApproaches(secBody);
+        });
+
+        btnPlayback.setOnMouseClicked(e -> {
+            if(PlaybackEngine.isPlaying()) {
+                PlaybackEngine.pause();
+                btnPlayback.setText("Play");
+            } else {
+                PlaybackEngine.play();
+                btnPlayback.setText("Pause");
+            }
+        });
     }
 
     private static void initializeCheckboxes() {
@@ -356,8 +449,22 @@ public final class PlanetViewer {
         });
 
         checkDisableOrbitSelected.selectedProperty().addListener(e -> {
-            if(selectedCelestial instanceof SecondaryBody secBody)
+            if(selectedCelestial instanceof SecondaryBody secBody) {
                 secBody.getOrbitRing().setVisible(!checkDisableOrbitSelected.isSelected());
+                // Hidden rings are not regenerated, so bring a re-enabled ring up to date
+                PlanetsCamera.updateCameraUI();
+            }
+        });
+
+        // Switching between 2D rings and 3D paths clears or regenerates the 2D overlay
+        ViewSettings.orbitPath3DProperty().bind(checkOrbitPath3D.selectedProperty());
+        checkOrbitPath3D.selectedProperty().addListener(e -> PlanetsCamera.updateCameraUI());
+
+        // Bodies past the end of their ephemeris jump between their extrapolated and repeated position
+        ViewSettings.extrapolationProperty().bind(checkExtrapolate.selectedProperty());
+        checkExtrapolate.selectedProperty().addListener(e -> {
+            PlanetsCamera.updateEphemeris();
+            PlanetsCamera.updateCameraUI();
         });
     }
 
@@ -372,6 +479,7 @@ public final class PlanetViewer {
         lblName.setText("Celestial Name: " + celestial.getName());
         lblDbID.setText("DB ID: " + celestial.getDbID());
         btnSelectPrimary.setVisible(selectedCelestial instanceof Spacecraft);
+        listApproaches.getItems().clear();
 
         if(celestial instanceof PrimaryBody primaryBody) {
             lblSecondaryBodies.setText("Secondary Bodies: " + primaryBody.getSecondaryBodies().length);
@@ -406,6 +514,66 @@ public final class PlanetViewer {
 
     }
 
+    /**
+     * Searches the closest approach of a body to every other {@code SecondaryBody} on stage in
+     * the background, and lists them nearest first. The results are dropped if another body
+     * has been selected by the time they are found. A failed search is reported in the list.
+     * @param secBody The body to search from
+     * @see CloseApproachSearch#findClosestApproaches(EphemerisTrack, List)
+     */
+    private static void findCloseApproaches(SecondaryBody secBody) {
+        EphemerisTrack track = secBody.getEphemerisTrack();
+        if(track == null) {
+            listApproaches.getItems().setAll("No ephemeris loaded for " + secBody.getName());
+            return;
+        }
+
+        // Tracks are snapshots, so only creating them needs the JavaFX Application Thread
+        ArrayList<EphemerisTrack> others = new ArrayList<>();
+        collectTracks(Main.sun, secBody, others);
+
+        listApproaches.getItems().setAll("Searching " + others.size() + " bodies...");
+        CompletableFuture.supplyAsync(() -> CloseApproachSearch.findClosestApproaches(track, others))
+                .thenAcceptAsync(approaches -> {
+                    if(selectedCelestial != secBody) return;
+                    DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+                    listApproaches.getItems().clear();
+                    for(CloseApproachSearch.CloseApproach approach: approaches) {
+                        listApproaches.getItems().add(String.format("%-12s %s  %,.0f km  %.3f km/s%s",
+                                approach.getOtherTrack().getName(), approach.getDateTime().format(format),
+                                approach.getDistanceKm(), approach.getRelativeSpeedKmS(),
+                                approach.isAtBoundary() ? "  (range edge)" : ""));
+                    }
+                    if(approaches.isEmpty())
+                        listApproaches.getItems().add("No other body shares the date-times of " + secBody.getName());
+                }, Platform::runLater).exceptionally(e -> {
+                    Throwable cause = e.getCause() == null ? e : e.getCause();
+                    System.err.println("Close approach search of " + secBody.getName() + " failed: " + cause);
+                    Platform.runLater(() -> {
+                        if(selectedCelestial == secBody)
+                            listApproaches.getItems().setAll("Search failed: " + cause.getMessage());
+                    });
+                    return null;
+                });
+    }
+
+    /**
+     * Collects the tracks of every body orbiting a {@code PrimaryBody}, and of the bodies
+     * orbiting them in turn. Walking down from the {@code Sun} only reaches bodies on stage.
+     * @param primary The body to start from
+     * @param exclude A body whose track is left out
+     * @param tracks Filled with the tracks of the bodies that have ephemeris
+     */
+    private static void collectTracks(PrimaryBody primary, SecondaryBody exclude, ArrayList<EphemerisTrack> tracks) {
+        for(SecondaryBody body: primary.getSecondaryBodies()) {
+            if(body != exclude) {
+                EphemerisTrack track = body.getEphemerisTrack();
+                if(track != null) tracks.add(track);
+            }
+            collectTracks(body, exclude, tracks);
+        }
+    }
+
     /**
      * Input check for the date-time range in the ephemeris query. Ensures
      * {@code dateStart} is before {@code dateStop}, and limit is not exceeded.
@@ -461,6 +629,14 @@ public final class PlanetViewer {
         return startDateTime.until(stopDateTime, units);
     }
 
+    /**
+     * Displays the latest frame time summary of the {@link PlaybackEngine}
+     * @param report The frame time summary
+     */
+    public static void setFrameReport(String report) {
+        lblFrameTime.setText(report);
+    }
+
     public static boolean isHideOrbitGlobalSelected() {
         return checkHideOrbitGlobal.isSelected();
     }
@@ -505,6 +681,12 @@ public final class PlanetViewer {
         lblSideRealDayHr.setStyle(labelStyle);
         lblObliquityToOrbit.setStyle(labelStyle);
         lblRadius.setStyle(labelStyle);
+        lblFrameTime.setStyle(labelStyle);
+        listApproaches.setStyle(controlStyle);
+        lblLoadStatus.setStyle(labelStyle);
+        listLoadQueue.setStyle(controlStyle);
+        moonPicker.setStyle(controlStyle);
+        spacecraftPicker.setStyle(controlStyle);
 
         // Apply to DatePickers
         dateEphemStart.setStyle(controlStyle);
@@ -516,20 +698,25 @@ public final class PlanetViewer {
         hourEphemStop.setStyle(controlStyle);
         minEphemStop.setStyle(controlStyle);
         stepEphem.setStyle(controlStyle);
+        speedPlayback.setStyle(controlStyle);
 
         // Apply to Buttons
         btnQueryEphem.setStyle(buttonStyle);
         btnCopyEphem.setStyle(buttonStyle);
         btnSelectPrimary.setStyle(buttonStyle);
+        btnPlayback.setStyle(buttonStyle);
+        btnFindApproaches.setStyle(buttonStyle);
 
         // Apply to CheckBoxes
         checkEphemFrozen.setStyle(checkboxStyle);
         checkDisableOrbitSelected.setStyle(checkboxStyle);
         checkHideOrbitGlobal.setStyle(checkboxStyle);
+        checkOrbitPath3D.setStyle(checkboxStyle);
+        checkExtrapolate.setStyle(checkboxStyle);
 
         // Apply to GridPanes and TabPane
         queryCelestialGridPane.setStyle(gridpaneStyle);
-        querySpacecraftGridPane.setStyle(gridpaneStyle);
+        spacecraftPicker.getRoot().setStyle(gridpaneStyle);
         tabPane.setStyle(tabpaneStyle);
         selectedCelestialTab.setStyle(tabStyle);
         queryCelestialTab.setStyle(tabStyle);
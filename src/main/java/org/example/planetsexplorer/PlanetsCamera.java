@@ -1,17 +1,22 @@
 package org.example.planetsexplorer;
 
+import javafx.application.Platform;
 import javafx.geometry.Point2D;
 import javafx.geometry.Point3D;
 import javafx.scene.Group;
 import javafx.scene.PerspectiveCamera;
 import javafx.scene.Scene;
 import javafx.scene.SubScene;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Line;
+import javafx.scene.shape.Cylinder;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Translate;
 import org.example.planetsexplorer.celestial.Celestial;
 import org.example.planetsexplorer.celestial.SecondaryBody;
+import org.example.planetsexplorer.celestial.SphereLevelOfDetail;
+import org.example.planetsexplorer.celestial.ViewSettings;
+import org.example.planetsexplorer.metrics.Metrics;
+
+import java.util.ArrayList;
 
 /**
  * The camera used to navigate throughout the 3D scene. {@code PlanetsCamera}
@@ -55,19 +60,10 @@ public final class PlanetsCamera {
     private static double diffZ = 0;
 
     /**
-     * The starting color in the orbit path gradient.
-     */
-    private static final Color startColor = Color.BLUE;
-
-    /**
-     * The middle color in the orbit path gradient.
-     */
-    private static final Color midColor = Color.YELLOW;
-
-    /**
-     * The ending color in the orbit path gradient.
+     * The 3D {@code SubScene} the camera renders into. Its size is the viewport
+     * used when projecting scene coordinates onto the screen.
      */
-    private static final Color endColor = Color.RED;
+    private static SubScene subScene;
 
     /**
      * The maximum distance the camera will render 3D objects.
@@ -95,6 +91,46 @@ public final class PlanetsCamera {
      */
     private static final int minZoomIncrement = 1000;
 
+    /**
+     * The rotation about the X-axis accumulated from key presses since the last pulse
+     */
+    private static double pendingRotateX = 0;
+
+    /**
+     * The rotation about the Y-axis accumulated from key presses since the last pulse
+     */
+    private static double pendingRotateY = 0;
+
+    /**
+     * The zoom accumulated from key presses since the last pulse
+     */
+    private static double pendingZoom = 0;
+
+    /**
+     * The ephemeris steps accumulated from O/P key presses since the last pulse
+     */
+    private static int pendingEphemerisSteps = 0;
+
+    /**
+     * {@code true} if the camera should zoom onto the selected {@code Celestial} next pulse
+     */
+    private static boolean pendingFocus = false;
+
+    /**
+     * {@code true} if an ephemeris update is scheduled for the next pulse
+     */
+    private static boolean updateEphemerisPending = false;
+
+    /**
+     * {@code true} if a camera UI update is scheduled for the next pulse
+     */
+    private static boolean updateUIPending = false;
+
+    /**
+     * The point clouds whose squares are turned to face the camera on every camera UI update
+     */
+    private static final ArrayList<PointCloud> pointClouds = new ArrayList<>();
+
     /**
      * Don't let this class be instantiated
      */
@@ -113,94 +149,131 @@ public final class PlanetsCamera {
         camera.getTransforms().addAll(rotateX, rotateY, rotateZ, translate);
         updateNearClip();
 
+        subScene = scene3D;
         scene3D.setCamera(camera);
         rootScene3D.getChildren().add(camera);
     }
 
     /**
-     * Only called once to initialize the keypress events of a given scene.
+     * Only called once to initialize the keypress events of a given scene. Key presses
+     * only accumulate their deltas; the deltas are applied once per JavaFX pulse so that
+     * key-repeat events never queue up more than one update.
      *
      * @param mainScene The scene from which keypress events will be read.
+     * @see PlanetsCamera#applyPendingInput()
      */
     private static void initializeKeyEvents(Scene mainScene) {
         mainScene.setOnKeyPressed((e) -> {
-            // Only update the Z position of the camera when O/P are pressed
-            boolean updateZ = false; // Initially false, set to true if O/P are pressed
             switch (e.getCode()) {
-                case W -> rotateX.setAngle(rotateX.getAngle() + angleIncrement);
-                case S -> rotateX.setAngle(rotateX.getAngle() - angleIncrement);
-                case A -> rotateY.setAngle(rotateY.getAngle() + angleIncrement);
-                case D -> rotateY.setAngle(rotateY.getAngle() - angleIncrement);
-
-                case Q -> {
-                    translate.setZ(translate.getZ() + maxZoomIncrement);
-                    updateNearClip();
-                }
-                case E -> {
-                    translate.setZ(translate.getZ() - maxZoomIncrement);
-                    updateNearClip();
-                }
-                case Z -> {
-                    translate.setZ(translate.getZ() + minZoomIncrement);
-                    updateNearClip();
-                }
-                case X -> {
-                    translate.setZ(translate.getZ() - minZoomIncrement);
-                    updateNearClip();
-                }
+                case W -> pendingRotateX += angleIncrement;
+                case S -> pendingRotateX -= angleIncrement;
+                case A -> pendingRotateY += angleIncrement;
+                case D -> pendingRotateY -= angleIncrement;
+
+                case Q -> pendingZoom += maxZoomIncrement;
+                case E -> pendingZoom -= maxZoomIncrement;
+                case Z -> pendingZoom += minZoomIncrement;
+                case X -> pendingZoom -= minZoomIncrement;
 
                 case C -> PlanetViewer.selectedCelestial = null;
 
                 case SPACE -> {
-                    // Zoom the camera into the selectedCelestial, and then zoom it out a bit so that
-                    // the camera doesn't clip into the shape
-                    if(PlanetViewer.selectedCelestial != null) {
-                        Point3D point = PlanetViewer.selectedCelestial.getSceneCoordinates();
-                        translate.setZ(point.getZ() - PlanetViewer.selectedCelestial.getShape().getRadius()*5);
-                        updateNearClip();
-                    }
-                }
-
-                case P -> {
-                    HorizonSystem.ephemerisIndex = HorizonSystem.ephemerisIndex + 1;
-                    updateZ = true;
+                    // Focusing sets the zoom outright, so earlier zoom deltas no longer apply
+                    pendingFocus = true;
+                    pendingZoom = 0;
                 }
 
-                case O -> {
-                    if(HorizonSystem.ephemerisIndex > 0) {
-                        HorizonSystem.ephemerisIndex = HorizonSystem.ephemerisIndex - 1;
-                        updateZ = true;
-                    }
-                }
+                case P -> pendingEphemerisSteps++;
+                case O -> pendingEphemerisSteps--;
             }
 
-            // Only call this method if O/P were pressed
-            if(updateZ) updateEphemeris();
-            updateCameraUI();
+            updateUIPending = true;
+            Platform.requestNextPulse();
         });
+
+        mainScene.addPreLayoutPulseListener(PlanetsCamera::applyPendingInput);
+    }
+
+    /**
+     * Schedules an ephemeris and camera UI update for the next JavaFX pulse. Several
+     * requests within the same pulse result in a single update.
+     */
+    public static void requestEphemerisUpdate() {
+        updateEphemerisPending = true;
+        updateUIPending = true;
+        Platform.requestNextPulse();
+    }
+
+    /**
+     * Applies all input accumulated since the previous pulse, then runs at most one
+     * ephemeris update and one camera UI update. Called once per pulse before layout.
+     *
+     * <p> The duration of the whole update, and of both of its parts, is recorded in the
+     * {@link Metrics}.
+     */
+    private static void applyPendingInput() {
+        if(!updateUIPending) return;
+        long updateStart = System.nanoTime();
+
+        if(pendingRotateX != 0) rotateX.setAngle(rotateX.getAngle() + pendingRotateX);
+        if(pendingRotateY != 0) rotateY.setAngle(rotateY.getAngle() + pendingRotateY);
+
+        // Zoom the camera into the selectedCelestial, and then zoom it out a bit so that
+        // the camera doesn't clip into the shape
+        if(pendingFocus && PlanetViewer.selectedCelestial != null) {
+            Point3D point = PlanetViewer.selectedCelestial.getSceneCoordinates();
+            translate.setZ(point.getZ() - PlanetViewer.selectedCelestial.getShape().getRadius()*5);
+        }
+        if(pendingZoom != 0) translate.setZ(translate.getZ() + pendingZoom);
+        if(pendingFocus || pendingZoom != 0) updateNearClip();
+
+        // Only update the ephemeris if O/P moved the index
+        if(pendingEphemerisSteps != 0) {
+            int newIndex = Math.max(0, HorizonSystem.ephemerisIndex + pendingEphemerisSteps);
+            if(newIndex != HorizonSystem.ephemerisIndex) {
+                HorizonSystem.ephemerisIndex = newIndex;
+                updateEphemerisPending = true;
+            }
+        }
+
+        pendingRotateX = 0;
+        pendingRotateY = 0;
+        pendingZoom = 0;
+        pendingFocus = false;
+        pendingEphemerisSteps = 0;
+
+        if(updateEphemerisPending) updateEphemeris();
+        updateCameraUI();
+        updateEphemerisPending = false;
+        updateUIPending = false;
+
+        long frameNanos = System.nanoTime() - updateStart;
+        PlaybackEngine.recordFrameTime(frameNanos);
+        Metrics.getPulseTimes().record(frameNanos);
     }
 
     /**
      * Iterates through each {@link Celestial} and updates their ephemeris index
-     * to match the {@link HorizonSystem} index.
+     * to match the {@link HorizonSystem} index, then solves every position in one pass.
      *
+     * @see WorldPositionSolver
      * @see PlanetViewer#selectedCelestial
      */
     public static void updateEphemeris() {
+        long updateStart = System.nanoTime();
+
         // Save distance between camera and selectedCelestial before moving Celestial
         if(PlanetViewer.selectedCelestial != null) {
             Point3D pos = PlanetViewer.selectedCelestial.getShape().localToScene(Point3D.ZERO);
             diffZ = pos.getZ() - translate.getZ();
         }
 
-        // Moving all celestials if they are SecondaryBody and not frozen
+        // Advance every SecondaryBody that isn't frozen, then move all of them parent-first
         for(Celestial celestial: Celestial.celestialArrayList) {
-            if(celestial instanceof SecondaryBody secBody && !secBody.getEphemerisData().isEmpty()) {
-                if(!secBody.isEphemerisFrozen())
-                    secBody.setEphemerisIndex(HorizonSystem.ephemerisIndex);
-                secBody.updateEphemerisPosition(true);
-            }
+            if(celestial instanceof SecondaryBody secBody && !secBody.isEphemerisFrozen())
+                secBody.setEphemerisIndex(HorizonSystem.ephemerisIndex);
         }
+        WorldPositionSolver.solve(true);
 
         // After selectedCelestial is moved, update camera's position
         // Maintains the original diffZ from before Celestial was moved
@@ -211,18 +284,105 @@ public final class PlanetsCamera {
             translate.setZ(pos.getZ() - diffZ);
             updateNearClip();
         }
+        Metrics.getEphemerisUpdateTimes().record(System.nanoTime() - updateStart);
     }
 
     /**
-     * Updates the 2D overlay elements associated with each {@code Celestial}
+     * Updates the 2D overlay elements associated with each {@code Celestial}. The orbit
+     * rings are projected in parallel against a snapshot of the camera, unless orbits are
+     * drawn as 3D paths.
+     *
+     * <p> Bodies and orbits outside the camera's view frustum are culled first: their
+     * nodes are hidden, and their label layout, level of detail and orbit ring are skipped,
+     * so the cost of an update follows what is on screen rather than what is loaded. Labels
+     * that overlap a label of higher priority are then hidden.
+     *
+     * @see OrbitRingProjector
+     * @see LabelDeclutter
+     * @see CameraSnapshot#isSphereInView(double, double, double, double)
      */
     public static void updateCameraUI() {
+        long updateStart = System.nanoTime();
+        CameraSnapshot snapshot = takeSnapshot();
+        ArrayList<SecondaryBody> ringBodies = new ArrayList<>();
+        ArrayList<Celestial> labelled = new ArrayList<>();
         for(Celestial celestial: Celestial.celestialArrayList) {
-            updateCelestialUI(celestial);
-            updateOrbitRing(celestial);
+            updateCulling(celestial, snapshot);
+            if(celestial.isInView()) {
+                updateCelestialUI(celestial);
+                updateLevelOfDetail(celestial, snapshot);
+                labelled.add(celestial);
+            }
+
+            if(celestial instanceof SecondaryBody body) {
+                if(body.isOrbitInView() && !ViewSettings.isOrbitPath3D())
+                    ringBodies.add(body);
+                else
+                    // Culled rings, and rings replaced by 3D orbit paths, are left empty
+                    body.getOrbitRing().getChildren().clear();
+            }
+        }
+
+        LabelDeclutter.placeLabels(labelled, subScene.getWidth(), subScene.getHeight());
+        OrbitRingProjector.updateOrbitRings(ringBodies, snapshot, PlanetViewer.isHideOrbitGlobalSelected());
+
+        for(PointCloud pointCloud: pointClouds)
+            pointCloud.update(snapshot);
+        Metrics.getCameraUIUpdateTimes().record(System.nanoTime() - updateStart);
+    }
+
+    /**
+     * Adds a {@code PointCloud} to the 3D scene and keeps it facing the camera.
+     * @param pointCloud The point cloud to be shown
+     */
+    public static void addPointCloud(PointCloud pointCloud) {
+        if(pointClouds.contains(pointCloud)) return;
+        pointClouds.add(pointCloud);
+        Main.rootScene3D.getChildren().add(pointCloud.getMeshView());
+        pointCloud.update(takeSnapshot());
+    }
+
+    /**
+     * Removes a {@code PointCloud} from the 3D scene.
+     * @param pointCloud The point cloud to be removed
+     */
+    public static void removePointCloud(PointCloud pointCloud) {
+        pointClouds.remove(pointCloud);
+        Main.rootScene3D.getChildren().remove(pointCloud.getMeshView());
+    }
+
+    /**
+     * Tests a given {@code Celestial}'s shape, and for a {@code SecondaryBody} its vector
+     * cylinders and orbit, against the camera's view frustum, and hides what is out of view.
+     * @param celestial The {@code Celestial} to be culled
+     * @param snapshot The camera projection
+     */
+    private static void updateCulling(Celestial celestial, CameraSnapshot snapshot) {
+        Point3D position = celestial.getSceneCoordinates();
+        celestial.setInView(snapshot.isSphereInView(position.getX(), position.getY(), position.getZ(),
+                celestial.getShape().getRadius()));
+
+        if(celestial instanceof SecondaryBody body) {
+            updateCylinderCulling(body.getPrimaryConnection(), body.getPrimaryConnectionLength(), snapshot);
+            updateCylinderCulling(body.getVelocityVector(), body.getVelocityVectorLength(), snapshot);
+
+            Point3D primaryPoint = body.getPrimaryBody().getSceneCoordinates();
+            body.setOrbitInView(snapshot.isSphereInView(primaryPoint.getX(), primaryPoint.getY(),
+                    primaryPoint.getZ(), body.getOrbitBoundingRadius()));
         }
     }
 
+    /**
+     * Hides a connection cylinder if the sphere around its length is out of view.
+     * @param cylinder The cylinder to be culled
+     * @param length The length of the cylinder, stretched by its transform
+     * @param snapshot The camera projection
+     */
+    private static void updateCylinderCulling(Cylinder cylinder, double length, CameraSnapshot snapshot) {
+        cylinder.setVisible(snapshot.isSphereInView(cylinder.getTranslateX(), cylinder.getTranslateY(),
+                cylinder.getTranslateZ(), length / 2 + cylinder.getRadius()));
+    }
+
     /**
      * Updates the 2D UI elements associated with a given {@code Celestial}
      * @param celestial The {@code Celestial} whose UI elements are to be updated.
@@ -234,87 +394,28 @@ public final class PlanetsCamera {
     }
 
     /**
-     * Updates a given {@code Celestial} 2D overlay orbit visualization
-     * @param celestial The celestial whose orbit ring is to be updated.
+     * Picks the sphere divisions of a given {@code Celestial} from its projected size.
+     * @param celestial The {@code Celestial} whose shape detail is to be updated.
+     * @param snapshot The camera projection
+     * @see SphereLevelOfDetail
      */
-    private static void updateOrbitRing(Celestial celestial) {
-        if(celestial instanceof SecondaryBody body) {
-            // Reset the ring visualization
-            body.getOrbitRing().getChildren().clear();
-
-            int totalSegments = body.getEphemerisData().size();
-            int midSegment = totalSegments / 2;
-            int originalIndex = body.getEphemerisIndex();
-
-            // Initialize the first point of the orbit ring
-            body.setEphemerisIndex(0);
-            body.updateEphemerisPosition(false);
-            Point2D currPointScreen = body.getScreenCoordinates();
-            Point3D currPointScene = body.getSceneCoordinates();
-
-            // Iterate through each point in the ephemeris
-            for(int i=1; i < totalSegments; i++) {
-                body.setEphemerisIndex(i);
-                body.updateEphemerisPosition(false);
-
-                Point2D nextPointScreen = body.getScreenCoordinates();
-                Point3D cameraPointScene = PlanetsCamera.camera.localToScene(Point3D.ZERO);
-                Point3D primaryPointScene = body.getPrimaryBody().getSceneCoordinates();
-                Point3D nextPointScene = body.getSceneCoordinates();
-
-                // If camera is close to body, hide its orbit ring
-                if(cameraPointScene.distance(currPointScene) < 2 * body.getOrbitDistance()) {
-                    currPointScreen = nextPointScreen;
-                    currPointScene = nextPointScene;
-                    continue;
-                }
-
-                if(PlanetViewer.isHideOrbitGlobalSelected()) {
-                    // If segment is further away from the camera than the celestialObject it's modelling, hide that segment
-                    if(cameraPointScene.distance(nextPointScene) > cameraPointScene.distance(primaryPointScene) + (body.getOrbitDistance() / 2) ||
-                            cameraPointScene.distance(currPointScene) > cameraPointScene.distance(primaryPointScene) + (body.getOrbitDistance() / 2)) {
-                        currPointScreen = nextPointScreen;
-                        currPointScene = nextPointScene;
-                        continue;
-                    }
-                }
-
-                Line segment = new Line(currPointScreen.getX(), currPointScreen.getY(),
-                        nextPointScreen.getX(), nextPointScreen.getY());
-                double ratio; // Determining the mix of two gradient colors
-                if (i <= midSegment) {
-                    ratio = (double) i / midSegment;
-                    segment.setStroke(mixColors(startColor, midColor, ratio));
-                } else {
-                    ratio = (double) (i - midSegment) / (totalSegments - midSegment);
-                    segment.setStroke(mixColors(midColor, endColor, ratio));
-                }
-
-                segment.setOpacity(1 - ((double) i / totalSegments));
-                segment.setStrokeWidth(5);
-                body.getOrbitRing().getChildren().add(segment);
-
-                currPointScreen = nextPointScreen;
-                currPointScene = nextPointScene;
-            }
-
-            body.setEphemerisIndex(originalIndex);
-            body.updateEphemerisPosition(true);
-        }
+    private static void updateLevelOfDetail(Celestial celestial, CameraSnapshot snapshot) {
+        Point3D position = celestial.getSceneCoordinates();
+        double radiusPx = snapshot.projectedRadius(position.getX(), position.getY(), position.getZ(),
+                celestial.getShape().getRadius());
+        celestial.setShapeDivisions(
+                SphereLevelOfDetail.divisionsFor(radiusPx, celestial.getShape().getDivisions()));
     }
 
     /**
-     * Returns the fractional mix of two colors
-     * @param start The starting colour
-     * @param end The color being mixed in
-     * @param ratio The fractional mix of the two colors
-     * @return The mix of start and end colors
+     * Copies the camera's current projection so that it can be used off the JavaFX
+     * Application Thread.
+     * @return An immutable snapshot of the camera's projection
      */
-    private static Color mixColors(Color start, Color end, double ratio) {
-        double r = start.getRed() + (end.getRed() - start.getRed()) * ratio;
-        double g = start.getGreen() + (end.getGreen() - start.getGreen()) * ratio;
-        double b = start.getBlue() + (end.getBlue() - start.getBlue()) * ratio;
-        return new Color(r, g, b, 1.0);
+    public static CameraSnapshot takeSnapshot() {
+        return new CameraSnapshot(camera.getLocalToSceneTransform(), camera.getFieldOfView(),
+                camera.isVerticalFieldOfView(), subScene.getWidth(), subScene.getHeight(),
+                camera.getNearClip(), camera.getFarClip());
     }
 
     /**
@@ -328,6 +429,15 @@ public final class PlanetsCamera {
         translate.setY(y);
     }
 
+    /**
+     * Updates the Z zoom of the camera independently of its X/Y translation.
+     * @param z The Z translate of the camera
+     */
+    public static void updateZoom(double z) {
+        translate.setZ(z);
+        updateNearClip();
+    }
+
     public static void updatePivot(Point3D pivot) {
         rotateX.setPivotX(pivot.getX());
         rotateX.setPivotY(pivot.getY());
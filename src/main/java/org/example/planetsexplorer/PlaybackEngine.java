@@ -0,0 +1,253 @@
+package org.example.planetsexplorer;
+
+import javafx.animation.AnimationTimer;
+import org.example.planetsexplorer.celestial.Celestial;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+
+/**
+ * Advances the displayed ephemeris automatically, driven by an {@link AnimationTimer}.
+ *
+ * <p> A simulation clock, measured in ephemeris steps, advances at a fixed timestep
+ * scaled by the playback speed. When the clock reaches a new ephemeris index, an update is
+ * requested through {@link PlanetsCamera#requestEphemerisUpdate()}, which coalesces it with
+ * any key input into one update per pulse. If an update takes longer than
+ * the frame budget of the target frame rate, the following pulses are skipped while the
+ * clock keeps running, so playback holds its pace by dropping frames instead of slowing down.
+ *
+ * <p> The duration of every update is recorded so the frame time can be reported in
+ * {@link PlanetViewer}.
+ */
+public final class PlaybackEngine {
+    /**
+     * The fixed simulation timestep in nanoseconds
+     */
+    private static final long fixedTimestepNanos = 1_000_000_000L / 60;
+
+    /**
+     * The largest wall-clock gap a single pulse may advance the simulation by. Prevents
+     * a long stall, like a window drag, from fast-forwarding the playback.
+     */
+    private static final long maxPulseNanos = 250_000_000L;
+
+    /**
+     * The frame rate the engine tries to hold by skipping pulses
+     */
+    private static final int targetFrameRate = 60;
+
+    /**
+     * The number of frame times kept for the rolling statistics
+     */
+    private static final int frameWindow = 120;
+
+    /**
+     * The durations in nanoseconds of the most recent updates
+     */
+    private static final long[] frameTimes = new long[frameWindow];
+
+    /**
+     * The duration in nanoseconds of the most recent update
+     */
+    private static long lastFrameNanos = 0;
+
+    /**
+     * The number of updates recorded in {@code frameTimes}, capped at {@code frameWindow}
+     */
+    private static int frameCount = 0;
+
+    /**
+     * The index in {@code frameTimes} the next update is recorded at
+     */
+    private static int frameCursor = 0;
+
+    /**
+     * The playback speed in ephemeris steps per second of wall-clock time
+     */
+    private static double stepsPerSecond = 1;
+
+    /**
+     * The simulation clock, measured in ephemeris steps
+     */
+    private static double simulationClock = 0;
+
+    /**
+     * The wall-clock time not yet consumed by fixed timesteps
+     */
+    private static long accumulatorNanos = 0;
+
+    /**
+     * The timestamp of the previous pulse, or {@code -1} before the first pulse
+     */
+    private static long lastPulseNanos = -1;
+
+    /**
+     * The number of upcoming pulses to skip because the last update overran the frame budget
+     */
+    private static int pulsesToSkip = 0;
+
+    /**
+     * The ephemeris index that was last displayed by this engine
+     */
+    private static int appliedIndex = 0;
+
+    /**
+     * The timestamp at which the frame report was last shown in {@link PlanetViewer}
+     */
+    private static long lastReportNanos = 0;
+
+    /**
+     * The interval between frame reports in nanoseconds
+     */
+    private static final long reportIntervalNanos = 1_000_000_000L;
+
+    /**
+     * {@code true} while playback is running
+     */
+    private static boolean playing = false;
+
+    /**
+     * The timer that calls {@link PlaybackEngine#pulse(long)} once per JavaFX pulse
+     */
+    private static final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            pulse(now);
+        }
+    };
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private PlaybackEngine() {}
+
+    /**
+     * Starts playback from the currently displayed ephemeris index.
+     */
+    public static void play() {
+        if(playing) return;
+        simulationClock = HorizonSystem.ephemerisIndex;
+        appliedIndex = HorizonSystem.ephemerisIndex;
+        accumulatorNanos = 0;
+        lastPulseNanos = -1;
+        pulsesToSkip = 0;
+        playing = true;
+        timer.start();
+    }
+
+    /**
+     * Pauses playback, leaving the current ephemeris index displayed.
+     */
+    public static void pause() {
+        playing = false;
+        timer.stop();
+    }
+
+    public static boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Sets the playback speed.
+     * @param speed The number of ephemeris steps to advance per second
+     */
+    public static void setStepsPerSecond(double speed) {
+        stepsPerSecond = Math.max(0, speed);
+    }
+
+    public static double getStepsPerSecond() {
+        return stepsPerSecond;
+    }
+
+    /**
+     * Advances the simulation clock by whole fixed timesteps and, at most once, requests
+     * an update of the scene to the clock's ephemeris index.
+     * @param now The timestamp of the current pulse in nanoseconds
+     */
+    private static void pulse(long now) {
+        if(lastPulseNanos < 0) lastPulseNanos = now;
+        accumulatorNanos += Math.min(now - lastPulseNanos, maxPulseNanos);
+        lastPulseNanos = now;
+
+        // Respect changes made to the index outside playback, like the O/P keys
+        if(HorizonSystem.ephemerisIndex != appliedIndex) {
+            simulationClock = HorizonSystem.ephemerisIndex;
+            appliedIndex = HorizonSystem.ephemerisIndex;
+        }
+
+        double stepPerTimestep = stepsPerSecond * fixedTimestepNanos / 1e9;
+        while(accumulatorNanos >= fixedTimestepNanos) {
+            simulationClock += stepPerTimestep;
+            accumulatorNanos -= fixedTimestepNanos;
+        }
+
+        if(pulsesToSkip > 0) {
+            pulsesToSkip--;
+            return;
+        }
+
+        int index = (int) simulationClock;
+        if(index == appliedIndex) return;
+
+        // Skip as many pulses as the previous update overran the frame budget by
+        pulsesToSkip = (int) (lastFrameNanos / (1_000_000_000L / targetFrameRate));
+
+        // The update itself runs later in this pulse, together with any pending key input
+        HorizonSystem.ephemerisIndex = index;
+        appliedIndex = index;
+        PlanetsCamera.requestEphemerisUpdate();
+
+        if(now - lastReportNanos >= reportIntervalNanos) {
+            PlanetViewer.setFrameReport(getFrameReport());
+            lastReportNanos = now;
+        }
+    }
+
+    /**
+     * Records the duration of a single scene update. Called by {@link PlanetsCamera}
+     * after each pulse's update.
+     * @param nanos The duration of the update in nanoseconds
+     */
+    public static void recordFrameTime(long nanos) {
+        lastFrameNanos = nanos;
+        frameTimes[frameCursor] = nanos;
+        frameCursor = (frameCursor + 1) % frameWindow;
+        frameCount = Math.min(frameCount + 1, frameWindow);
+    }
+
+    /**
+     * Returns the mean duration of the recent scene updates.
+     * @return The mean frame time in milliseconds, or {@code 0} if nothing has been recorded
+     */
+    public static double getMeanFrameMillis() {
+        if(frameCount == 0) return 0;
+        long total = 0;
+        for(int i=0; i < frameCount; i++) total += frameTimes[i];
+        return total / (frameCount * 1e6);
+    }
+
+    /**
+     * Returns the longest duration of the recent scene updates.
+     * @return The maximum frame time in milliseconds, or {@code 0} if nothing has been recorded
+     */
+    public static double getMaxFrameMillis() {
+        long max = 0;
+        for(int i=0; i < frameCount; i++) max = Math.max(max, frameTimes[i]);
+        return max / 1e6;
+    }
+
+    /**
+     * Returns a one-line summary of the recent frame times, the number of animated bodies,
+     * and how much of the frame budget at the target frame rate the updates use.
+     * @return The frame time summary
+     */
+    public static String getFrameReport() {
+        int bodies = 0;
+        for(Celestial celestial: Celestial.celestialArrayList)
+            if(celestial instanceof SecondaryBody secBody && !secBody.getEphemerisData().isEmpty())
+                bodies++;
+
+        double budgetMillis = 1000.0 / targetFrameRate;
+        return String.format("Frame: %.2f ms avg, %.2f ms max, %d bodies (%.0f%% of %d fps budget)",
+                getMeanFrameMillis(), getMaxFrameMillis(), bodies,
+                100 * getMeanFrameMillis() / budgetMillis, targetFrameRate);
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.planetsexplorer;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import org.example.planetsexplorer.celestial.MaterialCache;
+
+/**
+ * Draws a large number of small bodies as camera-facing squares in a single
+ * {@code TriangleMesh}, instead of a {@code Sphere}, {@code Cylinder}s and a label per body.
+ *
+ * <p> Positions are written by the caller into a shared primitive buffer, packed as
+ * {@code (x, y, z)} scene coordinates. Each {@link PointCloud#update(CameraSnapshot)}
+ * turns the buffer into the mesh's vertices in one bulk copy, sizing every square so it
+ * covers the same number of pixels at any distance. The faces and texture coordinates only
+ * change when the number of points does.
+ *
+ * <p> This is a prototype: no part of the explorer draws its bodies through it yet. Only the
+ * stress scene of the benchmarks module uses it, to measure how many point bodies a frame can move.
+ *
+ * @see PlanetsCamera#addPointCloud(PointCloud)
+ */
+public final class PointCloud {
+    /**
+     * The number of floats per vertex, and per point in the position buffer
+     */
+    private static final int coordinates = 3;
+
+    /**
+     * The number of vertices in the square drawn for every point
+     */
+    private static final int verticesPerPoint = 4;
+
+    /**
+     * The number of face indices per point: two triangles of three (vertex, texCoord) pairs
+     */
+    private static final int faceIndicesPerPoint = 12;
+
+    /**
+     * The shared position buffer, packed as {@code (x, y, z)} scene coordinates
+     */
+    private final float[] positions;
+
+    /**
+     * The vertices of every square, reused between updates
+     */
+    private final float[] vertices;
+
+    /**
+     * The mesh holding every square
+     */
+    private final TriangleMesh mesh = new TriangleMesh();
+
+    /**
+     * The node that displays the mesh
+     */
+    private final MeshView meshView = new MeshView(mesh);
+
+    /**
+     * The number of points drawn, at most the capacity of the buffer
+     */
+    private int count = 0;
+
+    /**
+     * The width of every square in pixels
+     */
+    private double pointSize = 3;
+
+    /**
+     * Constructs an empty {@code PointCloud}.
+     *
+     * @param capacity The largest number of points the cloud can draw
+     * @param color The color every point is drawn with
+     */
+    public PointCloud(int capacity, Color color) {
+        this.positions = new float[capacity * coordinates];
+        this.vertices = new float[capacity * verticesPerPoint * coordinates];
+
+        // Every point samples the same texel of a solid color texture
+        this.mesh.getTexCoords().addAll(0.5f, 0.5f);
+
+        this.meshView.setMaterial(MaterialCache.getSelfIlluminatedMaterial(color));
+        this.meshView.setCullFace(CullFace.NONE);
+        this.meshView.setMouseTransparent(true);
+    }
+
+    /**
+     * Returns the shared position buffer. The first {@code getCount()} points are drawn at
+     * the next update.
+     * @return The positions, packed as {@code (x, y, z)} scene coordinates
+     */
+    public float[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Sets the number of points to draw, rebuilding the faces if it changed.
+     * @param count The number of points, clamped to the capacity of the buffer
+     */
+    public void setCount(int count) {
+        count = Math.max(0, Math.min(count, positions.length / coordinates));
+        if(this.count == count) return;
+        this.count = count;
+
+        int[] faces = new int[count * faceIndicesPerPoint];
+        for(int i=0; i < count; i++) {
+            int v = i * verticesPerPoint;
+            int f = i * faceIndicesPerPoint;
+            faces[f] = v;          faces[f + 2] = v + 1;  faces[f + 4] = v + 2;
+            faces[f + 6] = v;      faces[f + 8] = v + 2;  faces[f + 10] = v + 3;
+        }
+
+        this.mesh.getPoints().setAll(this.vertices, 0, count * verticesPerPoint * coordinates);
+        this.mesh.getFaces().setAll(faces);
+    }
+
+    /**
+     * Rebuilds the squares from the position buffer so they face the camera and keep a
+     * constant size on screen. Points behind the camera collapse to a single vertex.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param snapshot The camera projection
+     */
+    public void update(CameraSnapshot snapshot) {
+        double rightX = snapshot.getRightX(), rightY = snapshot.getRightY(), rightZ = snapshot.getRightZ();
+        double downX = snapshot.getDownX(), downY = snapshot.getDownY(), downZ = snapshot.getDownZ();
+        double halfPixels = pointSize / 2 / snapshot.getFocalLength();
+
+        for(int i=0; i < count; i++) {
+            float x = positions[i * coordinates];
+            float y = positions[i * coordinates + 1];
+            float z = positions[i * coordinates + 2];
+
+            double depth = snapshot.depth(x, y, z);
+            double half = depth > 0 ? depth * halfPixels : 0;
+            double ax = (rightX + downX) * half, ay = (rightY + downY) * half, az = (rightZ + downZ) * half;
+            double bx = (rightX - downX) * half, by = (rightY - downY) * half, bz = (rightZ - downZ) * half;
+
+            // Corners in winding order: top-left, top-right, bottom-right, bottom-left
+            int v = i * verticesPerPoint * coordinates;
+            vertices[v] = (float) (x - ax);       vertices[v + 1] = (float) (y - ay);   vertices[v + 2] = (float) (z - az);
+            vertices[v + 3] = (float) (x + bx);   vertices[v + 4] = (float) (y + by);   vertices[v + 5] = (float) (z + bz);
+            vertices[v + 6] = (float) (x + ax);   vertices[v + 7] = (float) (y + ay);   vertices[v + 8] = (float) (z + az);
+            vertices[v + 9] = (float) (x - bx);   vertices[v + 10] = (float) (y - by);  vertices[v + 11] = (float) (z - bz);
+        }
+
+        this.mesh.getPoints().set(0, this.vertices, 0, count * verticesPerPoint * coordinates);
+    }
+
+    public MeshView getMeshView() {
+        return meshView;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getPointSize() {
+        return pointSize;
+    }
+
+    public void setPointSize(double pointSize) {
+        this.pointSize = pointSize;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.planetsexplorer;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate a kind of work is started at, across all threads. Every caller reserves the
+ * next free slot, so concurrent callers are spaced out evenly rather than released in bursts.
+ *
+ * @see HorizonSystem#setMaxRequestsPerSecond(double)
+ * @see CoverageWindows
+ */
+public final class RequestLimiter {
+    /**
+     * The smallest interval between the start of two slots in nanoseconds, or {@code 0}
+     * if slots are not limited
+     */
+    private long intervalNanos;
+
+    /**
+     * The earliest time the next slot may start at
+     */
+    private long nextSlotNanos = 0;
+
+    /**
+     * Constructs a {@code RequestLimiter}.
+     * @param perSecond The largest number of slots started per second, or {@code 0} for no limit
+     */
+    public RequestLimiter(double perSecond) {
+        setMaxPerSecond(perSecond);
+    }
+
+    /**
+     * Changes the limit. Slots already reserved keep their time.
+     * @param perSecond The largest number of slots started per second, or {@code 0} for no limit
+     */
+    public synchronized void setMaxPerSecond(double perSecond) {
+        intervalNanos = perSecond > 0 ? (long) (1_000_000_000L / perSecond) : 0;
+    }
+
+    /**
+     * Waits until the limit allows another slot to start.
+     * @throws InterruptedIOException if the calling thread was interrupted while waiting
+     */
+    public void await() throws InterruptedIOException {
+        long wait;
+        synchronized (this) {
+            if(intervalNanos == 0) return;
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+            wait = slot - now;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a request slot");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.metrics.Metrics;
+
+import java.io.IOException;
+
+/**
+ * The headless entry point of the {@link EphemerisService}. Like {@link ExportLauncher}, it never
+ * starts JavaFX. To share the cache and rate limit of a running explorer instead, start the
+ * explorer with {@code --serve=<port>}, which limits its requests like a service's.
+ *
+ * <p> Run with {@code ServiceLauncher [port] [requestsPerSecond]}. The port defaults to
+ * {@code 8765} and the database rate limit to {@code 2} requests per second. The service runs
+ * until the process is stopped, and its {@link Metrics} can be watched over JMX.
+ *
+ * @see ServiceLoadClient
+ */
+public class ServiceLauncher {
+    /**
+     * The port the service listens on by default
+     */
+    public static final int defaultPort = 8765;
+
+    /**
+     * The rate limit of the database requests of a service, in requests per second
+     */
+    public static final double defaultRequestsPerSecond = 2;
+
+    /**
+     * The number of requests the service answers in parallel
+     */
+    public static final int serviceThreads = 8;
+
+    public static void main(String[] args) {
+        int port;
+        double requestsPerSecond;
+        try {
+            port = args.length > 0 ? Integer.parseInt(args[0]) : defaultPort;
+            requestsPerSecond = args.length > 1 ? Double.parseDouble(args[1]) : defaultRequestsPerSecond;
+        } catch (NumberFormatException e) {
+            System.err.println("Usage: ServiceLauncher [port] [requestsPerSecond]");
+            System.exit(2);
+            return;
+        }
+
+        HorizonSystem.setMaxRequestsPerSecond(requestsPerSecond);
+        Metrics.register();
+        try {
+            EphemerisService service = new EphemerisService(port, serviceThreads);
+            service.start();
+            System.out.println("Ephemeris service listening on http://localhost:" + service.getPort());
+        } catch (IOException e) {
+            System.err.println("Could not start the ephemeris service: " + e);
+            System.exit(1);
+        }
+    }
+}
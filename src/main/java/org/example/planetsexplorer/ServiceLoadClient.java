@@ -0,0 +1,103 @@
+package org.example.planetsexplorer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A load test for a running {@link EphemerisService}. Sends the same request from several
+ * clients at once and prints the throughput and latency percentiles.
+ *
+ * <p> Run with {@code ServiceLoadClient <url> [clients] [requests]}, for example
+ * {@code ServiceLoadClient "http://localhost:8765/ephemeris?id=399&start=2020-01-01&stop=2030-01-01&step=DAYS&format=binary" 8 400}.
+ * One request is sent before the run, so the run measures the cache, not the database. Every
+ * response body is read to the end, so streamed responses are timed until their last byte.
+ *
+ * @see ServiceLauncher
+ */
+public class ServiceLoadClient {
+    public static void main(String[] args) throws Exception {
+        if(args.length < 1) {
+            System.err.println("Usage: ServiceLoadClient <url> [clients] [requests]");
+            System.exit(2);
+        }
+        URL url = new URL(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 400;
+
+        long warmUpBytes = fetch(url);
+        System.out.println("Warm-up response: " + warmUpBytes + " bytes");
+
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        LongAdder bytes = new LongAdder();
+        LongAdder errors = new LongAdder();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        for(int i=0; i < clients; i++) {
+            executor.execute(() -> {
+                for(int request; (request = next.getAndIncrement()) < requests;) {
+                    long requestStart = System.nanoTime();
+                    try {
+                        bytes.add(fetch(url));
+                    } catch (IOException e) {
+                        errors.increment();
+                    }
+                    latencies[request] = System.nanoTime() - requestStart;
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%d requests, %d clients, %d errors, %.2f s%n", requests, clients, errors.sum(), seconds);
+        System.out.printf("%.0f requests/s, %.1f MB/s%n", requests / seconds, bytes.sum() / seconds / (1 << 20));
+        System.out.printf("latency ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[requests - 1] / 1e6);
+    }
+
+    /**
+     * Sends a request and reads its response to the end.
+     * @param url The URL of the request
+     * @return The length of the response body in bytes
+     * @throws IOException if the request failed, returned an error status, or was truncated
+     */
+    private static long fetch(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            if(connection.getResponseCode() != 200)
+                throw new IOException("HTTP " + connection.getResponseCode() + " from " + url);
+
+            long length = 0;
+            byte[] buffer = new byte[1 << 16];
+            try(InputStream in = connection.getInputStream()) {
+                for(int read; (read = in.read(buffer)) != -1;) length += read;
+            }
+            return length;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Returns a percentile of sorted latencies.
+     * @param sorted The latencies in nanoseconds, in ascending order
+     * @param fraction The percentile as a fraction
+     * @return The latency in milliseconds
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.planetsexplorer;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import org.example.planetsexplorer.celestial.CelestialInfoFacade;
+import org.example.planetsexplorer.celestial.Sun;
+import org.example.planetsexplorer.metrics.Metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs the startup phases of the explorer concurrently instead of one after another, so the
+ * 3D window is shown right away and filled in as the data arrives.
+ *
+ * <p> The independent phases start together on background threads: the
+ * {@link HorizonSystem} lookup tables and the {@link Main#sun} body info. The {@code Sun} is
+ * added to the scene as soon as its info arrives, and {@link PlanetViewer} is built once the
+ * {@code Sun} and every lookup table are ready, since its checkboxes load bodies around the
+ * {@code Sun} by name.
+ *
+ * <p> Two times are measured from {@link StartupSequence#markLaunch()}: time-to-first-frame,
+ * the first pulse after the window is shown, and time-to-interactive, when
+ * {@code PlanetViewer} is shown. Both are published with the duration of every phase in
+ * {@link Metrics#getStartupMetrics()}.
+ *
+ * @see Main#start(javafx.stage.Stage)
+ */
+public final class StartupSequence {
+    /**
+     * The database ID of the {@code Sun}
+     */
+    private static final String sunID = "10";
+
+    /**
+     * The threads the background phases run on, one per independent phase
+     */
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "Startup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The timestamp the application was launched at, or {@code 0} if it was never marked
+     */
+    private static long launchNanos = 0;
+
+    /**
+     * The time from launch to the first frame in nanoseconds, or {@code -1} until it is drawn
+     */
+    private static long firstFrameNanos = -1;
+
+    /**
+     * The time from launch to {@code PlanetViewer} being shown in nanoseconds, or {@code -1}
+     * until it is shown
+     */
+    private static long interactiveNanos = -1;
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private StartupSequence() {}
+
+    /**
+     * Records the launch timestamp the startup times are measured from. Called first thing in
+     * {@link Main#main(String[])}, before the JavaFX toolkit starts.
+     */
+    public static void markLaunch() {
+        launchNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts the background phases and measures the first frame of {@code mainScene}. Must be
+     * called on the JavaFX Application Thread, right before the window is shown.
+     *
+     * @param mainScene The scene of the 3D window
+     */
+    public static void start(Scene mainScene) {
+        if(launchNanos == 0) markLaunch();
+        measureFirstFrame(mainScene);
+
+        CompletableFuture<Void> lookupTables = CompletableFuture.runAsync(
+                () -> timed("lookup tables", () -> { HorizonSystem.initializeLookupTables(); return null; }), executor);
+        CompletableFuture<CelestialInfoFacade> sunInfo = CompletableFuture.supplyAsync(
+                () -> timed("sun info", () -> HorizonSystem.getBody(sunID)), executor);
+
+        CompletableFuture<Void> sun = sunInfo.thenAcceptAsync(StartupSequence::addSun, Platform::runLater);
+
+        CompletableFuture.allOf(lookupTables, sun).thenRunAsync(() -> {
+            PlanetViewer.initializePlanetViewer();
+            interactiveNanos = System.nanoTime() - launchNanos;
+            Metrics.getStartupMetrics().recordInteractive(interactiveNanos);
+            executor.shutdown();
+        }, Platform::runLater).exceptionally(e -> {
+            System.err.println("Startup failed: " + e);
+            executor.shutdown();
+            return null;
+        });
+    }
+
+    /**
+     * Constructs the {@code Sun} and adds it to the scene.
+     * @param sunInfo The physical parameters of the {@code Sun}
+     */
+    private static void addSun(CelestialInfoFacade sunInfo) {
+        if(sunInfo == null) throw new IllegalStateException("No body info for the Sun");
+
+        Main.sun = new Sun(sunInfo.getMeanRadKM(), sunID);
+        Main.rootScene3D.getChildren().add(Main.sun.getShape());
+        Main.sceneRoot.getChildren().add(Main.sun.getGroupUI());
+        PlanetsCamera.updateCameraUI();
+    }
+
+    /**
+     * Records the time of the first pulse of {@code mainScene}, which lays out and draws
+     * the first frame.
+     * @param mainScene The scene of the 3D window
+     */
+    private static void measureFirstFrame(Scene mainScene) {
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                firstFrameNanos = System.nanoTime() - launchNanos;
+                Metrics.getStartupMetrics().recordFirstFrame(firstFrameNanos);
+                mainScene.removePostLayoutPulseListener(this);
+            }
+        };
+        mainScene.addPostLayoutPulseListener(listener);
+    }
+
+    /**
+     * Runs a phase and records how long it took.
+     * @param phase The name of the phase
+     * @param step The work of the phase
+     * @return The result of {@code step}
+     */
+    private static <T> T timed(String phase, Supplier<T> step) {
+        long start = System.nanoTime();
+        T result = step.get();
+        Metrics.getStartupMetrics().recordPhase(phase, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Returns the time from launch to the first frame.
+     * @return The time in nanoseconds, or {@code -1} if the first frame hasn't been drawn
+     */
+    public static long getFirstFrameNanos() {
+        return firstFrameNanos;
+    }
+
+    /**
+     * Returns the time from launch to {@code PlanetViewer} being shown.
+     * @return The time in nanoseconds, or {@code -1} if startup hasn't finished
+     */
+    public static long getInteractiveNanos() {
+        return interactiveNanos;
+    }
+}
@@ -1,16 +1,29 @@
 package org.example.planetsexplorer;
 
+import java.time.temporal.ChronoUnit;
+
 public enum StepSize {
-    MINUTES("1 min"),
-    HOURS("60 min"),
-    DAYS("1d"),
-    MONTHS("1 mo"),
-    YEARS("1 year");
+    MINUTES("1 min", ChronoUnit.MINUTES),
+    HOURS("60 min", ChronoUnit.HOURS),
+    DAYS("1d", ChronoUnit.DAYS),
+    MONTHS("1 mo", ChronoUnit.MONTHS),
+    YEARS("1 year", ChronoUnit.YEARS);
 
 
     private final String abbrev;
-    StepSize(String abbrev) {
+    private final ChronoUnit unit;
+    StepSize(String abbrev, ChronoUnit unit) {
         this.abbrev = abbrev;
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the unit of time one step spans. Months and years are calendar steps, so
+     * they don't all have the same length.
+     * @return The unit of one step
+     */
+    public ChronoUnit getUnit() {
+        return unit;
     }
 
     @Override
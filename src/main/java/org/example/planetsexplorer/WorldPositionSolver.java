@@ -0,0 +1,158 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.Celestial;
+import org.example.planetsexplorer.celestial.PrimaryBody;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Computes the scene position of every {@link Celestial} from the Sun → planet → moon /
+ * spacecraft hierarchy in a single parent-first pass.
+ *
+ * <p> The hierarchy is flattened into arrays in topological order, so every
+ * {@link PrimaryBody} is solved before the bodies that orbit it. A tick reads each body's
+ * current ephemeris point from its primitive copy, or its extrapolated orbit past the end,
+ * adds it to its parent's already solved position, and only then pushes the translations to
+ * the nodes. A moon is therefore always placed relative to its planet's position in the same
+ * tick, no matter the order the bodies were created in, and no position is read back from
+ * the scene graph.
+ *
+ * <p> The flattened order is rebuilt lazily after {@link WorldPositionSolver#markDirty()},
+ * which is called whenever a body is created or changes its {@code PrimaryBody}.
+ *
+ * @see PlanetsCamera#updateEphemeris()
+ */
+public final class WorldPositionSolver {
+    /**
+     * The bodies in parent-first order
+     */
+    private static Celestial[] order = new Celestial[0];
+
+    /**
+     * For each body in {@code order}, the index of its {@code PrimaryBody} in {@code order},
+     * or {@code -1} for a root like the {@link Main#sun}
+     */
+    private static int[] parentIndex = new int[0];
+
+    /**
+     * The solved scene positions, packed as {@code (x, y, z)} triples in {@code order}
+     */
+    private static double[] world = new double[0];
+
+    /**
+     * For each body in {@code order}, {@code true} if its position was solved this tick.
+     * Bodies without ephemeris keep the position their node already has.
+     */
+    private static boolean[] solved = new boolean[0];
+
+    /**
+     * The ephemeris point of the body being solved, reused for every body
+     * @see SecondaryBody#getEphemerisPoint(int, double[])
+     */
+    private static final double[] point = new double[6];
+
+    /**
+     * {@code true} if the hierarchy changed since the order was last built
+     */
+    private static boolean dirty = true;
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private WorldPositionSolver() {}
+
+    /**
+     * Schedules a rebuild of the flattened hierarchy before the next solve.
+     */
+    public static void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Solves the scene position of every body at its current ephemeris index, then moves
+     * every body's nodes to its solved position.
+     *
+     * @param updateConnectionLine {@code true} if the displacement and velocity cylinders are
+     *                             to be updated as well
+     * @see SecondaryBody#updateEphemerisPosition(boolean)
+     */
+    public static void solve(boolean updateConnectionLine) {
+        if(dirty) rebuild();
+
+        // Compute every position parent-first from primitive data
+        for(int i=0; i < order.length; i++) {
+            int parent = parentIndex[i];
+            solved[i] = false;
+
+            if(parent >= 0 && order[i] instanceof SecondaryBody body
+                    && body.getEphemerisPoint(body.getEphemerisIndex(), point)) {
+                world[i * 3] = world[parent * 3] + point[0];
+                world[i * 3 + 1] = world[parent * 3 + 1] + point[1];
+                world[i * 3 + 2] = world[parent * 3 + 2] + point[2];
+                solved[i] = true;
+                continue;
+            }
+
+            world[i * 3] = order[i].getShape().getTranslateX();
+            world[i * 3 + 1] = order[i].getShape().getTranslateY();
+            world[i * 3 + 2] = order[i].getShape().getTranslateZ();
+        }
+
+        // Then push the translations to the nodes
+        for(int i=0; i < order.length; i++) {
+            if(!solved[i]) continue;
+            int parent = parentIndex[i];
+            ((SecondaryBody) order[i]).setScenePosition(
+                    world[i * 3], world[i * 3 + 1], world[i * 3 + 2],
+                    world[parent * 3], world[parent * 3 + 1], world[parent * 3 + 2],
+                    updateConnectionLine);
+        }
+    }
+
+    /**
+     * Flattens the hierarchy of every constructed {@code Celestial} into parent-first order.
+     * A body whose {@code PrimaryBody} is not among the constructed bodies is treated as a root.
+     */
+    private static void rebuild() {
+        ArrayList<Celestial> celestials = Celestial.celestialArrayList;
+        HashSet<Celestial> constructed = new HashSet<>(celestials);
+        HashMap<Celestial, ArrayList<Celestial>> children = new HashMap<>();
+        ArrayList<Celestial> sorted = new ArrayList<>(celestials.size());
+        for(Celestial celestial: celestials) {
+            PrimaryBody primary = celestial instanceof SecondaryBody body ? body.getPrimaryBody() : null;
+            if(primary != null && constructed.contains(primary))
+                children.computeIfAbsent(primary, key -> new ArrayList<>()).add(celestial);
+            else
+                sorted.add(celestial);
+        }
+
+        // Breadth-first from the roots, so every parent precedes its children
+        HashMap<Celestial, Integer> indices = new HashMap<>();
+        int[] parents = new int[celestials.size()];
+        for(int i=0; i < sorted.size(); i++) {
+            indices.put(sorted.get(i), i);
+            parents[i] = -1;
+        }
+        for(int i=0; i < sorted.size(); i++) {
+            for(Celestial child: children.getOrDefault(sorted.get(i), new ArrayList<>())) {
+                if(indices.containsKey(child)) continue;
+                indices.put(child, sorted.size());
+                parents[sorted.size()] = i;
+                sorted.add(child);
+            }
+        }
+
+        if(sorted.size() < celestials.size())
+            System.err.println("Cycle in the orbit hierarchy, " + (celestials.size() - sorted.size()) + " bodies not solved");
+
+        order = sorted.toArray(Celestial[]::new);
+        parentIndex = new int[order.length];
+        System.arraycopy(parents, 0, parentIndex, 0, order.length);
+        world = new double[order.length * 3];
+        solved = new boolean[order.length];
+        dirty = false;
+    }
+}
@@ -5,12 +5,15 @@ import javafx.geometry.Point3D;
 import javafx.scene.Group;
 import javafx.scene.control.Label;
 import javafx.scene.shape.Sphere;
-import javafx.scene.transform.Translate;
+import javafx.scene.transform.Transform;
 
+import org.example.planetsexplorer.CelestialLoader;
 import org.example.planetsexplorer.PlanetViewer;
 import org.example.planetsexplorer.PlanetsCamera;
+import org.example.planetsexplorer.WorldPositionSolver;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A {@code Celestial} is a major body in NASA's
@@ -28,7 +31,8 @@ import java.util.ArrayList;
  */
 public abstract class Celestial {
     /**
-     * A list of all constructed {@code Celestial} objects
+     * A list of all constructed {@code Celestial} objects that are still on stage. A
+     * {@code SecondaryBody} is removed from it by {@link SecondaryBody#removeFromStage(SecondaryBody)}.
      */
     public static final ArrayList<Celestial> celestialArrayList = new ArrayList<>();
 
@@ -44,14 +48,18 @@ public abstract class Celestial {
 
     /**
      * The JavaFX Node used to represent the 3D model of the {@code Celestial} in the Scene.
+     * Replaced by a copy with different divisions when its level of detail changes.
+     *
+     * @see Celestial#setShapeDivisions(int)
      */
-    private final Sphere shape;
+    private Sphere shape;
 
     /**
-     * The variables that controls how many polygons the 3D sphere representation of the
-     * Celestial should have. Keep this value low to reduce graphical load.
+     * The number of divisions the 3D sphere representation of the Celestial starts with,
+     * before its first level-of-detail update.
      *
      * @see Celestial#shape
+     * @see SphereLevelOfDetail
      */
     private static final int shapeDivisions = 20;
 
@@ -65,6 +73,21 @@ public abstract class Celestial {
      */
     private final Label labelName = new Label();
 
+    /**
+     * {@code false} while the shape is outside the camera's view frustum. The shape and
+     * 2D UI elements are hidden, and their layout is skipped, while the body is out of view.
+     *
+     * @see PlanetsCamera#updateCameraUI()
+     */
+    private boolean inView = true;
+
+    /**
+     * {@code false} while the label is hidden because it overlaps a label of higher priority.
+     *
+     * @see org.example.planetsexplorer.LabelDeclutter
+     */
+    private boolean labelVisible = true;
+
     /**
      * Constructs a {@code Celestial} given a unique name, database ID, and physical radius.
      *
@@ -96,6 +119,7 @@ public abstract class Celestial {
         initializeUIMouseEvents();
 
         celestialArrayList.add(this);
+        WorldPositionSolver.markDirty();
     }
 
     /**
@@ -114,7 +138,8 @@ public abstract class Celestial {
             if(selected instanceof SecondaryBody selectedBody
                     && this instanceof SecondaryBody clickedBody
                     && PlanetViewer.copyEphemeris) {
-                selectedBody.copyEphemerisDateRange(clickedBody);
+                CelestialLoader.loadEphemeris(selectedBody, List.of(selectedBody), clickedBody.getDateStart(),
+                        clickedBody.getDateStop(), clickedBody.getEphemerisStepSize());
                 PlanetViewer.copyEphemeris = false;
 
             // This celestial is PrimaryBody, selectedCelestial is Spacecraft, selectPrimary is toggled
@@ -123,8 +148,7 @@ public abstract class Celestial {
                     && this instanceof PrimaryBody clickedBody
                     && PlanetViewer.selectPrimary) {
                 spacecraft.changePrimaryBody(clickedBody);
-                clickedBody.addSecondaryBody(spacecraft);
-                spacecraft.initializeEphemeris();
+                PlanetsCamera.updateCameraUI();
 
                 PlanetViewer.selectPrimary = false;
 
@@ -160,6 +184,63 @@ public abstract class Celestial {
         return this.shape.localToScene(Point3D.ZERO);
     }
 
+    /**
+     * Rebuilds the shape with a different number of divisions, keeping its radius,
+     * material, translation and transforms, and swaps it into the shape's parent at the
+     * same position. Does nothing if the shape already has that many divisions.
+     *
+     * @param divisions The number of divisions of the new sphere
+     * @see SphereLevelOfDetail
+     */
+    public void setShapeDivisions(int divisions) {
+        if(this.shape.getDivisions() == divisions) return;
+
+        Sphere detailed = new Sphere(this.shape.getRadius(), divisions);
+        detailed.setMaterial(this.shape.getMaterial());
+        detailed.setTranslateX(this.shape.getTranslateX());
+        detailed.setTranslateY(this.shape.getTranslateY());
+        detailed.setTranslateZ(this.shape.getTranslateZ());
+        detailed.setVisible(this.shape.isVisible());
+
+        ArrayList<Transform> transforms = new ArrayList<>(this.shape.getTransforms());
+        this.shape.getTransforms().clear();
+        detailed.getTransforms().setAll(transforms);
+
+        if(this.shape.getParent() instanceof Group parent) {
+            int index = parent.getChildren().indexOf(this.shape);
+            parent.getChildren().set(index, detailed);
+        }
+
+        this.shape = detailed;
+    }
+
+    /**
+     * Shows or hides the shape and 2D UI elements when the body enters or leaves the
+     * camera's view frustum.
+     * @param inView {@code true} if the shape may be visible on screen
+     */
+    public void setInView(boolean inView) {
+        if(this.inView == inView) return;
+        this.inView = inView;
+        this.shape.setVisible(inView);
+        this.groupUI.setVisible(inView && this.labelVisible);
+    }
+
+    /**
+     * Shows or hides the 2D UI elements when the label wins or loses its place on screen.
+     * The UI elements stay hidden while the body is out of view.
+     * @param labelVisible {@code false} if the label overlaps a label of higher priority
+     */
+    public void setLabelVisible(boolean labelVisible) {
+        if(this.labelVisible == labelVisible) return;
+        this.labelVisible = labelVisible;
+        this.groupUI.setVisible(this.inView && labelVisible);
+    }
+
+    public boolean isInView() {
+        return inView;
+    }
+
     public String getName() {
         return name;
     }
@@ -16,6 +16,20 @@ public class EphemerisCoordinateFacade {
         ephemerisCoordinate.put("vz", Float.parseFloat(vz));
     }
 
+    /**
+     * Constructs a point that wasn't returned by the database, like one propagated by a
+     * {@link KeplerOrbit}.
+     * @param state The position in km and velocity in km/s, as {@code (x, y, z, vx, vy, vz)}
+     */
+    public EphemerisCoordinateFacade(double[] state) {
+        ephemerisCoordinate.put("x", (float) state[0]);
+        ephemerisCoordinate.put("y", (float) state[1]);
+        ephemerisCoordinate.put("z", (float) state[2]);
+        ephemerisCoordinate.put("vx", (float) state[3]);
+        ephemerisCoordinate.put("vy", (float) state[4]);
+        ephemerisCoordinate.put("vz", (float) state[5]);
+    }
+
     public float getX() {
         return ephemerisCoordinate.getFloat("x") / pixelKmScale;
     }
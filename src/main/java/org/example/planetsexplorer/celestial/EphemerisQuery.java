@@ -0,0 +1,167 @@
+package org.example.planetsexplorer.celestial;
+
+import org.example.planetsexplorer.HorizonSystem;
+import org.example.planetsexplorer.StepSize;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * A single ephemeris query of a {@link SecondaryBody}: the target, the center it is measured
+ * from, and the date-time range and step size. The query is fetched separately from being
+ * applied to its body, so the HTTP request can run off the JavaFX Application Thread.
+ *
+ * @see SecondaryBody#applyEphemeris(EphemerisQuery)
+ * @see org.example.planetsexplorer.CelestialLoader
+ */
+public final class EphemerisQuery {
+    /**
+     * The database ID of the body whose ephemeris is queried
+     */
+    private final String dbID;
+
+    /**
+     * The database ID of the body the ephemeris is measured from
+     */
+    private final String centerID;
+
+    /**
+     * The start of the ephemeris date-time range
+     */
+    private final LocalDateTime dateStart;
+
+    /**
+     * The end of the ephemeris date-time range
+     */
+    private final LocalDateTime dateStop;
+
+    /**
+     * The time difference between two sequential ephemeris data points
+     */
+    private final StepSize stepSize;
+
+    /**
+     * The ephemeris returned by the database, or {@code null} before the query is fetched
+     */
+    private ArrayList<EphemerisCoordinateFacade> ephemeris;
+
+    /**
+     * {@code true} if the ephemeris was propagated from a {@link KeplerOrbit} instead of fetched
+     */
+    private boolean extrapolated = false;
+
+    /**
+     * Constructs an unfetched {@code EphemerisQuery}.
+     *
+     * @param dbID The database ID of the body whose ephemeris is queried
+     * @param centerID The database ID of the body the ephemeris is measured from
+     * @param dateStart The start of the ephemeris date-time range
+     * @param dateStop The end of the ephemeris date-time range
+     * @param stepSize The time-based increment between two sequential ephemeris points
+     */
+    public EphemerisQuery(String dbID, String centerID, LocalDateTime dateStart, LocalDateTime dateStop, StepSize stepSize) {
+        this.dbID = dbID;
+        this.centerID = centerID;
+        this.dateStart = dateStart;
+        this.dateStop = dateStop;
+        this.stepSize = stepSize;
+    }
+
+    /**
+     * Executes the HTTP request to the database and stores the returned ephemeris. Blocks until
+     * the response is read, so it should not be called on the JavaFX Application Thread when
+     * it can be avoided.
+     *
+     * @return This query, for chaining
+     */
+    public EphemerisQuery fetch() {
+        try {
+            this.ephemeris = HorizonSystem.getEphemeris(this.dbID, this.centerID,
+                    toTimestamp(this.dateStart), toTimestamp(this.dateStop), this.stepSize);
+            this.extrapolated = false;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Fills the ephemeris by propagating an orbit to every step of the range, instead of
+     * fetching it. Never blocks, so it can stand in for the fetched ephemeris until it arrives.
+     *
+     * @param orbit The orbit of the body around the center of this query
+     * @param maxPoints The largest number of points to propagate, the range is cut short after it
+     * @return This query, for chaining
+     */
+    public EphemerisQuery extrapolate(KeplerOrbit orbit, int maxPoints) {
+        ArrayList<EphemerisCoordinateFacade> points = new ArrayList<>();
+        double[] state = new double[6];
+        for(int i=0; i < maxPoints; i++) {
+            LocalDateTime dateTime = this.dateStart.plus(i, this.stepSize.getUnit());
+            if(dateTime.isAfter(this.dateStop)) break;
+            orbit.propagate(dateTime, state);
+            points.add(new EphemerisCoordinateFacade(state));
+        }
+
+        this.ephemeris = points;
+        this.extrapolated = true;
+        return this;
+    }
+
+    /**
+     * Fills the ephemeris by re-centering a track already loaded, instead of fetching it.
+     *
+     * @param track The track of the body, starting at the start of this query
+     * @param centerTrack The track of the center of this query, or {@code null} if it is the {@code Sun}
+     * @return This query, for chaining
+     * @throws IllegalArgumentException if {@code centerTrack} has no point at one of the
+     * date-times of {@code track}
+     * @see EphemerisTrack#relativeTo(EphemerisTrack)
+     */
+    public EphemerisQuery recenter(EphemerisTrack track, EphemerisTrack centerTrack) {
+        this.ephemeris = track.relativeTo(centerTrack);
+        this.extrapolated = false;
+        return this;
+    }
+
+    /**
+     * Converts a date-time into a string that can be used in database ephemeris queries.
+     * @param dateTime The date-time to convert
+     * @return {@code dateTime} as a String in format "YYYY-MM-DD HH:MM"
+     */
+    public static String toTimestamp(LocalDateTime dateTime) {
+        return String.format("%02d", dateTime.getYear()) + "-" +
+                String.format("%02d", dateTime.getMonthValue()) + "-" +
+                String.format("%02d", dateTime.getDayOfMonth()) + " " +
+                String.format("%02d", dateTime.getHour()) + ":" +
+                String.format("%02d", dateTime.getMinute());
+    }
+
+    public String getDbID() {
+        return dbID;
+    }
+
+    public String getCenterID() {
+        return centerID;
+    }
+
+    public LocalDateTime getDateStart() {
+        return dateStart;
+    }
+
+    public LocalDateTime getDateStop() {
+        return dateStop;
+    }
+
+    public StepSize getStepSize() {
+        return stepSize;
+    }
+
+    public ArrayList<EphemerisCoordinateFacade> getEphemeris() {
+        return ephemeris;
+    }
+
+    public boolean isExtrapolated() {
+        return extrapolated;
+    }
+}
@@ -0,0 +1,188 @@
+package org.example.planetsexplorer.celestial;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+
+import static org.example.planetsexplorer.HorizonSystem.pixelKmScale;
+
+/**
+ * A snapshot of the fetched ephemeris of a {@link SecondaryBody} relative to the {@link Sun},
+ * in columnar primitive arrays. The ephemeris of a body is relative to its
+ * {@code PrimaryBody}, so the track of a {@link Moon} adds the track of its {@link Planet} at
+ * the same date-times.
+ *
+ * <p> Tracks keep every loaded ephemeris in one frame, so the ephemeris of a body relative to
+ * any other can be derived locally with {@link #relativeTo(EphemerisTrack)}. A track is
+ * immutable, so it can be read off the JavaFX Application Thread once it is created. Positions
+ * are in km, velocities in km/s, and times in seconds from the first point.
+ *
+ * @see SecondaryBody#getEphemerisTrack()
+ */
+public final class EphemerisTrack {
+    private final String dbID;
+    private final String name;
+    private final LocalDateTime dateStart;
+    private final ChronoUnit unit;
+
+    /**
+     * The position of every point, packed as {@code (x, y, z)} triples
+     */
+    private final double[] positions;
+
+    /**
+     * The velocity of every point, packed as {@code (vx, vy, vz)} triples
+     */
+    private final double[] velocities;
+
+    /**
+     * The time of every point after the first
+     */
+    private final double[] seconds;
+
+    private EphemerisTrack(String dbID, String name, LocalDateTime dateStart, ChronoUnit unit,
+                           double[] positions, double[] velocities) {
+        this.dbID = dbID;
+        this.name = name;
+        this.dateStart = dateStart;
+        this.unit = unit;
+        this.positions = positions;
+        this.velocities = velocities;
+        this.seconds = new double[positions.length / 3];
+        for(int i=0; i < seconds.length; i++)
+            seconds[i] = Duration.between(dateStart, dateStart.plus(i, unit)).toNanos() / 1e9;
+    }
+
+    /**
+     * Creates the track of a body from its fetched ephemeris.
+     *
+     * @param body The body
+     * @param primaryTrack The track of the body's {@code PrimaryBody}, or {@code null} if it is
+     *                     the {@code Sun}
+     * @return The track, or {@code null} if the body has no ephemeris, or {@code primaryTrack}
+     * has no point at one of its date-times
+     * @see SecondaryBody#getEphemerisTrack()
+     */
+    static EphemerisTrack of(SecondaryBody body, EphemerisTrack primaryTrack) {
+        double[] scaled = body.getEphemerisPositions();
+        double[] velocities = body.getEphemerisVelocities();
+        if(scaled.length == 0 || body.getDateStart() == null || body.getEphemerisStepSize() == null) return null;
+
+        ChronoUnit unit = body.getEphemerisStepSize().getUnit();
+        double[] positions = new double[scaled.length];
+        for(int i=0; i < scaled.length; i++) positions[i] = scaled[i] * pixelKmScale;
+
+        if(primaryTrack != null) {
+            long offset = primaryTrack.indexOf(body.getDateStart(), unit);
+            if(offset < 0 || offset + scaled.length / 3 > primaryTrack.size()) return null;
+            velocities = velocities.clone();
+            for(int i=0; i < positions.length; i++) {
+                positions[i] += primaryTrack.positions[(int) offset * 3 + i];
+                velocities[i] += primaryTrack.velocities[(int) offset * 3 + i];
+            }
+        }
+        return new EphemerisTrack(body.getDbID(), body.getName(), body.getDateStart(), unit, positions, velocities);
+    }
+
+    /**
+     * Derives the ephemeris of this track relative to another body, by subtracting the other
+     * body's track at every date-time of this one. No query is made, so changing the body an
+     * ephemeris is measured from costs one pass over the points.
+     *
+     * @param centerTrack The track of the new center, or {@code null} if it is the {@code Sun}
+     * @return The points relative to the center, in the same order as this track
+     * @throws IllegalArgumentException if {@code centerTrack} has no point at one of the
+     * date-times of this track
+     * @see EphemerisQuery#recenter(EphemerisTrack, EphemerisTrack)
+     */
+    public ArrayList<EphemerisCoordinateFacade> relativeTo(EphemerisTrack centerTrack) {
+        long offset = 0;
+        if(centerTrack != null) {
+            offset = centerTrack.indexOf(this.dateStart, this.unit);
+            if(offset < 0 || offset + this.size() > centerTrack.size())
+                throw new IllegalArgumentException(centerTrack.name + " has no ephemeris at every date-time of " + this.name);
+        }
+
+        ArrayList<EphemerisCoordinateFacade> points = new ArrayList<>(this.size());
+        double[] state = new double[6];
+        for(int i=0; i < this.size(); i++) {
+            for(int j=0; j < 3; j++) {
+                state[j] = this.positions[i * 3 + j];
+                state[j + 3] = this.velocities[i * 3 + j];
+                if(centerTrack != null) {
+                    state[j] -= centerTrack.positions[(int) (offset + i) * 3 + j];
+                    state[j + 3] -= centerTrack.velocities[(int) (offset + i) * 3 + j];
+                }
+            }
+            points.add(new EphemerisCoordinateFacade(state));
+        }
+        return points;
+    }
+
+    /**
+     * Returns the index of the point at a date-time.
+     * @param dateTime The date-time
+     * @param unit The unit of the step of the caller's track, which must match this track's
+     * @return The index, or {@code -1} if there is no point at the date-time
+     */
+    public long indexOf(LocalDateTime dateTime, ChronoUnit unit) {
+        if(unit != this.unit) return -1;
+        long index = unit.between(this.dateStart, dateTime);
+        if(index < 0 || index >= this.size() || !this.dateStart.plus(index, unit).equals(dateTime)) return -1;
+        return index;
+    }
+
+    /**
+     * Returns the date-time a number of seconds after the first point.
+     * @param seconds The time after the first point
+     * @return The date-time, to the nanosecond
+     */
+    public LocalDateTime dateTimeAt(double seconds) {
+        return this.dateStart.plusNanos(Math.round(seconds * 1e9));
+    }
+
+    public int size() {
+        return seconds.length;
+    }
+
+    public String getDbID() {
+        return dbID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDateTime getDateStart() {
+        return dateStart;
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Returns the positions of the track. Not copied, so must not be modified.
+     * @return The positions in km, packed as {@code (x, y, z)} triples
+     */
+    public double[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * Returns the velocities of the track. Not copied, so must not be modified.
+     * @return The velocities in km/s, packed as {@code (vx, vy, vz)} triples
+     */
+    public double[] getVelocities() {
+        return velocities;
+    }
+
+    /**
+     * Returns the time of every point. Not copied, so must not be modified.
+     * @return The time of every point in seconds after the first
+     */
+    public double[] getSeconds() {
+        return seconds;
+    }
+}
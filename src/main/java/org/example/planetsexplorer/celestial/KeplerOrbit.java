@@ -0,0 +1,284 @@
+package org.example.planetsexplorer.celestial;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * The two-body orbit of a {@link SecondaryBody} around its {@link PrimaryBody}, fixed by one
+ * state vector. Used to extrapolate a body's position past the ephemeris fetched from the
+ * database, or while the database can't be reached.
+ *
+ * <p> The orbit is propagated with the universal variable formulation of Kepler's equation
+ * and the Lagrange {@code f} and {@code g} coefficients, which handle elliptic, parabolic and
+ * hyperbolic orbits alike and have no singularity for circular or equatorial orbits. The
+ * osculating elements are derived from the same state for display.
+ *
+ * <p> Perturbations from other bodies are ignored, so the error grows with the time from the
+ * epoch. {@link org.example.planetsexplorer.KeplerAccuracyReport} measures it against the
+ * database.
+ *
+ * <p> Distances are in km, velocities in km/s, and times in seconds.
+ */
+public final class KeplerOrbit {
+    /**
+     * The tolerance of the Newton iteration on the universal anomaly, relative to its value
+     */
+    private static final double tolerance = 1e-12;
+
+    /**
+     * The largest number of Newton iterations before giving up on convergence
+     */
+    private static final int maxIterations = 50;
+
+    /**
+     * The gravitational parameter of the system, GM of the primary plus GM of the body
+     */
+    private final double gm;
+
+    /**
+     * The date-time of the state vector
+     */
+    private final LocalDateTime epoch;
+
+    /**
+     * The position at the epoch relative to the primary
+     */
+    private final double x, y, z;
+
+    /**
+     * The velocity at the epoch relative to the primary
+     */
+    private final double vx, vy, vz;
+
+    /**
+     * The distance from the primary at the epoch
+     */
+    private final double radius;
+
+    /**
+     * The reciprocal of the semi-major axis. Positive for elliptic orbits, zero for
+     * parabolic, and negative for hyperbolic.
+     */
+    private final double alpha;
+
+    /**
+     * The time of one revolution, or {@code NaN} if the orbit isn't closed
+     */
+    private final double periodSeconds;
+
+    private final double eccentricity;
+    private final double inclinationDeg;
+    private final double ascendingNodeDeg;
+    private final double argumentOfPeriapsisDeg;
+    private final double trueAnomalyDeg;
+
+    /**
+     * Constructs the {@code KeplerOrbit} through a state vector.
+     *
+     * @param gm The gravitational parameter in km³/s², GM of the primary plus GM of the body
+     * @param epoch The date-time of the state vector
+     * @param x The X position relative to the primary
+     * @param y The Y position relative to the primary
+     * @param z The Z position relative to the primary
+     * @param vx The X velocity relative to the primary
+     * @param vy The Y velocity relative to the primary
+     * @param vz The Z velocity relative to the primary
+     * @throws IllegalArgumentException if {@code gm} isn't positive or the position is the origin
+     */
+    public KeplerOrbit(double gm, LocalDateTime epoch, double x, double y, double z, double vx, double vy, double vz) {
+        this.radius = Math.sqrt(x * x + y * y + z * z);
+        if(!(gm > 0)) throw new IllegalArgumentException("GM must be positive: " + gm);
+        if(radius == 0) throw new IllegalArgumentException("The position can't be the primary's center");
+
+        this.gm = gm;
+        this.epoch = epoch;
+        this.x = x; this.y = y; this.z = z;
+        this.vx = vx; this.vy = vy; this.vz = vz;
+
+        double speedSquared = vx * vx + vy * vy + vz * vz;
+        this.alpha = 2 / radius - speedSquared / gm;
+        this.periodSeconds = alpha > 0 ? 2 * Math.PI * Math.sqrt(1 / (alpha * alpha * alpha * gm)) : Double.NaN;
+
+        // Osculating elements from the angular momentum h, the node vector n and the eccentricity vector e
+        double hx = y * vz - z * vy, hy = z * vx - x * vz, hz = x * vy - y * vx;
+        double h = Math.sqrt(hx * hx + hy * hy + hz * hz);
+        double nx = -hy, ny = hx, n = Math.sqrt(nx * nx + ny * ny);
+        double radialSpeed = (x * vx + y * vy + z * vz) / radius;
+        double ex = ((speedSquared - gm / radius) * x - radius * radialSpeed * vx) / gm;
+        double ey = ((speedSquared - gm / radius) * y - radius * radialSpeed * vy) / gm;
+        double ez = ((speedSquared - gm / radius) * z - radius * radialSpeed * vz) / gm;
+        this.eccentricity = Math.sqrt(ex * ex + ey * ey + ez * ez);
+
+        this.inclinationDeg = h == 0 ? 0 : Math.toDegrees(Math.acos(clamp(hz / h)));
+        double node = n == 0 ? 0 : Math.acos(clamp(nx / n));
+        this.ascendingNodeDeg = Math.toDegrees(ny < 0 ? 2 * Math.PI - node : node);
+
+        // Circular orbits have no periapsis and equatorial orbits no node, so those angles are measured from X
+        double periapsis = 0;
+        if(eccentricity > 1e-10)
+            periapsis = n == 0 ? Math.atan2(ey, ex) : Math.acos(clamp((nx * ex + ny * ey) / (n * eccentricity)));
+        if(n != 0 && ez < 0) periapsis = 2 * Math.PI - periapsis;
+        this.argumentOfPeriapsisDeg = Math.toDegrees((periapsis + 2 * Math.PI) % (2 * Math.PI));
+
+        double anomaly = eccentricity > 1e-10
+                ? Math.acos(clamp((ex * x + ey * y + ez * z) / (eccentricity * radius)))
+                : Math.acos(clamp((n == 0 ? x : nx * x + ny * y) / ((n == 0 ? 1 : n) * radius)));
+        if(radialSpeed < 0) anomaly = 2 * Math.PI - anomaly;
+        this.trueAnomalyDeg = Math.toDegrees(anomaly);
+    }
+
+    /**
+     * Writes the position and velocity of the body a number of seconds after the epoch.
+     *
+     * @param seconds The time from the epoch, negative before it
+     * @param state Filled with {@code (x, y, z, vx, vy, vz)}
+     */
+    public void propagate(double seconds, double[] state) {
+        // Whole revolutions of a closed orbit change nothing, and only cost precision
+        if(alpha > 0) seconds = Math.IEEEremainder(seconds, periodSeconds);
+
+        double sqrtGm = Math.sqrt(gm);
+        double radialTerm = (x * vx + y * vy + z * vz) / sqrtGm;
+        double chi = initialAnomaly(seconds, sqrtGm);
+        double chiSquared = 0, c = 0.5, s = 1.0 / 6, r = radius;
+        for(int i=0; i < maxIterations; i++) {
+            chiSquared = chi * chi;
+            double psi = alpha * chiSquared;
+            c = stumpffC(psi);
+            s = stumpffS(psi);
+
+            r = chiSquared * c + radialTerm * chi * (1 - psi * s) + radius * (1 - psi * c);
+            double delta = (sqrtGm * seconds - chiSquared * chi * s - radialTerm * chiSquared * c
+                    - radius * chi * (1 - psi * s)) / r;
+            chi += delta;
+            if(Math.abs(delta) <= tolerance * Math.max(1, Math.abs(chi))) break;
+        }
+        chiSquared = chi * chi;
+        double psi = alpha * chiSquared;
+        c = stumpffC(psi);
+        s = stumpffS(psi);
+        r = chiSquared * c + radialTerm * chi * (1 - psi * s) + radius * (1 - psi * c);
+
+        double f = 1 - chiSquared / radius * c;
+        double g = seconds - chiSquared * chi / sqrtGm * s;
+        double fDot = sqrtGm / (r * radius) * chi * (psi * s - 1);
+        double gDot = 1 - chiSquared / r * c;
+
+        state[0] = f * x + g * vx;
+        state[1] = f * y + g * vy;
+        state[2] = f * z + g * vz;
+        state[3] = fDot * x + gDot * vx;
+        state[4] = fDot * y + gDot * vy;
+        state[5] = fDot * z + gDot * vz;
+    }
+
+    /**
+     * Writes the position and velocity of the body at a date-time.
+     * @param dateTime The date-time to propagate to
+     * @param state Filled with {@code (x, y, z, vx, vy, vz)}
+     */
+    public void propagate(LocalDateTime dateTime, double[] state) {
+        this.propagate(secondsSinceEpoch(dateTime), state);
+    }
+
+    /**
+     * Returns the time from the epoch to a date-time.
+     * @param dateTime The date-time
+     * @return The time in seconds, negative before the epoch
+     */
+    public double secondsSinceEpoch(LocalDateTime dateTime) {
+        Duration duration = Duration.between(this.epoch, dateTime);
+        return duration.getSeconds() + duration.getNano() / 1e9;
+    }
+
+    /**
+     * Returns the starting guess of the universal anomaly: the elliptic estimate, or the
+     * logarithmic estimate for hyperbolic orbits, which the elliptic one overshoots.
+     * @param seconds The time from the epoch
+     * @param sqrtGm The square root of {@code gm}
+     * @return The starting guess
+     */
+    private double initialAnomaly(double seconds, double sqrtGm) {
+        if(alpha > 1e-12) return sqrtGm * seconds * alpha;
+        if(alpha < -1e-12 && seconds != 0) {
+            double a = 1 / alpha;
+            double sign = Math.signum(seconds);
+            double guess = sign * Math.sqrt(-a) * Math.log((-2 * gm * alpha * seconds) /
+                    ((x * vx + y * vy + z * vz) + sign * Math.sqrt(-gm * a) * (1 - radius * alpha)));
+            if(Double.isFinite(guess)) return guess;
+        }
+        return sqrtGm * seconds / radius;
+    }
+
+    /**
+     * The Stumpff function {@code C(ψ)}, with its series near zero
+     */
+    private static double stumpffC(double psi) {
+        if(psi > 1e-6) return (1 - Math.cos(Math.sqrt(psi))) / psi;
+        if(psi < -1e-6) return (Math.cosh(Math.sqrt(-psi)) - 1) / -psi;
+        return 0.5 - psi / 24 + psi * psi / 720;
+    }
+
+    /**
+     * The Stumpff function {@code S(ψ)}, with its series near zero
+     */
+    private static double stumpffS(double psi) {
+        if(psi > 1e-6) {
+            double root = Math.sqrt(psi);
+            return (root - Math.sin(root)) / (root * psi);
+        }
+        if(psi < -1e-6) {
+            double root = Math.sqrt(-psi);
+            return (Math.sinh(root) - root) / (root * -psi);
+        }
+        return 1.0 / 6 - psi / 120 + psi * psi / 5040;
+    }
+
+    private static double clamp(double cosine) {
+        return Math.max(-1, Math.min(1, cosine));
+    }
+
+    public double getGM() {
+        return gm;
+    }
+
+    public LocalDateTime getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the semi-major axis, negative for hyperbolic orbits.
+     * @return The semi-major axis in km, or infinity for a parabolic orbit
+     */
+    public double getSemiMajorAxisKM() {
+        return 1 / alpha;
+    }
+
+    /**
+     * Returns the time of one revolution.
+     * @return The period in seconds, or {@code NaN} if the orbit isn't closed
+     */
+    public double getPeriodSeconds() {
+        return periodSeconds;
+    }
+
+    public double getEccentricity() {
+        return eccentricity;
+    }
+
+    public double getInclinationDeg() {
+        return inclinationDeg;
+    }
+
+    public double getAscendingNodeDeg() {
+        return ascendingNodeDeg;
+    }
+
+    public double getArgumentOfPeriapsisDeg() {
+        return argumentOfPeriapsisDeg;
+    }
+
+    public double getTrueAnomalyDeg() {
+        return trueAnomalyDeg;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.planetsexplorer.celestial;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+
+import java.util.HashMap;
+
+/**
+ * A cache of the materials and textures shared by every {@link Celestial}. Each
+ * distinct color is turned into a {@code PhongMaterial} or texture only once, so
+ * adding a body no longer uploads new materials and images to the graphics pipeline.
+ *
+ * <p> Cached materials are shared between bodies and must never be modified.
+ *
+ * <p> Only to be used on the JavaFX Application Thread.
+ */
+public final class MaterialCache {
+    /**
+     * A lookup table of lit materials by diffuse color
+     */
+    private static final HashMap<Color, PhongMaterial> diffuseMaterials = new HashMap<>();
+
+    /**
+     * A lookup table of unlit materials by self-illumination color
+     */
+    private static final HashMap<Color, PhongMaterial> selfIlluminatedMaterials = new HashMap<>();
+
+    /**
+     * A lookup table of 1x1 pixel images by color
+     */
+    private static final HashMap<Color, Image> colorImages = new HashMap<>();
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private MaterialCache() {}
+
+    /**
+     * Returns a shared material lit by the scene with the given diffuse color.
+     * @param color The diffuse color
+     * @return The shared material
+     */
+    public static PhongMaterial getDiffuseMaterial(Color color) {
+        return diffuseMaterials.computeIfAbsent(color, PhongMaterial::new);
+    }
+
+    /**
+     * Returns a shared material that appears in the given color regardless of lighting.
+     * @param color The self-illumination color
+     * @return The shared material
+     */
+    public static PhongMaterial getSelfIlluminatedMaterial(Color color) {
+        return selfIlluminatedMaterials.computeIfAbsent(color, key -> {
+            PhongMaterial material = new PhongMaterial();
+            material.setDiffuseColor(Color.BLACK);
+            material.setSpecularColor(Color.BLACK);
+            material.setSelfIlluminationMap(getColorImage(key));
+            return material;
+        });
+    }
+
+    /**
+     * Returns a shared 1x1 pixel image of the specified color for use as a self-illumination
+     * map. This allows a material to appear unaffected by lighting.
+     * @param color The color of the image
+     * @return A 1x1 Image with the specified color
+     */
+    public static Image getColorImage(Color color) {
+        return colorImages.computeIfAbsent(color, key -> {
+            WritableImage image = new WritableImage(1, 1);
+            PixelWriter writer = image.getPixelWriter();
+            writer.setColor(0, 0, key);
+            return image;
+        });
+    }
+}
@@ -3,22 +3,15 @@ package org.example.planetsexplorer.celestial;
 import org.example.planetsexplorer.HorizonSystem;
 import org.json.JSONObject;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static org.example.planetsexplorer.HorizonSystem.pixelKmScale;
 
 /**
  * A {@code Moon} is a special {@link SecondaryBody} that orbits a {@link Planet}.
  * This class adds extra functionality to {@code SecondaryBody} and fills in the
- * incomplete gaps in {@link HorizonSystem}. This class contains static lookup tables
- * that allows {@code HorizonSystem} to assign a radius or orbit period to a Moon it
+ * incomplete gaps in {@link HorizonSystem}. The {@link MoonTable} allows
+ * {@code HorizonSystem} to assign a radius or orbit period to a Moon it
  * lacks complete data on.
  */
 public class Moon extends  SecondaryBody {
@@ -27,16 +20,6 @@ public class Moon extends  SecondaryBody {
      */
     private static final ArrayList<Moon> moonArrayList = new ArrayList<>(30);
 
-    /**
-     * A lookup table for a moon's radius
-     */
-    private static final HashMap<String, String> idRadiusMap = new HashMap<>(30);
-
-    /**
-     * A lookup table for a moon's orbit period
-     */
-    private static final HashMap<String, String> idOrbitDaysMap = new HashMap<>(30);
-
     /**
      * Construct a Moon, where the primaryBody can only be of type {@code Planet}
      * @param name The unique title.
@@ -49,20 +32,40 @@ public class Moon extends  SecondaryBody {
      */
     private Moon(String name, String dbID, float shapeRadius, Planet planet, float orbitPeriodYear, float siderealDayHr, float obliquityToOrbitDeg) {
         super(name, dbID, shapeRadius, planet, orbitPeriodYear, siderealDayHr, obliquityToOrbitDeg);
-        this.initializeStartStop();
         moonArrayList.add(this);
     }
 
     /**
      * Creates a {@code Moon} by first getting its {@code Planet}, then passing the
-     * {@code Planet} to the constructor, and then adding it to the scene.
+     * {@code Planet} to the constructor, and then adding it to the scene. Blocks on the
+     * HTTP requests.
      * @param moonID The database ID of the {@code Moon}
      * @param planetID The database ID of the {@code Planet}
+     * @see org.example.planetsexplorer.CelestialLoader#loadMoon(String, String)
      */
     public static void createMoon(String moonID, String planetID)  {
-        Planet planet = Planet.getPlanetByName(HorizonSystem.idToName(planetID));
         CelestialInfoFacade moonInfo = HorizonSystem.getBody(moonID);
         assert moonInfo != null;
+        createMoon(moonID, planetID, moonInfo, SecondaryBody.createDefaultQuery(
+                moonID, planetID, moonInfo.getSiderealOrbitDays()).fetch());
+    }
+
+    /**
+     * Creates a {@code Moon} from already fetched data and adds it to the scene. Must be
+     * called on the JavaFX Application Thread.
+     * @param moonID The database ID of the {@code Moon}
+     * @param planetID The database ID of the {@code Planet}
+     * @param moonInfo The physical parameters of the {@code Moon}
+     * @param ephemeris The fetched default ephemeris query of the {@code Moon}
+     * @return The new {@code Moon}, or {@code null} if its {@code Planet} is not loaded
+     */
+    public static Moon createMoon(String moonID, String planetID, CelestialInfoFacade moonInfo, EphemerisQuery ephemeris) {
+        Planet planet = Planet.getPlanetByName(HorizonSystem.idToName(planetID));
+        if(planet == null) {
+            System.err.println("No Planet found for moon: " + moonID);
+            return null;
+        }
+
         Moon moon = new Moon(HorizonSystem.idToName(moonID),
                 moonID,
                 moonInfo.getMeanRadKM(),
@@ -71,7 +74,9 @@ public class Moon extends  SecondaryBody {
                 moonInfo.getSiderealDayHr(),
                 moonInfo.getObliquityToOrbitDeg());
 
+        moon.applyEphemeris(ephemeris);
         SecondaryBody.addToStage(moon);
+        return moon;
     }
 
     /**
@@ -94,73 +99,25 @@ public class Moon extends  SecondaryBody {
         }
     }
 
-    /**
-     * Initializes the lookup tables of {@code Moon}. This class reads through the file
-     * {@code planetsexplorer/celestial/moonInfo.txt} to determine the radius and orbit
-     * periods of any {@code Moon} with incomplete data in {@code HorizonSystem}.
-     *
-     * <p> This method is to be called only once in {@code HorizonSystem}.
-     *
-     * @see Moon#idRadiusMap
-     * @see Moon#idOrbitDaysMap
-     * @see HorizonSystem#initializeLookupTables()
-     */
-    public static void initializeMoonInfo() {
-        try {
-            List<String> infoTxt = Files.readAllLines(Paths.get("src/main/java/org/example/planetsexplorer/celestial/moonInfo.txt"));
-            for(String line: infoTxt) {
-                String[] row  = line.split("\\s+");
-
-                // Data cleaning must be done, rows either have both name and desig, or missing one
-                if(row.length == 13) {
-                    // If row contains both name and designation, it will have 13 items in it
-                    float radius;
-                    try { radius = Float.parseFloat(row[11]) / 2; }
-                    catch (NumberFormatException e) { continue; }
-
-                    String id = HorizonSystem.nameToID(row[1]);
-                    idOrbitDaysMap.put(id, row[9]);
-                    idRadiusMap.put(id, String.valueOf(radius));
-                } else if(row.length == 12) {
-                    // If row contains only 12 items, it either has name or designation missing
-                    // If element[1] contains numbers, it's a designation
-                    // If element[1] contains no numbers, it's a name
-                    Pattern numbers = Pattern.compile("[0-9]");
-                    Matcher numbersMatcher = numbers.matcher(row[1]);
-
-                    String id;
-                    // If element[1] is a NAME
-                    if(!numbersMatcher.find()) { id = HorizonSystem.nameToID(row[1]); }
-                    // If element[1] is a DESIGNATION
-                    else { id = HorizonSystem.designationToId(row[1].substring(2)); }
-                    idOrbitDaysMap.put(id, row[8]);
-
-                    float radius;
-                    try { radius = Float.parseFloat(row[10]) / 2; }
-                    catch (NumberFormatException e) { continue; }
-                    idRadiusMap.put(id, String.valueOf(radius));
-                }
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
     /**
      * Return the radius of a {@code Moon} given its database ID.
      * @param id The ID of the {@code Moon}
-     * @return The radius of the {@code Moon} in String format.
+     * @return The radius of the {@code Moon} in String format, or {@code null} if it
+     * isn't in the {@link MoonTable}.
      */
     public static String idToRadius(String id) {
-        return idRadiusMap.get(id);
+        Float radius = MoonTable.getRadiusKM(id);
+        return radius == null ? null : String.valueOf(radius);
     }
 
     /**
      * Return the orbit period in days of a {@code Moon} given its database ID.
      * @param id The ID of the {@code Moon}
-     * @return The orbit period in days of the {@code Moon} in String format.
+     * @return The orbit period in days of the {@code Moon} in String format, or {@code null}
+     * if it isn't in the {@link MoonTable}.
      */
     public static String idToOrbitDays(String id) {
-        return idOrbitDaysMap.get(id);
+        Float orbitDays = MoonTable.getOrbitDays(id);
+        return orbitDays == null ? null : String.valueOf(orbitDays);
     }
 }
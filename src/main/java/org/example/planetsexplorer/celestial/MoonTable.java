@@ -0,0 +1,175 @@
+package org.example.planetsexplorer.celestial;
+
+import org.example.planetsexplorer.HorizonSystem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The radius and orbit period of every {@link Moon} in the published reference tables, used
+ * when {@link HorizonSystem} has incomplete data on a moon.
+ *
+ * <p> The table is generated at build time by {@link MoonTableGenerator} and packaged as the
+ * classpath resource {@code moonTable.bin} next to this class, so it is found from the shaded
+ * jar as well. It is read lazily with one bulk read the first time a moon is looked up, and
+ * doesn't depend on the {@code HorizonSystem} lookup tables: numbered moons are keyed by
+ * database ID. Only a moon that isn't numbered yet is matched by its designation.
+ *
+ * @see Moon#idToRadius(String)
+ * @see Moon#idToOrbitDays(String)
+ */
+public final class MoonTable {
+    /**
+     * The first four bytes of the resource, {@code "MOON"}
+     */
+    static final int magic = 0x4D4F4F4E;
+
+    /**
+     * The version of the resource format
+     */
+    static final int version = 1;
+
+    /**
+     * The name of the resource, relative to this class
+     */
+    private static final String resource = "moonTable.bin";
+
+    /**
+     * The database IDs of the numbered moons, sorted so they can be binary searched
+     */
+    private final int[] ids;
+
+    /**
+     * The radius in km of every numbered moon, in the order of {@code ids}
+     */
+    private final float[] radii;
+
+    /**
+     * The orbit period in days of every numbered moon, in the order of {@code ids}
+     */
+    private final float[] orbitDays;
+
+    /**
+     * The {@code (radius km, orbit days)} of every unnumbered moon by normalized designation
+     */
+    private final HashMap<String, float[]> designations;
+
+    /**
+     * Holds the table, which is loaded the first time the holder is accessed
+     */
+    private static final class Holder {
+        private static final MoonTable table = load();
+    }
+
+    /**
+     * Constructs a {@code MoonTable}.
+     */
+    private MoonTable(int[] ids, float[] radii, float[] orbitDays, HashMap<String, float[]> designations) {
+        this.ids = ids;
+        this.radii = radii;
+        this.orbitDays = orbitDays;
+        this.designations = designations;
+    }
+
+    /**
+     * Returns the radius of a moon.
+     * @param id The database ID of the moon
+     * @return The radius in km, or {@code null} if the moon isn't in the table
+     */
+    public static Float getRadiusKM(String id) {
+        return get(id, 0);
+    }
+
+    /**
+     * Returns the orbit period of a moon.
+     * @param id The database ID of the moon
+     * @return The orbit period in days, or {@code null} if the moon isn't in the table
+     */
+    public static Float getOrbitDays(String id) {
+        return get(id, 1);
+    }
+
+    /**
+     * Looks up a column of a moon, first by database ID, then by designation.
+     * @param id The database ID of the moon
+     * @param column {@code 0} for the radius, {@code 1} for the orbit period
+     * @return The value, or {@code null} if the moon isn't in the table
+     */
+    private static Float get(String id, int column) {
+        MoonTable table = Holder.table;
+        try {
+            int index = Arrays.binarySearch(table.ids, Integer.parseInt(id));
+            if(index >= 0) return column == 0 ? table.radii[index] : table.orbitDays[index];
+        } catch (NumberFormatException ignored) {}
+
+        String designation = HorizonSystem.idToDesignation(id);
+        if(designation == null) return null;
+        float[] row = table.designations.get(normalizeDesignation(designation));
+        return row == null ? null : row[column];
+    }
+
+    /**
+     * Normalizes a provisional designation, so {@code "S/2003 J 2"} and {@code "2003J2"} match.
+     * @param designation The designation
+     * @return The designation without its {@code S/} prefix and whitespace
+     */
+    static String normalizeDesignation(String designation) {
+        String normalized = designation.replaceAll("\\s+", "");
+        return normalized.startsWith("S/") ? normalized.substring(2) : normalized;
+    }
+
+    /**
+     * Reads the table from the classpath in one bulk read.
+     * @return The table, or an empty table if the resource is missing or malformed
+     */
+    private static MoonTable load() {
+        try(InputStream in = MoonTable.class.getResourceAsStream(resource)) {
+            // The resource is generated in the process-classes phase, which IDE builds and a
+            // bare javafx:run don't run
+            if(in == null) {
+                System.err.println("The moon table " + resource + " is missing from the classpath, so moons get "
+                        + "no radius or orbit period from it. Generate it with: mvn process-classes");
+                return empty();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(in.readAllBytes());
+            if(buffer.getInt() != magic || buffer.getInt() != version)
+                throw new IOException("Unsupported format of " + resource);
+
+            int count = buffer.getInt();
+            int[] ids = new int[count];
+            float[] radii = new float[count];
+            float[] orbitDays = new float[count];
+            for(int i=0; i < count; i++) {
+                ids[i] = buffer.getInt();
+                radii[i] = buffer.getFloat();
+                orbitDays[i] = buffer.getFloat();
+            }
+
+            int designationCount = buffer.getInt();
+            HashMap<String, float[]> designations = new HashMap<>(designationCount * 2);
+            for(int i=0; i < designationCount; i++) {
+                byte[] utf = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(utf);
+                designations.put(new String(utf, StandardCharsets.UTF_8),
+                        new float[]{buffer.getFloat(), buffer.getFloat()});
+            }
+
+            return new MoonTable(ids, radii, orbitDays, designations);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load the moon table: " + e);
+            return empty();
+        }
+    }
+
+    /**
+     * Returns a table without moons, used when the resource can't be read.
+     * @return The empty table
+     */
+    private static MoonTable empty() {
+        return new MoonTable(new int[0], new float[0], new float[0], new HashMap<>());
+    }
+}
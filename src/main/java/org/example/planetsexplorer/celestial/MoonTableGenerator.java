@@ -0,0 +1,218 @@
+package org.example.planetsexplorer.celestial;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Converts the published moon reference tables in {@code src/main/data/moonInfo.txt} into the
+ * binary resource read by {@link MoonTable}. Runs during the {@code process-classes} phase of
+ * the build, so the text is never parsed at runtime.
+ *
+ * <p> The text holds one satellite table per planet. Every row ends with the same ten numeric
+ * columns, {@code a i e Peri Node M Period mag Size Year}, and starts with up to three of a
+ * Roman numeral, a name, and a provisional designation like {@code S/2003J2}. A numbered moon
+ * is keyed by its database ID, which is {@code planet * 100 + number}. A moon that isn't
+ * numbered yet is keyed by its designation instead.
+ *
+ * <p> Run with {@code MoonTableGenerator <moonInfo.txt> <moonTable.bin>}.
+ */
+public final class MoonTableGenerator {
+    /**
+     * The number of numeric columns every moon row ends with
+     */
+    private static final int numericColumns = 10;
+
+    /**
+     * The planet letters used in provisional designations, indexed by planet number
+     */
+    private static final String planetLetters = "?????JSUNP";
+
+    /**
+     * The planet names used in the table headers, indexed by planet number
+     */
+    private static final String[] planetNames = {
+            null, "Mercury", "Venus", "Earth", "Mars", "Jupiter", "Saturn", "Uranus", "Neptune", "Pluto"
+    };
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private MoonTableGenerator() {}
+
+    public static void main(String[] args) throws IOException {
+        if(args.length != 2) {
+            System.err.println("Usage: MoonTableGenerator <moonInfo.txt> <moonTable.bin>");
+            System.exit(1);
+        }
+
+        TreeMap<Integer, float[]> numbered = new TreeMap<>();
+        TreeMap<String, float[]> unnumbered = new TreeMap<>();
+        parse(Files.readAllLines(Paths.get(args[0])), numbered, unnumbered);
+
+        Path output = Paths.get(args[1]);
+        if(output.getParent() != null) Files.createDirectories(output.getParent());
+        try(DataOutputStream out = new DataOutputStream(Files.newOutputStream(output))) {
+            out.writeInt(MoonTable.magic);
+            out.writeInt(MoonTable.version);
+
+            out.writeInt(numbered.size());
+            for(var entry: numbered.entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeFloat(entry.getValue()[0]);
+                out.writeFloat(entry.getValue()[1]);
+            }
+
+            out.writeInt(unnumbered.size());
+            for(var entry: unnumbered.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeFloat(entry.getValue()[0]);
+                out.writeFloat(entry.getValue()[1]);
+            }
+        }
+    }
+
+    /**
+     * Parses the rows of every satellite table into radius and orbit period pairs.
+     *
+     * <p> Every table starts at its column header line. Some tables are introduced by a line
+     * naming their planet, the others take the planet most of their designations belong to.
+     *
+     * @param lines The lines of {@code moonInfo.txt}
+     * @param numbered Filled with {@code (radius km, orbit days)} by database ID
+     * @param unnumbered Filled with {@code (radius km, orbit days)} by normalized designation
+     */
+    private static void parse(List<String> lines, TreeMap<Integer, float[]> numbered, TreeMap<String, float[]> unnumbered) {
+        ArrayList<Row> section = new ArrayList<>();
+        int namedPlanet = 0;
+        int sectionPlanet = 0;
+        for(String line: lines) {
+            String[] tokens = line.trim().split("\\s+");
+            int header = headerPlanet(line);
+            if(header > 0) { namedPlanet = header; continue; }
+            if(tokens[0].equals("Name") || tokens[0].equals("Number")) {
+                resolve(section, sectionPlanet, numbered, unnumbered);
+                sectionPlanet = namedPlanet;
+                namedPlanet = 0;
+                continue;
+            }
+
+            Row row = parseRow(tokens);
+            if(row != null) section.add(row);
+        }
+        resolve(section, sectionPlanet, numbered, unnumbered);
+    }
+
+    /**
+     * A moon row of a satellite table
+     * @param number The number of the moon, or {@code 0} if it isn't numbered
+     * @param designation The provisional designation, or {@code null} if the row has none
+     * @param radius The radius in km
+     * @param orbitDays The orbit period in days
+     */
+    private record Row(int number, String designation, float radius, float orbitDays) {}
+
+    /**
+     * Parses a line of a satellite table.
+     * @param tokens The whitespace separated columns of the line
+     * @return The row, or {@code null} if the line isn't a moon row
+     */
+    private static Row parseRow(String[] tokens) {
+        if(tokens.length <= numericColumns) return null;
+
+        // Every moon row ends with the numeric columns, anything else is prose
+        float orbitDays, radius;
+        try {
+            for(int i = tokens.length - numericColumns; i < tokens.length; i++) Float.parseFloat(tokens[i]);
+            orbitDays = Float.parseFloat(tokens[tokens.length - 4]);
+            radius = Float.parseFloat(tokens[tokens.length - 2]) / 2;
+        } catch (NumberFormatException e) { return null; }
+
+        String designation = null;
+        int number = 0;
+        for(int i=0; i < tokens.length - numericColumns; i++) {
+            if(tokens[i].startsWith("S/")) designation = tokens[i];
+            else if(i == 0) number = parseNumber(tokens[i]);
+        }
+        return new Row(number, designation, radius, orbitDays);
+    }
+
+    /**
+     * Keys the rows of a finished table and clears them.
+     *
+     * @param section The rows of the table
+     * @param planet The planet named in the table's header, or {@code 0} if it wasn't named
+     * @param numbered Filled with {@code (radius km, orbit days)} by database ID
+     * @param unnumbered Filled with {@code (radius km, orbit days)} by normalized designation
+     */
+    private static void resolve(ArrayList<Row> section, int planet, TreeMap<Integer, float[]> numbered, TreeMap<String, float[]> unnumbered) {
+        if(planet == 0) {
+            int[] votes = new int[planetNames.length];
+            for(Row row: section)
+                if(row.designation() != null) votes[designationPlanet(row.designation())]++;
+            for(int i=1; i < votes.length; i++)
+                if(votes[i] > 0 && (planet == 0 || votes[i] > votes[planet])) planet = i;
+        }
+
+        for(Row row: section) {
+            float[] values = {row.radius(), row.orbitDays()};
+            if(row.number() > 0 && planet > 0)
+                numbered.put(planet * 100 + row.number(), values);
+            else if(row.designation() != null)
+                unnumbered.put(MoonTable.normalizeDesignation(row.designation()), values);
+        }
+        section.clear();
+    }
+
+    /**
+     * Returns the planet a table header line introduces.
+     * @param line A line of {@code moonInfo.txt}
+     * @return The planet number, or {@code 0} if the line isn't a table header
+     */
+    private static int headerPlanet(String line) {
+        if(!line.contains("Satellite")) return 0;
+        for(int i=1; i < planetNames.length; i++)
+            if(line.contains(planetNames[i])) return i;
+        return 0;
+    }
+
+    /**
+     * Returns the planet a provisional designation like {@code S/2003J2} belongs to.
+     * @param designation The designation
+     * @return The planet number, or {@code 0} if it has no planet letter
+     */
+    private static int designationPlanet(String designation) {
+        for(int i=6; i < designation.length(); i++) {
+            int planet = planetLetters.indexOf(designation.charAt(i));
+            if(planet > 0) return planet;
+        }
+        return 0;
+    }
+
+    /**
+     * Parses the number of a moon, written as a Roman numeral, or as {@code P} and a digit
+     * for the moons of Pluto.
+     * @param token The first column of a row
+     * @return The number, or {@code 0} if the token isn't a number, like {@code L??}
+     */
+    private static int parseNumber(String token) {
+        if(token.matches("P\\d+")) return Integer.parseInt(token.substring(1));
+        if(!token.matches("[IVXLC]+")) return 0;
+
+        ArrayList<Integer> values = new ArrayList<>(token.length());
+        for(char c: token.toCharArray())
+            values.add(switch (c) { case 'I' -> 1; case 'V' -> 5; case 'X' -> 10; case 'L' -> 50; default -> 100; });
+
+        int number = 0;
+        for(int i=0; i < values.size(); i++) {
+            if(i + 1 < values.size() && values.get(i) < values.get(i + 1)) number -= values.get(i);
+            else number += values.get(i);
+        }
+        return number;
+    }
+}
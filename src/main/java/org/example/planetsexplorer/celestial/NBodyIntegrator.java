@@ -0,0 +1,374 @@
+package org.example.planetsexplorer.celestial;
+
+import org.example.planetsexplorer.HorizonSystem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+import static org.example.planetsexplorer.HorizonSystem.pixelKmScale;
+
+/**
+ * Integrates the motion of a whole system of bodies under their mutual gravity, starting
+ * from the state vectors fetched from the database. Used for what-if studies, like changing
+ * the velocity of a {@link Spacecraft} and following where it goes, without querying the
+ * database for every scenario.
+ *
+ * <p> The system is integrated with the kick-drift-kick leapfrog, which is symplectic, so the
+ * energy error stays bounded over long runs instead of drifting like an explicit Runge-Kutta
+ * method's. The state is kept in packed primitive arrays, {@code (x, y, z)} triples indexed by
+ * body, with positions in km and velocities in km/s.
+ *
+ * <p> Bodies without a known GM, like spacecraft, are massless: they are pulled by the others
+ * but pull nothing, so they only cost one pass over the massive bodies. The accelerations of
+ * large systems are accumulated in parallel, one body per task. Every body sums its own
+ * acceleration in the same order either way, so parallel and sequential runs are identical.
+ *
+ * <p> The explorer itself doesn't run it yet: it is a library for what-if tools built on the
+ * loaded system, measured by the {@code NBodyBenchmark} of the benchmarks module.
+ *
+ * @see KeplerOrbit
+ */
+public final class NBodyIntegrator {
+    /**
+     * The number of body pairs a step must interact before the accelerations are accumulated
+     * in parallel. Smaller systems are faster on one thread.
+     */
+    public static final int parallelPairThreshold = 1 << 14;
+
+    private final String[] ids;
+
+    /**
+     * The gravitational parameter of every body in km³/s², {@code 0} for massless bodies
+     */
+    private final double[] gm;
+
+    private final double[] position;
+    private final double[] velocity;
+
+    /**
+     * The acceleration at the current positions, kept between steps so every step only
+     * evaluates it once
+     */
+    private final double[] acceleration;
+
+    /**
+     * The indices of the bodies with a positive GM, the only ones that pull
+     */
+    private final int[] sources;
+
+    private boolean parallel;
+    private double elapsedSeconds = 0;
+
+    /**
+     * Constructs an {@code NBodyIntegrator} from the states of its bodies in a common
+     * inertial frame.
+     *
+     * @param ids The database id of every body
+     * @param gm The gravitational parameter of every body in km³/s², {@code 0} if massless
+     * @param states The state of every body as packed {@code (x, y, z, vx, vy, vz)} sextuples,
+     *               in km and km/s
+     * @throws IllegalArgumentException if the array lengths don't match
+     */
+    public NBodyIntegrator(String[] ids, double[] gm, double[] states) {
+        int bodies = ids.length;
+        if(gm.length != bodies || states.length != bodies * 6)
+            throw new IllegalArgumentException("Expected " + bodies + " GMs and " + bodies * 6 + " state components");
+
+        this.ids = ids.clone();
+        this.gm = gm.clone();
+        this.position = new double[bodies * 3];
+        this.velocity = new double[bodies * 3];
+        this.acceleration = new double[bodies * 3];
+        for(int i=0; i < bodies; i++) {
+            for(int j=0; j < 3; j++) {
+                this.position[i * 3 + j] = states[i * 6 + j];
+                this.velocity[i * 3 + j] = states[i * 6 + j + 3];
+            }
+        }
+        this.sources = IntStream.range(0, bodies).filter(i -> gm[i] > 0).toArray();
+        this.parallel = (long) bodies * sources.length >= parallelPairThreshold;
+
+        this.accumulateAccelerations();
+    }
+
+    /**
+     * Constructs an {@code NBodyIntegrator} from the loaded ephemeris of every body under a
+     * {@code PrimaryBody}, at a date-time. Each body's state relative to its {@code PrimaryBody}
+     * is added to the state of the {@code PrimaryBody}, starting from {@code root}, and the
+     * system is then moved to its barycentric frame. No database query is made: the GMs are the
+     * ones fetched with the physical data of the bodies.
+     *
+     * <p> A body is left out, along with its own {@code SecondaryBody}s, if the date-time isn't
+     * a point of its ephemeris, or past its end while it isn't extrapolated.
+     *
+     * @param root The body the states are added up from, usually the {@link Sun}
+     * @param dateTime The date-time of the states
+     * @param extrapolate {@code true} if a body past the end of its ephemeris is placed on its
+     *                    two-body orbit, as the explorer shows it when extrapolation is selected
+     * @return The integrator, with {@code root} at index {@code 0}
+     * @see HorizonSystem#getGM(String)
+     * @see SecondaryBody#getEphemerisPoint(int, boolean, double[])
+     * @see NBodyIntegrator#moveToBarycentricFrame()
+     */
+    public static NBodyIntegrator fromLoadedSystem(PrimaryBody root, LocalDateTime dateTime, boolean extrapolate) {
+        ArrayList<String> ids = new ArrayList<>();
+        ArrayList<double[]> states = new ArrayList<>();
+        ids.add(root.getDbID());
+        states.add(new double[6]);
+        addSecondaryStates(root, new double[6], dateTime, extrapolate, ids, states);
+
+        double[] gm = new double[ids.size()];
+        double[] packed = new double[ids.size() * 6];
+        for(int i=0; i < ids.size(); i++) {
+            gm[i] = HorizonSystem.getGM(ids.get(i));
+            System.arraycopy(states.get(i), 0, packed, i * 6, 6);
+        }
+        NBodyIntegrator integrator = new NBodyIntegrator(ids.toArray(String[]::new), gm, packed);
+        integrator.moveToBarycentricFrame();
+        return integrator;
+    }
+
+    /**
+     * Adds the state of every {@code SecondaryBody} under a {@code PrimaryBody}, depth first.
+     * @param primaryBody The {@code PrimaryBody}
+     * @param primaryState The state of {@code primaryBody} in the common frame
+     * @param dateTime The date-time of the states
+     * @param extrapolate {@code true} if bodies past the end of their ephemeris are extrapolated
+     * @param ids Appended with the id of every added body
+     * @param states Appended with the state of every added body
+     */
+    private static void addSecondaryStates(PrimaryBody primaryBody, double[] primaryState, LocalDateTime dateTime,
+                                           boolean extrapolate, ArrayList<String> ids, ArrayList<double[]> states) {
+        double[] point = new double[6];
+        for(SecondaryBody body: primaryBody.getSecondaryBodies()) {
+            if(body.getDateStart() == null || body.getEphemerisStepSize() == null) continue;
+
+            long index = body.getEphemerisStepSize().getUnit().between(body.getDateStart(), dateTime);
+            boolean onGrid = index >= 0 && index <= Integer.MAX_VALUE
+                    && body.getDateStart().plus(index, body.getEphemerisStepSize().getUnit()).equals(dateTime);
+            boolean covered = index < body.getEphemerisData().size()
+                    || (body.getKeplerOrbit() != null && extrapolate);
+            if(!onGrid || !covered || !body.getEphemerisPoint((int) index, extrapolate, point)) {
+                System.err.println("No state of " + body.getName() + " at " + dateTime + ", leaving it out");
+                continue;
+            }
+
+            double[] state = new double[6];
+            for(int j=0; j < 3; j++) {
+                state[j] = primaryState[j] + point[j] * pixelKmScale;
+                state[j + 3] = primaryState[j + 3] + point[j + 3];
+            }
+            ids.add(body.getDbID());
+            states.add(state);
+            addSecondaryStates(body, state, dateTime, extrapolate, ids, states);
+        }
+    }
+
+    /**
+     * Moves every body so that the center of mass of the system is at rest at the origin.
+     * States added up from a body at rest carry the momentum of everything orbiting it, so
+     * without this the whole system drifts away from the origin as it is integrated.
+     * Relative states, and so the accelerations, are unchanged.
+     */
+    public void moveToBarycentricFrame() {
+        double totalGM = 0;
+        double[] center = new double[6];
+        for(int i: sources) {
+            totalGM += gm[i];
+            for(int j=0; j < 3; j++) {
+                center[j] += gm[i] * position[i * 3 + j];
+                center[j + 3] += gm[i] * velocity[i * 3 + j];
+            }
+        }
+        if(totalGM == 0) return;
+
+        for(int i=0; i < ids.length; i++) {
+            for(int j=0; j < 3; j++) {
+                position[i * 3 + j] -= center[j] / totalGM;
+                velocity[i * 3 + j] -= center[j + 3] / totalGM;
+            }
+        }
+    }
+
+    /**
+     * Advances the system by one leapfrog step.
+     * @param seconds The length of the step, negative to integrate backwards
+     */
+    public void step(double seconds) {
+        double half = seconds / 2;
+        for(int i=0; i < velocity.length; i++) {
+            velocity[i] += half * acceleration[i];
+            position[i] += seconds * velocity[i];
+        }
+        this.accumulateAccelerations();
+        for(int i=0; i < velocity.length; i++) velocity[i] += half * acceleration[i];
+        elapsedSeconds += seconds;
+    }
+
+    /**
+     * Advances the system by a time in equal steps no longer than {@code maxStepSeconds}.
+     * @param seconds The time to advance by, negative to integrate backwards
+     * @param maxStepSeconds The longest step
+     * @return The number of steps taken
+     */
+    public int advance(double seconds, double maxStepSeconds) {
+        int steps = (int) Math.ceil(Math.abs(seconds) / maxStepSeconds);
+        for(int i=0; i < steps; i++) this.step(seconds / steps);
+        return steps;
+    }
+
+    /**
+     * Integrates the system and records the trajectory of one body relative to another, as
+     * ephemeris points that can be displayed like fetched ones.
+     *
+     * @param body The index of the recorded body
+     * @param center The index of the body the trajectory is relative to
+     * @param intervalSeconds The time between recorded points
+     * @param points The number of recorded points, the first at the current state
+     * @param maxStepSeconds The longest integration step
+     * @return The recorded points
+     * @see SecondaryBody#setEphemerisData(ArrayList)
+     */
+    public ArrayList<EphemerisCoordinateFacade> integrateTrajectory(int body, int center, double intervalSeconds,
+                                                                    int points, double maxStepSeconds) {
+        ArrayList<EphemerisCoordinateFacade> trajectory = new ArrayList<>(points);
+        double[] state = new double[6];
+        for(int i=0; i < points; i++) {
+            if(i > 0) this.advance(intervalSeconds, maxStepSeconds);
+            this.getRelativeState(body, center, state);
+            trajectory.add(new EphemerisCoordinateFacade(state));
+        }
+        return trajectory;
+    }
+
+    /**
+     * Computes the acceleration of every body at the current positions.
+     */
+    private void accumulateAccelerations() {
+        if(parallel) IntStream.range(0, ids.length).parallel().forEach(this::accumulateAcceleration);
+        else for(int i=0; i < ids.length; i++) this.accumulateAcceleration(i);
+    }
+
+    /**
+     * Computes the acceleration of one body, summing the pull of every massive body in order.
+     * Only writes the acceleration of {@code body}, so bodies can be computed concurrently.
+     * @param body The index of the body
+     */
+    private void accumulateAcceleration(int body) {
+        double x = position[body * 3], y = position[body * 3 + 1], z = position[body * 3 + 2];
+        double ax = 0, ay = 0, az = 0;
+        for(int source: sources) {
+            if(source == body) continue;
+            double dx = position[source * 3] - x;
+            double dy = position[source * 3 + 1] - y;
+            double dz = position[source * 3 + 2] - z;
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            double factor = gm[source] / (distanceSquared * Math.sqrt(distanceSquared));
+            ax += factor * dx;
+            ay += factor * dy;
+            az += factor * dz;
+        }
+        acceleration[body * 3] = ax;
+        acceleration[body * 3 + 1] = ay;
+        acceleration[body * 3 + 2] = az;
+    }
+
+    /**
+     * Returns the total kinetic and potential energy per unit of G, in km⁵/s⁴. Massless bodies
+     * don't contribute. Leapfrog keeps it nearly constant, so its change measures the error.
+     * @return The energy of the system
+     */
+    public double getTotalEnergy() {
+        double energy = 0;
+        for(int a=0; a < sources.length; a++) {
+            int i = sources[a];
+            double speedSquared = velocity[i * 3] * velocity[i * 3] + velocity[i * 3 + 1] * velocity[i * 3 + 1]
+                    + velocity[i * 3 + 2] * velocity[i * 3 + 2];
+            energy += 0.5 * gm[i] * speedSquared;
+            for(int b=a + 1; b < sources.length; b++) {
+                int j = sources[b];
+                double dx = position[j * 3] - position[i * 3];
+                double dy = position[j * 3 + 1] - position[i * 3 + 1];
+                double dz = position[j * 3 + 2] - position[i * 3 + 2];
+                energy -= gm[i] * gm[j] / Math.sqrt(dx * dx + dy * dy + dz * dz);
+            }
+        }
+        return energy;
+    }
+
+    /**
+     * Returns the index of a body.
+     * @param id The database id of the body
+     * @return The index, or {@code -1} if the body isn't integrated
+     */
+    public int indexOf(String id) {
+        for(int i=0; i < ids.length; i++)
+            if(ids[i].equals(id)) return i;
+        return -1;
+    }
+
+    /**
+     * Changes the velocity of a body instantly, like an impulsive burn. Positions are
+     * unchanged, so the accelerations stay valid.
+     * @param body The index of the body
+     * @param dvx The X change in km/s
+     * @param dvy The Y change in km/s
+     * @param dvz The Z change in km/s
+     */
+    public void addVelocity(int body, double dvx, double dvy, double dvz) {
+        velocity[body * 3] += dvx;
+        velocity[body * 3 + 1] += dvy;
+        velocity[body * 3 + 2] += dvz;
+    }
+
+    /**
+     * Writes the state of a body in the common frame.
+     * @param body The index of the body
+     * @param state Filled with {@code (x, y, z, vx, vy, vz)} in km and km/s
+     */
+    public void getState(int body, double[] state) {
+        for(int j=0; j < 3; j++) {
+            state[j] = position[body * 3 + j];
+            state[j + 3] = velocity[body * 3 + j];
+        }
+    }
+
+    /**
+     * Writes the state of a body relative to another.
+     * @param body The index of the body
+     * @param center The index of the body at the origin
+     * @param state Filled with {@code (x, y, z, vx, vy, vz)} in km and km/s
+     */
+    public void getRelativeState(int body, int center, double[] state) {
+        for(int j=0; j < 3; j++) {
+            state[j] = position[body * 3 + j] - position[center * 3 + j];
+            state[j + 3] = velocity[body * 3 + j] - velocity[center * 3 + j];
+        }
+    }
+
+    public int getBodyCount() {
+        return ids.length;
+    }
+
+    public String getId(int body) {
+        return ids[body];
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Overrides whether accelerations are accumulated in parallel, which is otherwise chosen
+     * from {@code parallelPairThreshold}.
+     * @param parallel {@code true} to use every core
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.planetsexplorer.celestial;
+
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.TriangleMesh;
+import org.example.planetsexplorer.OrbitRingProjector;
+
+/**
+ * Builds the 3D orbit path of a {@link SecondaryBody} as a thin ribbon {@code TriangleMesh}.
+ *
+ * <p> The ribbon is made of two perpendicular strips that follow the ephemeris points, so
+ * the path stays visible whether the orbit is seen face-on or edge-on. The points are
+ * relative to the body's {@link PrimaryBody}, so the mesh only needs rebuilding when the
+ * ephemeris changes; camera motion and occlusion are handled by the 3D pipeline.
+ *
+ * <p> JavaFX meshes have no per-vertex colors, so each vertex instead samples a shared
+ * gradient texture at a texture coordinate proportional to its position along the orbit.
+ *
+ * @see SecondaryBody#getOrbitPath()
+ */
+public final class OrbitPathMesh {
+    /**
+     * The number of texels in the gradient texture
+     */
+    private static final int gradientResolution = 256;
+
+    /**
+     * The half-width of the ribbon as a fraction of the orbit's largest radius
+     */
+    private static final double ribbonWidthRatio = 0.003;
+
+    /**
+     * The unlit material that maps the gradient texture onto every orbit path
+     */
+    private static final PhongMaterial gradientMaterial = createGradientMaterial();
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private OrbitPathMesh() {}
+
+    /**
+     * Builds the ribbon mesh of an orbit.
+     *
+     * @param positions The orbit points relative to the primary body, packed as {@code (x, y, z)} triples
+     * @return The ribbon mesh, or an empty mesh if there are fewer than two points
+     * @see SecondaryBody#getEphemerisPositions()
+     */
+    public static TriangleMesh build(double[] positions) {
+        TriangleMesh mesh = new TriangleMesh();
+        int totalPoints = positions.length / 3;
+        if(totalPoints < 2) return mesh;
+
+        double maxRadius = 0;
+        for(int i=0; i < totalPoints; i++)
+            maxRadius = Math.max(maxRadius, length(positions[i * 3], positions[i * 3 + 1], positions[i * 3 + 2]));
+        double halfWidth = Math.max(maxRadius * ribbonWidthRatio, Double.MIN_NORMAL);
+
+        // Four vertices per point: two for the out-of-plane strip, two for the in-plane strip
+        float[] points = new float[totalPoints * 4 * 3];
+        float[] texCoords = new float[totalPoints * 2];
+        double[] normal = new double[3];
+        double[] binormal = new double[3];
+
+        for(int i=0; i < totalPoints; i++) {
+            int prev = Math.max(i - 1, 0);
+            int next = Math.min(i + 1, totalPoints - 1);
+            double tx = positions[next * 3] - positions[prev * 3];
+            double ty = positions[next * 3 + 1] - positions[prev * 3 + 1];
+            double tz = positions[next * 3 + 2] - positions[prev * 3 + 2];
+            double px = positions[i * 3];
+            double py = positions[i * 3 + 1];
+            double pz = positions[i * 3 + 2];
+
+            // The orbit normal is perpendicular to both the radius and the direction of travel
+            cross(px, py, pz, tx, ty, tz, normal);
+            if(!normalize(normal)) {
+                normal[0] = 0; normal[1] = 1; normal[2] = 0;
+            }
+            cross(tx, ty, tz, normal[0], normal[1], normal[2], binormal);
+            if(!normalize(binormal)) {
+                binormal[0] = 1; binormal[1] = 0; binormal[2] = 0;
+            }
+
+            int v = i * 12;
+            setPoint(points, v, px, py, pz, normal, halfWidth);
+            setPoint(points, v + 3, px, py, pz, normal, -halfWidth);
+            setPoint(points, v + 6, px, py, pz, binormal, halfWidth);
+            setPoint(points, v + 9, px, py, pz, binormal, -halfWidth);
+
+            // Sample the middle of the texel for this point's position in the gradient
+            float ratio = (float) i / (totalPoints - 1);
+            texCoords[i * 2] = (0.5f + ratio * (gradientResolution - 1)) / gradientResolution;
+            texCoords[i * 2 + 1] = 0.5f;
+        }
+
+        // Two quads (four triangles) per segment, one on each strip
+        int[] faces = new int[(totalPoints - 1) * 4 * 6];
+        int f = 0;
+        for(int i=0; i < totalPoints - 1; i++) {
+            int a = i * 4;
+            int b = (i + 1) * 4;
+            for(int strip=0; strip < 2; strip++) {
+                int a0 = a + strip * 2, a1 = a0 + 1;
+                int b0 = b + strip * 2, b1 = b0 + 1;
+                f = addTriangle(faces, f, a0, i, a1, i, b0, i + 1);
+                f = addTriangle(faces, f, a1, i, b1, i + 1, b0, i + 1);
+            }
+        }
+
+        mesh.getPoints().setAll(points);
+        mesh.getTexCoords().setAll(texCoords);
+        mesh.getFaces().setAll(faces);
+        return mesh;
+    }
+
+    /**
+     * Returns the material shared by every orbit path.
+     * @return The gradient material
+     */
+    public static PhongMaterial getGradientMaterial() {
+        return gradientMaterial;
+    }
+
+    /**
+     * Writes a point offset from {@code (px, py, pz)} along a unit direction.
+     */
+    private static void setPoint(float[] points, int index, double px, double py, double pz, double[] direction, double offset) {
+        points[index] = (float) (px + direction[0] * offset);
+        points[index + 1] = (float) (py + direction[1] * offset);
+        points[index + 2] = (float) (pz + direction[2] * offset);
+    }
+
+    /**
+     * Writes a single triangle into the face array and returns the next free index.
+     */
+    private static int addTriangle(int[] faces, int index, int p0, int t0, int p1, int t1, int p2, int t2) {
+        faces[index] = p0; faces[index + 1] = t0;
+        faces[index + 2] = p1; faces[index + 3] = t1;
+        faces[index + 4] = p2; faces[index + 5] = t2;
+        return index + 6;
+    }
+
+    private static void cross(double ax, double ay, double az, double bx, double by, double bz, double[] out) {
+        out[0] = ay * bz - az * by;
+        out[1] = az * bx - ax * bz;
+        out[2] = ax * by - ay * bx;
+    }
+
+    /**
+     * Normalizes a vector in place.
+     * @return {@code false} if the vector has no length and was left unchanged
+     */
+    private static boolean normalize(double[] vector) {
+        double length = length(vector[0], vector[1], vector[2]);
+        if(length == 0 || Double.isNaN(length)) return false;
+        vector[0] /= length;
+        vector[1] /= length;
+        vector[2] /= length;
+        return true;
+    }
+
+    private static double length(double x, double y, double z) {
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Creates an unlit material whose self-illumination map is the orbit path gradient.
+     * @return The gradient material
+     */
+    private static PhongMaterial createGradientMaterial() {
+        WritableImage gradient = new WritableImage(gradientResolution, 1);
+        PixelWriter writer = gradient.getPixelWriter();
+        int midTexel = gradientResolution / 2;
+        for(int i=0; i < gradientResolution; i++)
+            writer.setColor(i, 0, OrbitRingProjector.gradientColor(i, midTexel, gradientResolution));
+
+        PhongMaterial material = new PhongMaterial();
+        material.setDiffuseColor(Color.BLACK);
+        material.setSpecularColor(Color.BLACK);
+        material.setSelfIlluminationMap(gradient);
+        return material;
+    }
+}
@@ -33,14 +33,14 @@ public class Planet extends SecondaryBody {
      */
     private Planet(String name, String dbID, float shapeRadius, float orbitPeriodYear, float siderealDayHr, float obliquityToOrbitDeg) {
         super(name, dbID, shapeRadius, Main.sun, orbitPeriodYear, siderealDayHr, obliquityToOrbitDeg);
-        this.initializeStartStop();
         planetArrayList.add(this);
     }
 
     /**
-     * Gets the physical parameters of the planet, calls the private constructor, and adds
-     * the planet to the stage.
+     * Gets the physical parameters and default ephemeris of the planet, calls the private
+     * constructor, and adds the planet to the stage. Blocks on the HTTP requests.
      * @param planetID The ID of the planet to be added.
+     * @see org.example.planetsexplorer.CelestialLoader#loadPlanet(String)
      */
     public static void createPlanet(String planetID) {
         CelestialInfoFacade planetInfo;
@@ -51,6 +51,19 @@ public class Planet extends SecondaryBody {
         }
 
         assert planetInfo != null;
+        createPlanet(planetID, planetInfo, SecondaryBody.createDefaultQuery(
+                planetID, Main.sun.getDbID(), planetInfo.getSiderealOrbitDays()).fetch());
+    }
+
+    /**
+     * Calls the private constructor with already fetched data, and adds the planet to the
+     * stage. Must be called on the JavaFX Application Thread.
+     * @param planetID The ID of the planet to be added.
+     * @param planetInfo The physical parameters of the planet
+     * @param ephemeris The fetched default ephemeris query of the planet
+     * @return The new planet
+     */
+    public static Planet createPlanet(String planetID, CelestialInfoFacade planetInfo, EphemerisQuery ephemeris) {
         Planet newPlanet = new Planet(
                 HorizonSystem.idToName(planetID),
                 planetID,
@@ -59,7 +72,9 @@ public class Planet extends SecondaryBody {
                 planetInfo.getSiderealDayHr(),
                 planetInfo.getObliquityToOrbitDeg());
 
+        newPlanet.applyEphemeris(ephemeris);
         SecondaryBody.addToStage(newPlanet);
+        return newPlanet;
     }
 
     /**
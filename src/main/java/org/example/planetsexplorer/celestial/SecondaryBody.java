@@ -1,16 +1,17 @@
 package org.example.planetsexplorer.celestial;
 
-import javafx.geometry.Point3D;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.Group;
-import javafx.scene.image.Image;
-import javafx.scene.image.PixelWriter;
-import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.CullFace;
 import javafx.scene.shape.Cylinder;
+import javafx.scene.shape.MeshView;
+import javafx.scene.transform.Affine;
 import javafx.scene.transform.Rotate;
 
 import org.example.planetsexplorer.*;
+import org.example.planetsexplorer.metrics.Metrics;
 import static org.example.planetsexplorer.HorizonSystem.pixelKmScale;
 
 import org.json.JSONObject;
@@ -75,6 +76,85 @@ public class SecondaryBody extends PrimaryBody {
      */
     private ArrayList<EphemerisCoordinateFacade> ephemerisData = new ArrayList<>();
 
+    /**
+     * A primitive copy of the scaled displacement components in {@code ephemerisData}, packed
+     * as {@code (x, y, z)} triples. Replaced, never modified, whenever the ephemeris changes,
+     * so it can be read safely off the JavaFX Application Thread.
+     * @see SecondaryBody#ephemerisData
+     */
+    private double[] ephemerisPositions = new double[0];
+
+    /**
+     * A primitive copy of the velocity components in {@code ephemerisData}, packed as
+     * {@code (vx, vy, vz)} triples. Replaced, never modified, whenever the ephemeris changes.
+     * @see SecondaryBody#ephemerisData
+     */
+    private double[] ephemerisVelocities = new double[0];
+
+    /**
+     * The ephemeris point at {@code ephemerisIndex}, reused by every position update
+     * @see SecondaryBody#getEphemerisPoint(int, double[])
+     */
+    private final double[] displayedPoint = new double[6];
+
+    /**
+     * The largest distance between this body and its {@code PrimaryBody} across the whole
+     * ephemeris. The orbit lies within a sphere of this radius around the {@code PrimaryBody}.
+     * @see SecondaryBody#ephemerisPositions
+     */
+    private double orbitBoundingRadius = 0;
+
+    /**
+     * The ephemeris points of this body counted in the {@link Metrics}, or {@code -1} once it
+     * has been removed from the stage and is no longer counted
+     */
+    private int countedPoints = 0;
+
+    /**
+     * The two-body orbit through the last fetched ephemeris point, used to extrapolate past
+     * the end of the ephemeris. {@code null} if the GM of the {@code PrimaryBody} isn't known.
+     * @see SecondaryBody#getEphemerisPoint(int, double[])
+     */
+    private KeplerOrbit keplerOrbit;
+
+    /**
+     * The last extrapolated state, in km and km/s, reused while the index doesn't change
+     */
+    private final double[] extrapolatedState = new double[6];
+
+    /**
+     * The ephemeris index {@code extrapolatedState} was propagated to, or {@code -1}
+     */
+    private int extrapolatedIndex = -1;
+
+    /**
+     * The ephemeris of this body relative to the {@link Sun}, created when first needed and
+     * dropped whenever the ephemeris or the {@code PrimaryBody} changes
+     * @see SecondaryBody#getEphemerisTrack()
+     */
+    private EphemerisTrack ephemerisTrack;
+
+    /**
+     * The track of the {@code PrimaryBody} {@code ephemerisTrack} was created on, so it is
+     * recreated once the ephemeris of the {@code PrimaryBody} changes
+     */
+    private EphemerisTrack ephemerisTrackPrimary;
+
+    /**
+     * {@code false} while the whole orbit is outside the camera's view frustum. Hides the
+     * 3D orbit path, and the 2D orbit ring is not generated.
+     * @see PlanetsCamera#updateCameraUI()
+     */
+    private final BooleanProperty orbitInView = new SimpleBooleanProperty(true);
+
+    /**
+     * The generation of the newest ephemeris request of this body. Every request takes the
+     * next generation, and a fetched result is only applied if no newer request has been made
+     * since. Read by the loader thread to skip superseded fetches.
+     * @see SecondaryBody#nextEphemerisGeneration()
+     */
+    private volatile long ephemerisGeneration = 0;
+
     /**
      * A value to check if updates to this body's displayed ephemeris are disabled or not.
      */
@@ -114,6 +194,15 @@ public class SecondaryBody extends PrimaryBody {
      */
     private final Group orbitRing = new Group();
 
+    /**
+     * A 3D Node that represents the orbit path of this body as a ribbon mesh. Used instead
+     * of {@code orbitRing} when 3D orbit paths are enabled. Its points are relative to the
+     * {@code PrimaryBody}, so it is only rebuilt when the ephemeris changes.
+     * @see OrbitPathMesh
+     * @see ViewSettings#orbitPath3DProperty()
+     */
+    private final MeshView orbitPath = new MeshView();
+
     /**
      * A 3D Node that helps visualize this body's displacement vector from its {@code PrimaryBody}.
      * The cylinder is positioned and rotated so that this body and its {@code PrimaryBody}
@@ -132,10 +221,23 @@ public class SecondaryBody extends PrimaryBody {
      */
     private final Cylinder velocityVector = new Cylinder();
 
+    /**
+     * The rotation that aligns {@code primaryConnection} with the displacement vector, and
+     * stretches it to its length. Updated in place on every position update.
+     * @see SecondaryBody#updateConnectionLine(Cylinder, Affine, double, double, double, double, double, double)
+     */
+    private final Affine primaryConnectionRotation = new Affine();
+
+    /**
+     * The rotation that aligns {@code velocityVector} with the velocity vector, and stretches it
+     * to its length. Updated in place on every position update.
+     */
+    private final Affine velocityVectorRotation = new Affine();
+
     /**
      * Constructs a {@code SecondaryBody} given all the required fields. This constructor
      * initializes the physical parameters, the Rotation and Translation transformations,
-     * the orbit ring's CSS styling, and the material type and colour of the 3D nodes.
+     * the orbit ring's CSS styling, and the shared materials of the 3D nodes.
      * @param name The unique title.
      * @param dbID The unique database id.
      * @param shapeRadius The radius of the body's shape.
@@ -163,48 +265,53 @@ public class SecondaryBody extends PrimaryBody {
                 """);
         this.orbitRing.setMouseTransparent(true);
 
+        this.orbitPath.setMaterial(OrbitPathMesh.getGradientMaterial());
+        this.orbitPath.setCullFace(CullFace.NONE);
+        this.orbitPath.setMouseTransparent(true);
+        this.orbitPath.visibleProperty().bind(
+                this.orbitRing.visibleProperty().and(ViewSettings.orbitPath3DProperty()).and(this.orbitInView));
+
         this.getShape().setTranslateX(this.primaryBody.getShape().getTranslateX() + this.orbitDistance);
         this.getShape().setTranslateY(this.primaryBody.getShape().getTranslateY());
         this.getShape().setTranslateZ(this.primaryBody.getShape().getTranslateZ());
-        this.getShape().setMaterial(new PhongMaterial(Color.ORANGE));
+        this.getShape().setMaterial(MaterialCache.getDiffuseMaterial(Color.ORANGE));
         this.getShape().getTransforms().addAll(this.tiltRotation);
 
         this.primaryConnection.setRadius(shapeRadius / 3);
-        PhongMaterial primaryConnectionMaterial = new PhongMaterial();
-        primaryConnectionMaterial.setDiffuseColor(Color.BLACK);
-        primaryConnectionMaterial.setSpecularColor(Color.BLACK);
-        primaryConnectionMaterial.setSelfIlluminationMap(createColorImage(Color.BLUE));
-        this.primaryConnection.setMaterial(primaryConnectionMaterial);
+        this.primaryConnection.setHeight(1);
+        this.primaryConnection.setMaterial(MaterialCache.getSelfIlluminatedMaterial(Color.BLUE));
+        this.primaryConnection.getTransforms().add(this.primaryConnectionRotation);
 
         this.velocityVector.setRadius(shapeRadius / 4);
-        PhongMaterial velocityVectorMaterial = new PhongMaterial();
-        velocityVectorMaterial.setDiffuseColor(Color.BLACK);
-        velocityVectorMaterial.setSpecularColor(Color.BLACK);
-        velocityVectorMaterial.setSelfIlluminationMap(createColorImage(Color.PURPLE));
-        this.velocityVector.setMaterial(velocityVectorMaterial);
+        this.velocityVector.setHeight(1);
+        this.velocityVector.setMaterial(MaterialCache.getSelfIlluminatedMaterial(Color.PURPLE));
+        this.velocityVector.getTransforms().add(this.velocityVectorRotation);
     }
 
     /**
-     * The default initializer for the {@code dateStart}, {@code dateStop}, and
-     * {@code ephemerisStepSize}. The default dateStart is the current system
-     * data and time. The dateStop is calculated using the body's
+     * Creates the default ephemeris query of a body. The default dateStart is the current
+     * system data and time. The dateStop is calculated using the body's
      * {@code orbitPeriodYear}.
      *
-     * <p> This initializer also ensures that the year limit of
-     * on the database's records is not exceeded.
+     * <p> This also ensures that the year limit of on the database's records is not exceeded.
      *
-     * <p> The default {@code ephemerisStepSize} is set so that the resulting
-     * ephemeris data has the minimal number of points in it.
+     * <p> The default step size is set so that the resulting ephemeris data has the minimal
+     * number of points in it.
      *
      * <p> If delta start/stop is {@code > 8 years}, {@code ephemerisStepSize = YEARS} <br>
      * If delta start/stop is {@code 1 - 8 years}, {@code ephemerisStepSize = MONTHS} <br>
      * If delta start/stop is {@code 1 - 8 month}, {@code ephemerisStepSize = DAYS} <br>
      * If delta start/stop is {@code 1 - 8 days}, {@code ephemerisStepSize = HOURS} <br>
      * If delta start/stop is {@code <= 3 hours}, {@code ephemerisStepSize = MINUTES} <br>
+     *
+     * @param dbID The database ID of the body
+     * @param centerID The database ID of the body's {@code PrimaryBody}
+     * @param orbitPeriodYear The time in years it takes the body to complete one whole orbit
+     * @return The unfetched default query
      */
-    public void initializeStartStop() {
-        int years = (int) this.orbitPeriodYear;
-        double fracYear = this.orbitPeriodYear - years;
+    public static EphemerisQuery createDefaultQuery(String dbID, String centerID, float orbitPeriodYear) {
+        int years = (int) orbitPeriodYear;
+        double fracYear = orbitPeriodYear - years;
 
         int fracDays = (int) (fracYear * 365);
         int months = fracDays / 31;
@@ -216,42 +323,35 @@ public class SecondaryBody extends PrimaryBody {
         double hoursLeft = (daysLeft * 24) - hours;
         int minutes = (int) (hoursLeft * 60);
 
-        this.dateStart = LocalDateTime.now();
-        this.dateStop = this.dateStart.plusYears(
+        LocalDateTime dateStart = LocalDateTime.now();
+        LocalDateTime dateStop = dateStart.plusYears(
                 years).plusMonths(months).plusDays(days).plusHours(hours).plusMinutes(minutes);
 
         // No ephemeris for target "Pluto" after A.D. 2199-DEC-29 00:00:00.0000 TDB
         if(dateStart.getYear() >= 2198) dateStart = dateStart.withYear(2199);
-        initializeStepSize(dateStart, dateStop);
-        this.initializeEphemeris();
+        return new EphemerisQuery(dbID, centerID, dateStart, dateStop, defaultStepSize(dateStart, dateStop));
     }
 
     /**
-     * Determines the default step size given a start and stop datetime
+     * Returns the default step size given a start and stop datetime
      * @param start A LocalDateTime start
      * @param stop A LocalDateTime stop
+     * @return The largest step size that still yields several points in the range
      */
-    public void initializeStepSize(LocalDateTime start, LocalDateTime stop) {
+    public static StepSize defaultStepSize(LocalDateTime start, LocalDateTime stop) {
         if(start.until(stop, ChronoUnit.HOURS) <= 3) {
-            this.ephemerisStepSize = StepSize.MINUTES;
+            return StepSize.MINUTES;
         } else if(start.until(stop, ChronoUnit.DAYS) <= 8) {
-            this.ephemerisStepSize = StepSize.HOURS;
+            return StepSize.HOURS;
         } else if(start.until(stop, ChronoUnit.MONTHS) <= 8) {
-            this.ephemerisStepSize = StepSize.DAYS;
+            return StepSize.DAYS;
         } else if(start.until(stop, ChronoUnit.YEARS) <= 8) {
-            this.ephemerisStepSize = StepSize.MONTHS;
+            return StepSize.MONTHS;
         } else {
-            this.ephemerisStepSize = StepSize.YEARS;
+            return StepSize.YEARS;
         }
     }
 
-    /**
-     * Sets the ephemeris of this body using its ephemeris fields
-     */
-    public void initializeEphemeris() {
-        this.setEphemeris(this.dateStart, this.dateStop, this.getEphemerisStepSize());
-    }
-
     /**
      * Adds a {@code SecondaryBody} and all its associated 3D and 2D UI nodes to the
      * scene of {@link Main}, then updates the camera UI.
@@ -264,6 +364,7 @@ public class SecondaryBody extends PrimaryBody {
             Main.rootScene3D.getChildren().add(secondaryBody.getShape());
             Main.rootScene3D.getChildren().add(secondaryBody.getPrimaryConnection());
             Main.rootScene3D.getChildren().add(secondaryBody.getVelocityVector());
+            Main.rootScene3D.getChildren().add(secondaryBody.getOrbitPath());
         }
 
         if(!Main.sceneRoot.getChildren().contains(secondaryBody.getOrbitRing())) {
@@ -276,8 +377,10 @@ public class SecondaryBody extends PrimaryBody {
 
     /**
      * Removes a {@code SecondaryBody} and all its associated 3D and 2D UI nodes from the
-     * scene of {@link Main}, then updates the camera UI.
-     * @param secondaryBody The body to add to the scene
+     * scene of {@link Main}, from the bodies of its {@code PrimaryBody}, and from
+     * {@link Celestial#celestialArrayList}, so it no longer takes part in the position, culling
+     * and label updates, or in searches over the loaded bodies. Then updates the camera UI.
+     * @param secondaryBody The body to remove from the scene
      * @see Main
      * @see PlanetsCamera
      */
@@ -285,62 +388,139 @@ public class SecondaryBody extends PrimaryBody {
         Main.rootScene3D.getChildren().remove(secondaryBody.getShape());
         Main.rootScene3D.getChildren().remove(secondaryBody.getPrimaryConnection());
         Main.rootScene3D.getChildren().remove(secondaryBody.getVelocityVector());
+        Main.rootScene3D.getChildren().remove(secondaryBody.getOrbitPath());
 
         Main.sceneRoot.getChildren().remove(secondaryBody.getOrbitRing());
         Main.sceneRoot.getChildren().remove(secondaryBody.getGroupUI());
+
+        secondaryBody.getPrimaryBody().removeSecondaryBody(secondaryBody);
+        secondaryBody.countEphemeris(-1);
+        celestialArrayList.remove(secondaryBody);
+        WorldPositionSolver.markDirty();
         PlanetsCamera.updateCameraUI();
     }
 
     /**
-     * Overwrites the current dateStart/Stop and ephemerisStepSize, executes the HTTP request
-     * to the database, and stores the returned ephemeris data.
-     * @param dateStart The start of the ephemeris date-time range
-     * @param dateStop The end of the ephemeris date-time range
-     * @param ephemerisStepSize The time-based increment between two sequential ephemeris points
+     * Overwrites the current dateStart/Stop and ephemerisStepSize with those of an already
+     * fetched query, and stores its ephemeris data. Supersedes any request still in flight.
+     * Must be called on the JavaFX Application Thread.
+     * @param query The fetched ephemeris query of this body
+     * @see org.example.planetsexplorer.CelestialLoader
      */
-    public void setEphemeris(LocalDateTime dateStart, LocalDateTime dateStop, StepSize ephemerisStepSize) {
-        ArrayList<EphemerisCoordinateFacade> ephemeris;
+    public void applyEphemeris(EphemerisQuery query) {
+        this.applyEphemeris(query, this.nextEphemerisGeneration());
+    }
 
-        this.dateStart = dateStart;
-        this.dateStop = dateStop;
-        this.ephemerisStepSize = ephemerisStepSize;
+    /**
+     * Applies an already fetched query unless a newer request has been made for this body
+     * since the query's generation was taken. Must be called on the JavaFX Application Thread.
+     * @param query The fetched ephemeris query of this body
+     * @param generation The generation taken when the query was made
+     * @return {@code true} if the query was applied, {@code false} if it was stale
+     */
+    public boolean applyEphemeris(EphemerisQuery query, long generation) {
+        if(!this.isEphemerisGenerationCurrent(generation)) return false;
+
+        this.dateStart = query.getDateStart();
+        this.dateStop = query.getDateStop();
+        this.ephemerisStepSize = query.getStepSize();
+
+        this.setEphemerisData(query.getEphemeris());
 
+        // An extrapolated query came from the current orbit, so it can't improve on it
+        if(!query.isExtrapolated()) this.keplerOrbit = this.createKeplerOrbit();
+        this.updateEphemerisPosition(true);
+        return true;
+    }
+
+    /**
+     * Creates the two-body orbit through the last point of the ephemeris.
+     * @return The orbit, or {@code null} if there is no ephemeris, or the GM of the
+     * {@code PrimaryBody} isn't known
+     * @see HorizonSystem#getGM(String)
+     */
+    private KeplerOrbit createKeplerOrbit() {
+        int last = this.ephemerisData.size() - 1;
+        double primaryGM = HorizonSystem.getGM(this.primaryBody.getDbID());
+        if(last < 0 || primaryGM <= 0 || this.dateStart == null || this.ephemerisStepSize == null) return null;
+
+        EphemerisCoordinateFacade point = this.ephemerisData.get(last);
         try {
-            ephemeris = HorizonSystem.getEphemeris(this.getDbID(),
-                    primaryBody.getDbID(),
-                    this.getEphemerisStartDateTimeStamp(),
-                    this.getEphemerisStopDateTimeStamp(),
-                    ephemerisStepSize);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            return new KeplerOrbit(primaryGM + HorizonSystem.getGM(this.getDbID()),
+                    this.dateStart.plus(last, this.ephemerisStepSize.getUnit()),
+                    (double) point.getX() * pixelKmScale, (double) point.getY() * pixelKmScale,
+                    (double) point.getZ() * pixelKmScale, point.getVx(), point.getVy(), point.getVz());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Could not create the two-body orbit of " + this.getName() + ": " + e.getMessage());
+            return null;
         }
+    }
 
-        this.setEphemerisData(ephemeris);
-        this.updateEphemerisPosition(true);
+    /**
+     * Returns the ephemeris point to display at an index. Past the end of the ephemeris the
+     * point is propagated from {@code keplerOrbit} if extrapolation is selected, otherwise the
+     * ephemeris repeats from its start.
+     * @param index The ephemeris index
+     * @param point Filled with the scaled displacement from the {@code PrimaryBody} and the
+     *              velocity, as {@code (x, y, z, vx, vy, vz)}
+     * @return {@code false} if this body has no ephemeris, in which case {@code point} is unchanged
+     * @see ViewSettings#extrapolationProperty()
+     */
+    public boolean getEphemerisPoint(int index, double[] point) {
+        return this.getEphemerisPoint(index, ViewSettings.isExtrapolation(), point);
+    }
+
+    /**
+     * Returns the ephemeris point at an index, extrapolating past the end of the ephemeris
+     * whatever the view settings are.
+     * @param index The ephemeris index
+     * @param extrapolate {@code true} to propagate {@code keplerOrbit} past the end of the
+     *                    ephemeris, {@code false} to repeat the ephemeris from its start
+     * @param point Filled with the scaled displacement from the {@code PrimaryBody} and the
+     *              velocity, as {@code (x, y, z, vx, vy, vz)}
+     * @return {@code false} if this body has no ephemeris, in which case {@code point} is unchanged
+     */
+    public boolean getEphemerisPoint(int index, boolean extrapolate, double[] point) {
+        int totalPoints = this.ephemerisPositions.length / 3;
+        if(totalPoints == 0) return false;
+
+        if(index >= totalPoints && this.keplerOrbit != null && extrapolate) {
+            if(index != this.extrapolatedIndex) {
+                this.keplerOrbit.propagate(this.dateStart.plus(index, this.ephemerisStepSize.getUnit()), this.extrapolatedState);
+                this.extrapolatedIndex = index;
+            }
+            for(int j=0; j < 3; j++) {
+                point[j] = this.extrapolatedState[j] / pixelKmScale;
+                point[j + 3] = this.extrapolatedState[j + 3];
+            }
+            return true;
+        }
+
+        int i = (index % totalPoints) * 3;
+        for(int j=0; j < 3; j++) {
+            point[j] = this.ephemerisPositions[i + j];
+            point[j + 3] = this.ephemerisVelocities[i + j];
+        }
+        return true;
     }
 
     /**
-     * Converts {@code dataStart} into a string that can be used in database ephemeris queries.
-     * @return {@code dataStart} as a String in format "YYYY-MM-DD HH:MM"
+     * Starts a new ephemeris request generation, making every older request stale. Must be
+     * called on the JavaFX Application Thread.
+     * @return The generation of the new request
      */
-    private String getEphemerisStartDateTimeStamp() {
-        return String.format("%02d", this.dateStart.getYear()) + "-" +
-                String.format("%02d", this.dateStart.getMonthValue()) + "-" +
-                String.format("%02d", this.dateStart.getDayOfMonth()) + " " +
-                String.format("%02d", this.dateStart.getHour()) + ":" +
-                String.format("%02d", this.dateStart.getMinute());
+    public long nextEphemerisGeneration() {
+        return ++this.ephemerisGeneration;
     }
 
     /**
-     * Converts {@code dateStop} into a string that can be used in database ephemeris queries.
-     * @return {@code dateStop} as a String in format "YYYY-MM-DD HH:MM"
+     * Returns {@code true} if no ephemeris request has been made for this body since the
+     * given generation was taken. Safe to call from any thread.
+     * @param generation The generation of a request
+     * @return {@code true} if the request is the newest one
      */
-    private String getEphemerisStopDateTimeStamp() {
-        return String.format("%02d", this.dateStop.getYear()) + "-" +
-                String.format("%02d", this.dateStop.getMonthValue()) + "-" +
-                String.format("%02d", this.dateStop.getDayOfMonth()) + " " +
-                String.format("%02d", this.dateStop.getHour()) + ":" +
-                String.format("%02d", this.dateStop.getMinute());
+    public boolean isEphemerisGenerationCurrent(long generation) {
+        return this.ephemerisGeneration == generation;
     }
 
     /**
@@ -351,87 +531,128 @@ public class SecondaryBody extends PrimaryBody {
      * and velocity Cylinder vectors of this body. Should only be false when ephemeris is changed to
      * calculate the 2D projection of the shape onto the screen. Helps reduce unneeded position updates
      * operations that aren't visible to the user.
+     *
+     * <p> This is called for every body on every tick, so it reads the primitive copies of the
+     * ephemeris, works on plain doubles, and updates the existing transforms in place instead of
+     * allocating new ones. Shapes are direct children of the untransformed 3D root, so a shape's
+     * translation is its scene position.
      * @param updateConnectionLine true when the Cylinder vectors need to be updated, else false
      * @see SecondaryBody#primaryConnection
      * @see SecondaryBody#velocityVector
      */
     public void updateEphemerisPosition(boolean updateConnectionLine) {
-        if(!this.getEphemerisData().isEmpty()) {
-            int newIndex = this.ephemerisIndex % this.getEphemerisData().size();
-            EphemerisCoordinateFacade data = this.getEphemerisData().get(newIndex);
-
-            if(this.primaryBody != null) {
-                float x = data.getX();
-                float y = data.getY();
-                float z = data.getZ();
-
-                Point3D primaryPoint = this.getPrimaryBody().getSceneCoordinates();
-                this.getShape().setTranslateX(x + primaryPoint.getX());
-                this.getShape().setTranslateY(y + primaryPoint.getY());
-                this.getShape().setTranslateZ(z + primaryPoint.getZ());
-                this.orbitDistance = (float) Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2) + Math.pow(z, 2));
-
-                if(updateConnectionLine) {
-                    float vx = (float) (data.getVx() * this.getShape().getRadius() * 2);
-                    float vy = (float) (data.getVy() * this.getShape().getRadius() * 2);
-                    float vz = (float) (data.getVz() * this.getShape().getRadius() * 2);
-
-                    Point3D startPos = this.getShape().localToScene(Point3D.ZERO);
-                    Point3D primaryPos = this.primaryBody.getShape().localToScene(Point3D.ZERO);
-                    Point3D velocityEnd = startPos.add(new Point3D(vx, vy, vz));
-
-                    this.updateConnectionLine(this.primaryConnection, startPos, primaryPos);
-                    this.updateConnectionLine(this.velocityVector, startPos, velocityEnd);
-                }
-            }
+        if(this.primaryBody == null || !this.getEphemerisPoint(this.ephemerisIndex, this.displayedPoint)) return;
+        double x = this.displayedPoint[0];
+        double y = this.displayedPoint[1];
+        double z = this.displayedPoint[2];
+
+        double primaryX = this.primaryBody.getShape().getTranslateX();
+        double primaryY = this.primaryBody.getShape().getTranslateY();
+        double primaryZ = this.primaryBody.getShape().getTranslateZ();
+
+        this.setScenePosition(x + primaryX, y + primaryY, z + primaryZ, primaryX, primaryY, primaryZ,
+                updateConnectionLine);
+    }
+
+    /**
+     * Moves this body's shape, orbit path and vector cylinders to an already solved scene
+     * position, using the ephemeris point at {@code ephemerisIndex} for the velocity.
+     * @param bodyX The X scene coordinate of this body
+     * @param bodyY The Y scene coordinate of this body
+     * @param bodyZ The Z scene coordinate of this body
+     * @param primaryX The X scene coordinate of the {@code PrimaryBody}
+     * @param primaryY The Y scene coordinate of the {@code PrimaryBody}
+     * @param primaryZ The Z scene coordinate of the {@code PrimaryBody}
+     * @param updateConnectionLine true when the Cylinder vectors need to be updated, else false
+     * @see WorldPositionSolver
+     */
+    public void setScenePosition(double bodyX, double bodyY, double bodyZ,
+                                 double primaryX, double primaryY, double primaryZ,
+                                 boolean updateConnectionLine) {
+        this.getShape().setTranslateX(bodyX);
+        this.getShape().setTranslateY(bodyY);
+        this.getShape().setTranslateZ(bodyZ);
+
+        double x = bodyX - primaryX;
+        double y = bodyY - primaryY;
+        double z = bodyZ - primaryZ;
+        this.orbitDistance = (float) Math.sqrt(x * x + y * y + z * z);
+
+        this.orbitPath.setTranslateX(primaryX);
+        this.orbitPath.setTranslateY(primaryY);
+        this.orbitPath.setTranslateZ(primaryZ);
+
+        if(updateConnectionLine && this.getEphemerisPoint(this.ephemerisIndex, this.displayedPoint)) {
+            double velocityScale = this.getShape().getRadius() * 2;
+            double vx = this.displayedPoint[3] * velocityScale;
+            double vy = this.displayedPoint[4] * velocityScale;
+            double vz = this.displayedPoint[5] * velocityScale;
+
+            this.updateConnectionLine(this.primaryConnection, this.primaryConnectionRotation,
+                    bodyX, bodyY, bodyZ, primaryX, primaryY, primaryZ);
+            this.updateConnectionLine(this.velocityVector, this.velocityVectorRotation,
+                    bodyX, bodyY, bodyZ, bodyX + vx, bodyY + vy, bodyZ + vz);
         }
     }
 
     /**
      * Helper method that calculates the length, translation, and rotation of a Cylinder so that its
-     * two ends are positioned at a given startPoint and endPoint.
+     * two ends are positioned at a given start point and end point.
+     *
+     * <p> A Cylinder's axis is its local Y-axis, so the rotation maps the Y-axis onto the
+     * direction from start to end, and the X/Z-axes onto any two perpendicular directions.
+     * The cylinder keeps a height of {@code 1}, and the rotation scales its Y-axis by the
+     * distance, since {@link Cylinder#setHeight(double)} rebuilds the cylinder's mesh.
      * @param line The cylinder to be transformed
-     * @param startPoint The starting point of the cylinder
-     * @param endPoint The ending point of the cylinder
+     * @param rotation The cylinder's rotation and scale transform, updated in place
+     * @param startX The X coordinate of the starting point of the cylinder
+     * @param startY The Y coordinate of the starting point of the cylinder
+     * @param startZ The Z coordinate of the starting point of the cylinder
+     * @param endX The X coordinate of the ending point of the cylinder
+     * @param endY The Y coordinate of the ending point of the cylinder
+     * @param endZ The Z coordinate of the ending point of the cylinder
      */
-    private void updateConnectionLine(Cylinder line, Point3D startPoint, Point3D endPoint) {
-        double distance = Math.sqrt(
-                Math.pow(endPoint.getX() - startPoint.getX(), 2) +
-                        Math.pow(endPoint.getY() - startPoint.getY(), 2) +
-                        Math.pow(endPoint.getZ() - startPoint.getZ(), 2));
-        line.setHeight(distance);
-
-        double midX = (startPoint.getX() + endPoint.getX()) / 2;
-        double midY = (startPoint.getY() + endPoint.getY()) / 2;
-        double midZ = (startPoint.getZ() + endPoint.getZ()) / 2;
-
-        line.setTranslateX(midX);
-        line.setTranslateY(midY);
-        line.setTranslateZ(midZ);
+    private void updateConnectionLine(Cylinder line, Affine rotation,
+                                      double startX, double startY, double startZ,
+                                      double endX, double endY, double endZ) {
+        double dx = endX - startX;
+        double dy = endY - startY;
+        double dz = endZ - startZ;
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+        line.setTranslateX((startX + endX) / 2);
+        line.setTranslateY((startY + endY) / 2);
+        line.setTranslateZ((startZ + endZ) / 2);
+
+        if(distance == 0) {
+            rotation.setToTransform(
+                    1, 0, 0, 0,
+                    0, 0, 0, 0,
+                    0, 0, 1, 0);
+            return;
+        }
+        double axisX = dx / distance, axisY = dy / distance, axisZ = dz / distance;
 
-        double dx = endPoint.getX() - startPoint.getX();
-        double dy = endPoint.getY() - startPoint.getY();
-        double dz = endPoint.getZ() - startPoint.getZ();
-        double theta = Math.atan(dy / dx);
-        double phi = Math.acos(dz / distance);
+        // Cross the axis with whichever of the X or Z world axes is further from parallel to it
+        double sideX, sideY, sideZ;
+        if(Math.abs(axisX) < Math.abs(axisZ)) {
+            sideX = 0; sideY = axisZ; sideZ = -axisY;     // axis × X
+        } else {
+            sideX = -axisY; sideY = axisX; sideZ = 0;     // Z × axis
+        }
+        double sideLength = Math.sqrt(sideX * sideX + sideY * sideY + sideZ * sideZ);
+        sideX /= sideLength; sideY /= sideLength; sideZ /= sideLength;
 
-        double phiDeg = Math.toDegrees(phi) - 90;
-        if(dx < 0) phiDeg = phiDeg * -1;
+        // Completes a right-handed basis: side × axis
+        double thirdX = sideY * axisZ - sideZ * axisY;
+        double thirdY = sideZ * axisX - sideX * axisZ;
+        double thirdZ = sideX * axisY - sideY * axisX;
 
-        line.getTransforms().clear();
-        line.getTransforms().addAll(
-                new Rotate(Math.toDegrees(theta) + 90, Rotate.Z_AXIS),
-                new Rotate(phiDeg, Rotate.X_AXIS)
-        );
-    }
-
-    /**
-     * Copies another {@code SecondaryBody} ephemeris date range and step size onto this body's.
-     * @param secondaryBody The {@code SecondaryBody} whose ephemeris fields are to be copied
-     * onto this body's
-     */
-    public void copyEphemerisDateRange(SecondaryBody secondaryBody) {
-        this.setEphemeris(secondaryBody.dateStart, secondaryBody.dateStop, secondaryBody.ephemerisStepSize);
+        // The Y column is the axis scaled by the distance, dx, dy and dz
+        rotation.setToTransform(
+                sideX, dx, thirdX, 0,
+                sideY, dy, thirdY, 0,
+                sideZ, dz, thirdZ, 0);
     }
 
     public float getOrbitDistance() {
@@ -447,13 +668,97 @@ public class SecondaryBody extends PrimaryBody {
     }
 
     public void setEphemerisData(ArrayList<EphemerisCoordinateFacade> ephemerisData) {
-        this.ephemerisData = ephemerisData;
+        this.ephemerisData = ephemerisData == null ? new ArrayList<>() : ephemerisData;
+
+        double[] positions = new double[ephemerisData == null ? 0 : ephemerisData.size() * 3];
+        double[] velocities = new double[positions.length];
+        double maxDistanceSquared = 0;
+        for(int i=0; i < positions.length / 3; i++) {
+            EphemerisCoordinateFacade data = ephemerisData.get(i);
+            positions[i * 3] = data.getX();
+            positions[i * 3 + 1] = data.getY();
+            positions[i * 3 + 2] = data.getZ();
+            velocities[i * 3] = data.getVx();
+            velocities[i * 3 + 1] = data.getVy();
+            velocities[i * 3 + 2] = data.getVz();
+            maxDistanceSquared = Math.max(maxDistanceSquared, positions[i * 3] * positions[i * 3] +
+                    positions[i * 3 + 1] * positions[i * 3 + 1] + positions[i * 3 + 2] * positions[i * 3 + 2]);
+        }
+        this.ephemerisPositions = positions;
+        this.ephemerisVelocities = velocities;
+        this.extrapolatedIndex = -1;
+        this.ephemerisTrack = null;
+        this.orbitBoundingRadius = Math.sqrt(maxDistanceSquared);
+        this.orbitPath.setMesh(OrbitPathMesh.build(positions));
+        this.countEphemeris(positions.length / 3);
+    }
+
+    /**
+     * Replaces the points of this body counted in the {@link Metrics}, unless it has been
+     * removed from the stage.
+     * @param points The number of points this body holds now, {@code -1} to stop counting it
+     */
+    private void countEphemeris(int points) {
+        if(this.countedPoints < 0) return;
+        int counted = Math.max(points, 0);
+        Metrics.addEphemeris(Integer.signum(counted) - Integer.signum(this.countedPoints), counted - this.countedPoints);
+        this.countedPoints = points;
+    }
+
+    /**
+     * Returns the ephemeris of this body relative to the {@link Sun}, the ephemeris of every
+     * {@code PrimaryBody} it orbits added to its own. Created once, and recreated only after
+     * the ephemeris of this body or of a {@code PrimaryBody} changes. Must be called on the
+     * JavaFX Application Thread.
+     * @return The track, or {@code null} if this body has no ephemeris, or a {@code PrimaryBody}
+     * has none at one of its date-times
+     */
+    public EphemerisTrack getEphemerisTrack() {
+        EphemerisTrack primaryTrack = null;
+        if(this.primaryBody instanceof SecondaryBody primary) {
+            primaryTrack = primary.getEphemerisTrack();
+            if(primaryTrack == null) return null;
+        }
+
+        if(this.ephemerisTrack == null || this.ephemerisTrackPrimary != primaryTrack) {
+            this.ephemerisTrack = EphemerisTrack.of(this, primaryTrack);
+            this.ephemerisTrackPrimary = primaryTrack;
+        }
+        return this.ephemerisTrack;
+    }
+
+    public KeplerOrbit getKeplerOrbit() {
+        return keplerOrbit;
+    }
+
+    public double[] getEphemerisPositions() {
+        return ephemerisPositions;
+    }
+
+    public double[] getEphemerisVelocities() {
+        return ephemerisVelocities;
+    }
+
+    public double getOrbitBoundingRadius() {
+        return orbitBoundingRadius;
+    }
+
+    public boolean isOrbitInView() {
+        return orbitInView.get();
+    }
+
+    public void setOrbitInView(boolean orbitInView) {
+        this.orbitInView.set(orbitInView);
     }
 
     public Group getOrbitRing() {
         return orbitRing;
     }
 
+    public MeshView getOrbitPath() {
+        return orbitPath;
+    }
+
     public PrimaryBody getPrimaryBody() {
         return primaryBody;
     }
@@ -494,12 +799,38 @@ public class SecondaryBody extends PrimaryBody {
         return velocityVector;
     }
 
+    /**
+     * Returns the length of {@code primaryConnection}, which its height doesn't hold.
+     * @return The distance between this body and its {@code PrimaryBody} in the scene
+     * @see SecondaryBody#updateConnectionLine(Cylinder, Affine, double, double, double, double, double, double)
+     */
+    public double getPrimaryConnectionLength() {
+        return axisLength(primaryConnectionRotation);
+    }
+
+    public double getVelocityVectorLength() {
+        return axisLength(velocityVectorRotation);
+    }
+
+    /**
+     * Returns how far a connection cylinder's transform stretches its Y-axis.
+     * @param rotation The cylinder's rotation and scale transform
+     * @return The length of the cylinder
+     */
+    private static double axisLength(Affine rotation) {
+        double x = rotation.getMxy(), y = rotation.getMyy(), z = rotation.getMzy();
+        return Math.sqrt(x * x + y * y + z * z);
+    }
+
     public void setEphemerisStepSize(StepSize ephemerisStepSize) {
         this.ephemerisStepSize = ephemerisStepSize;
     }
 
     public void setPrimaryBody(PrimaryBody primaryBody) {
         this.primaryBody = primaryBody;
+        this.keplerOrbit = null;
+        this.ephemerisTrack = null;
+        WorldPositionSolver.markDirty();
     }
 
     public LocalDateTime getDateStart() {
@@ -509,17 +840,4 @@ public class SecondaryBody extends PrimaryBody {
     public LocalDateTime getDateStop() {
         return dateStop;
     }
-
-    /**
-     * Creates a 1x1 pixel image of the specified color for use as a self-illumination map.
-     * This allows the material to appear unaffected by lighting.
-     * @param color The color for the self-illumination
-     * @return A 1x1 Image with the specified color
-     */
-    private static Image createColorImage(Color color) {
-        WritableImage image = new WritableImage(1, 1);
-        PixelWriter writer = image.getPixelWriter();
-        writer.setColor(0, 0, color);
-        return image;
-    }
 }
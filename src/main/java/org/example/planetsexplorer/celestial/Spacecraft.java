@@ -1,11 +1,15 @@
 package org.example.planetsexplorer.celestial;
 
+import org.example.planetsexplorer.CelestialLoader;
+import org.example.planetsexplorer.CoverageWindows;
 import org.example.planetsexplorer.HorizonSystem;
 import org.example.planetsexplorer.Main;
 import org.example.planetsexplorer.StepSize;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A {@code Spacecraft} is any {@link Celestial} that is launched from earth to
@@ -22,12 +26,24 @@ import java.time.temporal.ChronoUnit;
  */
 public class Spacecraft extends SecondaryBody {
     /**
-     * Constructs a {@code Spacecraft} given its name and database ID.
+     * Constructs a {@code Spacecraft} given its name and database ID. The ephemeris is
+     * applied separately.
      * @param name The name of the {@code Spacecraft}
      * @param dbID The database ID of the {@code Spacecraft}
+     * @see Spacecraft#createSpacecraft(String, String, List)
      */
     private Spacecraft(String name, String dbID) {
         super(name, dbID, 1, Main.sun, 1, 1, 0);
+    }
+
+    /**
+     * Queries the database for the date-time range a {@code Spacecraft} has ephemeris for.
+     * Blocks on two sequential HTTP requests, so callers should ask {@link CoverageWindows}
+     * instead, which remembers the ranges it has discovered.
+     * @param dbID The database ID of the {@code Spacecraft}
+     * @return The start and stop of the range, in that order
+     */
+    public static LocalDateTime[] fetchDateRange(String dbID) {
         String startEphem = HorizonSystem.getSpacecraftStartTimestamp(dbID);
         String endEphem = HorizonSystem.getSpacecraftStopTimestamp(dbID, startEphem);
 
@@ -47,16 +63,29 @@ public class Spacecraft extends SecondaryBody {
                 Integer.parseInt(endEphem.substring(12, 14)),
                 Integer.parseInt(endEphem.substring(15, 17))
         );
-        this.initializeStepSize(dateStart, dateStop);
+        return new LocalDateTime[] {dateStart, dateStop};
+    }
+
+    /**
+     * Creates the ephemeris queries needed to show a new {@code Spacecraft}: one for the
+     * {@code Spacecraft} itself, and one for each sibling {@code SecondaryBody} of the
+     * {@code Sun}, so that every sibling is drawn over the same date range. Must be called on
+     * the JavaFX Application Thread, since it reads the current siblings.
+     * @param dbID The database ID of the {@code Spacecraft}
+     * @param dateStart The start of the {@code Spacecraft}'s date-time range
+     * @param dateStop The end of the {@code Spacecraft}'s date-time range
+     * @return The unfetched queries, with the {@code Spacecraft}'s own query first
+     */
+    public static ArrayList<EphemerisQuery> createRangeQueries(String dbID, LocalDateTime dateStart, LocalDateTime dateStop) {
+        StepSize stepSize = SecondaryBody.defaultStepSize(dateStart, dateStop);
+        ArrayList<EphemerisQuery> queries = new ArrayList<>();
+        queries.add(new EphemerisQuery(dbID, Main.sun.getDbID(), dateStart, dateStop, stepSize));
 
-        // Copy the ephemeris date range of this Spacecraft onto it's primaryBody
-        if(this.getPrimaryBody() instanceof SecondaryBody secBody)
-            secBody.setEphemeris(dateStart, dateStop, this.getEphemerisStepSize());
+        for(SecondaryBody sibling: Main.sun.getSecondaryBodies())
+            if(!sibling.getDbID().equals(dbID))
+                queries.add(new EphemerisQuery(sibling.getDbID(), Main.sun.getDbID(), dateStart, dateStop, stepSize));
 
-        // Copy the ephemeris date range of this Spacecraft onto it's sibling secondaryBodies
-        for(SecondaryBody secondaryBody: this.getPrimaryBody().getSecondaryBodies()) {
-            secondaryBody.setEphemeris(dateStart, dateStop, this.getEphemerisStepSize());
-        }
+        return queries;
     }
 
     /**
@@ -66,7 +95,7 @@ public class Spacecraft extends SecondaryBody {
      * @param month The 3-letter abbreviation of a month (case-insensitive)
      * @return The numeric month-of-the-year
      */
-    private int convertMonthAbbreviationToNumber(String month) {
+    private static int convertMonthAbbreviationToNumber(String month) {
         if (month == null || month.length() != 3)
             throw new IllegalArgumentException("Month must be a three letter string");
 
@@ -88,13 +117,46 @@ public class Spacecraft extends SecondaryBody {
     }
 
     /**
-     * Creates a {@code Spacecraft} without leaving an unused variable.
+     * Creates a {@code Spacecraft}, finding its date-time range and fetching the ephemeris of it and
+     * its siblings over that range. Blocks on the HTTP requests.
      * @param name The name of the {@code Spacecraft}
      * @param dbID The database ID of the {@code Spacecraft}
+     * @see org.example.planetsexplorer.CelestialLoader#loadSpacecraft(String, String)
      */
     public static void createSpacecraft(String name, String dbID) {
+        LocalDateTime[] range = CoverageWindows.getWindow(dbID);
+        ArrayList<EphemerisQuery> queries = createRangeQueries(dbID, range[0], range[1]);
+        for(EphemerisQuery query: queries)
+            query.fetch();
+        createSpacecraft(name, dbID, queries);
+    }
+
+    /**
+     * Creates a {@code Spacecraft} from already fetched queries, copies the date-time range
+     * onto its siblings, and adds it to the scene. Must be called on the JavaFX Application
+     * Thread.
+     * @param name The name of the {@code Spacecraft}
+     * @param dbID The database ID of the {@code Spacecraft}
+     * @param queries The fetched queries returned by {@code createRangeQueries}
+     * @return The new {@code Spacecraft}
+     */
+    public static Spacecraft createSpacecraft(String name, String dbID, List<EphemerisQuery> queries) {
         Spacecraft spacecraft = new Spacecraft(name, dbID);
+
+        // Copy the ephemeris date range of this Spacecraft onto it's sibling secondaryBodies
+        for(EphemerisQuery query: queries) {
+            if(query.getDbID().equals(dbID)) {
+                spacecraft.applyEphemeris(query);
+                continue;
+            }
+
+            for(SecondaryBody sibling: spacecraft.getPrimaryBody().getSecondaryBodies())
+                if(sibling.getDbID().equals(query.getDbID()))
+                    sibling.applyEphemeris(query);
+        }
+
         SecondaryBody.addToStage(spacecraft);
+        return spacecraft;
     }
 
     /**
@@ -115,12 +177,46 @@ public class Spacecraft extends SecondaryBody {
     }
 
     /**
-     * Changes the {@code PrimaryBody} of a {@code Spacecraft}
+     * Changes the {@code PrimaryBody} of a {@code Spacecraft}, and re-centers its ephemeris on
+     * it. The ephemeris is derived locally from the tracks of this {@code Spacecraft} and the
+     * new {@code PrimaryBody} when the new {@code PrimaryBody} has ephemeris at every date-time
+     * of this one's, and fetched again in the background otherwise. Must be called on the
+     * JavaFX Application Thread.
      * @param primaryBody The new {@code PrimaryBody} of this {@code Spacecraft}.
+     * @return {@code true} if the ephemeris was derived locally, {@code false} if it is being fetched
+     * @see EphemerisTrack#relativeTo(EphemerisTrack)
      */
-    public void changePrimaryBody(PrimaryBody primaryBody) {
+    public boolean changePrimaryBody(PrimaryBody primaryBody) {
+        // A body can't orbit itself, or a body that orbits it
+        for(PrimaryBody body = primaryBody; body instanceof SecondaryBody secondary; body = secondary.getPrimaryBody()) {
+            if(body == this) {
+                System.err.println(this.getName() + " can't orbit " + primaryBody.getName());
+                return false;
+            }
+        }
+        if(primaryBody == this.getPrimaryBody()) return true;
+
+        // Both tracks are in the Sun's frame, so they must be taken before the primary changes
+        EphemerisTrack track = this.getEphemerisTrack();
+        EphemerisTrack centerTrack = primaryBody instanceof SecondaryBody center ? center.getEphemerisTrack() : null;
+        boolean centerLoaded = !(primaryBody instanceof SecondaryBody) || centerTrack != null;
+
         this.getPrimaryBody().removeSecondaryBody(this);
-        this.getPrimaryBody().addSecondaryBody(this);
         this.setPrimaryBody(primaryBody);
+        primaryBody.addSecondaryBody(this);
+
+        if(track != null && centerLoaded) {
+            try {
+                this.applyEphemeris(new EphemerisQuery(this.getDbID(), primaryBody.getDbID(), this.getDateStart(),
+                        this.getDateStop(), this.getEphemerisStepSize()).recenter(track, centerTrack));
+                return true;
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage() + ", fetching it again");
+            }
+        }
+        // Until it arrives, the old ephemeris is shown around the new PrimaryBody
+        if(this.getDateStart() != null)
+            CelestialLoader.loadEphemeris(this, List.of(this), this.getDateStart(), this.getDateStop(), this.getEphemerisStepSize());
+        return false;
     }
 }
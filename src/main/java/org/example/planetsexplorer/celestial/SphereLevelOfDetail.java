@@ -0,0 +1,64 @@
+package org.example.planetsexplorer.celestial;
+
+/**
+ * The level-of-detail policy for the {@code Sphere} of a {@link Celestial}. The number
+ * of divisions is picked from the radius of the sphere once projected onto the screen,
+ * so sub-pixel bodies are drawn with very few triangles and nearby bodies with many.
+ *
+ * <p> A sphere only drops to a coarser level once its projected radius falls well below
+ * that level's threshold, so a body sitting on a threshold does not keep being rebuilt.
+ *
+ * @see Celestial#setShapeDivisions(int)
+ */
+public final class SphereLevelOfDetail {
+    /**
+     * The smallest projected radius in pixels at which each level is used
+     */
+    private static final double[] minRadiusPx = {0, 1, 4, 16, 64};
+
+    /**
+     * The sphere divisions of each level
+     */
+    private static final int[] levelDivisions = {4, 8, 16, 32, 64};
+
+    /**
+     * The fraction of a level's threshold the projected radius must fall below
+     * before the sphere drops to a coarser level
+     */
+    private static final double hysteresis = 0.75;
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private SphereLevelOfDetail() {}
+
+    /**
+     * Returns the sphere divisions for a projected radius.
+     * @param radiusPx The radius of the sphere projected onto the screen in pixels
+     * @param currentDivisions The divisions the sphere currently has
+     * @return The divisions the sphere should have
+     */
+    public static int divisionsFor(double radiusPx, int currentDivisions) {
+        int level = 0;
+        while(level + 1 < minRadiusPx.length && radiusPx >= minRadiusPx[level + 1]) level++;
+
+        // Only drop below the current level once the radius is clearly under its threshold
+        for(int current=level + 1; current < levelDivisions.length; current++) {
+            if(levelDivisions[current] == currentDivisions && radiusPx >= minRadiusPx[current] * hysteresis)
+                return currentDivisions;
+        }
+
+        return levelDivisions[level];
+    }
+
+    /**
+     * Returns the number of triangles in a JavaFX {@code Sphere} mesh.
+     * @param divisions The divisions of the sphere
+     * @return The triangle count of the sphere
+     */
+    public static int triangleCount(int divisions) {
+        // The mesh has divisions segments around and divisions / 2 rings, with single triangles at the poles
+        int rings = divisions / 2;
+        return 2 * divisions * (rings - 1);
+    }
+}
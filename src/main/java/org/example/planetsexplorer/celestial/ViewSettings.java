@@ -0,0 +1,49 @@
+package org.example.planetsexplorer.celestial;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+
+/**
+ * The display settings shared by every {@link Celestial}. The bodies bind their nodes to
+ * these properties, and the UI binds them to its controls, so the bodies don't depend on
+ * the UI that sets them.
+ *
+ * <p> Only to be used on the JavaFX Application Thread.
+ *
+ * @see org.example.planetsexplorer.PlanetViewer
+ */
+public final class ViewSettings {
+    /**
+     * {@code true} while orbits are drawn as 3D paths instead of the 2D overlay
+     * @see SecondaryBody#getOrbitPath()
+     */
+    private static final BooleanProperty orbitPath3D = new SimpleBooleanProperty(false);
+
+    /**
+     * {@code true} while bodies past the end of their ephemeris are placed on their two-body
+     * orbit, instead of repeating their ephemeris from its start
+     * @see SecondaryBody#getEphemerisPoint(int, double[])
+     */
+    private static final BooleanProperty extrapolation = new SimpleBooleanProperty(true);
+
+    /**
+     * Don't let this class be instantiated
+     */
+    private ViewSettings() {}
+
+    public static BooleanProperty orbitPath3DProperty() {
+        return orbitPath3D;
+    }
+
+    public static boolean isOrbitPath3D() {
+        return orbitPath3D.get();
+    }
+
+    public static BooleanProperty extrapolationProperty() {
+        return extrapolation;
+    }
+
+    public static boolean isExtrapolation() {
+        return extrapolation.get();
+    }
+}
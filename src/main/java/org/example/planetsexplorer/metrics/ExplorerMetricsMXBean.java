@@ -0,0 +1,39 @@
+package org.example.planetsexplorer.metrics;
+
+/**
+ * The management interface of the gauges of a running explorer: the response cache, the
+ * requests in flight, and the ephemeris held by the loaded bodies.
+ *
+ * @see Metrics
+ */
+public interface ExplorerMetricsMXBean {
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    int getCacheSize();
+
+    long getCacheChars();
+
+    /**
+     * Returns the number of requests of every {@link QueryType} waiting for a response, or for
+     * their turn under the rate limit.
+     * @return The number of requests in flight
+     */
+    int getInFlightRequests();
+
+    /**
+     * Returns the number of loaded bodies that have ephemeris.
+     * @return The number of bodies
+     */
+    int getEphemerisBodies();
+
+    long getEphemerisPoints();
+
+    /**
+     * Returns an estimate of the heap the ephemeris of the loaded bodies takes, counting both
+     * the fetched points and their primitive copies.
+     * @return The estimate in bytes
+     */
+    long getEphemerisBytes();
+}
@@ -0,0 +1,132 @@
+package org.example.planetsexplorer.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations that any number of threads can record into without locking.
+ *
+ * <p> Durations are counted in buckets of whole microseconds. Every power of two is split into
+ * {@code subBuckets} buckets of equal width, so a percentile is accurate to within a quarter of
+ * its power of two, from a microsecond up to hours, in a fixed {@code 2 KB}. A percentile is
+ * reported as the upper end of its bucket, never below the true value. The mean and maximum
+ * are exact.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    /**
+     * The number of buckets every power of two is split into
+     */
+    private static final int subBuckets = 4;
+
+    /**
+     * Enough buckets for every duration a {@code long} of microseconds can hold
+     */
+    private static final int bucketCount = 256;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(bucketCount);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a duration.
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if(nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucketOf(nanos / 1000));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Returns the duration a fraction of the recorded durations are at or below.
+     * @param fraction The fraction, from {@code 0} to {@code 1}
+     * @return The duration in milliseconds, or {@code 0} if nothing has been recorded
+     */
+    public double getPercentileMillis(double fraction) {
+        long total = 0;
+        long[] counts = new long[bucketCount];
+        for(int i=0; i < bucketCount; i++) total += counts[i] = buckets.get(i);
+        if(total == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for(int i=0; i < bucketCount; i++) {
+            seen += counts[i];
+            if(seen >= target) return Math.min(bucketUpperMicros(i) / 1e3, getMaxMillis());
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Returns the bucket a duration is counted in. Below {@code subBuckets} microseconds every
+     * microsecond has its own bucket, above it the two bits after the leading one pick the
+     * bucket within its power of two.
+     * @param micros The duration in microseconds
+     * @return The index of the bucket
+     */
+    private static int bucketOf(long micros) {
+        if(micros < subBuckets) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 2)) & (subBuckets - 1);
+        return subBuckets * (exponent - 1) + sub;
+    }
+
+    /**
+     * Returns the end of the range of durations a bucket counts.
+     * @param bucket The index of the bucket
+     * @return The smallest duration in microseconds above the bucket
+     * @see LatencyHistogram#bucketOf(long)
+     */
+    private static long bucketUpperMicros(int bucket) {
+        if(bucket < subBuckets) return bucket + 1;
+        int exponent = bucket / subBuckets + 1;
+        int sub = bucket % subBuckets;
+        return (long) (subBuckets + sub + 1) << (exponent - 2);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : totalNanos.sum() / (recorded * 1e6);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return getPercentileMillis(0.5);
+    }
+
+    @Override
+    public double getP90Millis() {
+        return getPercentileMillis(0.9);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return getPercentileMillis(0.99);
+    }
+
+    /**
+     * Forgets every recorded duration. Durations recorded while it runs may be partly kept.
+     */
+    @Override
+    public void reset() {
+        for(int i=0; i < bucketCount; i++) buckets.set(i, 0);
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
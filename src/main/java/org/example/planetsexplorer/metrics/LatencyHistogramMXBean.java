@@ -0,0 +1,23 @@
+package org.example.planetsexplorer.metrics;
+
+/**
+ * The management interface of a {@link LatencyHistogram}. Durations are in milliseconds.
+ */
+public interface LatencyHistogramMXBean {
+    long getCount();
+
+    double getMeanMillis();
+
+    double getMaxMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    /**
+     * Forgets every recorded duration.
+     */
+    void reset();
+}
@@ -0,0 +1,202 @@
+package org.example.planetsexplorer.metrics;
+
+import org.example.planetsexplorer.HorizonCache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A static helper class that keeps the metrics of a running explorer, and exposes them as
+ * MXBeans on the platform MBean server, so JConsole, VisualVM or any JMX client can watch them.
+ *
+ * <p> Metrics are recorded from the moment the classes recording them are used, and can be read
+ * in process with the getters here. They are visible over JMX once {@link #register()} has run,
+ * under the domain {@value #domain}:
+ * <ul>
+ *     <li>{@code type=Explorer}: the response cache, the requests in flight, and the ephemeris in memory</li>
+ *     <li>{@code type=Query,name=<QueryType>}: the requests, cache hits, failures, bytes and rows of a kind of query</li>
+ *     <li>{@code type=QueryLatency,name=<QueryType>}: the latency of its requests</li>
+ *     <li>{@code type=ParseTime,name=<QueryType>}: the time its responses take to parse</li>
+ *     <li>{@code type=FrameTime,name=pulse}: the scene update of a pulse, from input to overlays</li>
+ *     <li>{@code type=FrameTime,name=updateEphemeris} and {@code name=updateCameraUI}: its two parts</li>
+ *     <li>{@code type=Startup}: the time to the first frame, to the controls, and of every startup phase</li>
+ * </ul>
+ *
+ * <p> Attach to a running explorer with {@code jconsole}, or start it with
+ * {@code -Dcom.sun.management.jmxremote.port=<port>} to be watched remotely.
+ *
+ * @see QueryMetrics
+ * @see LatencyHistogram
+ */
+public final class Metrics {
+    /**
+     * Don't let this class be instantiated
+     */
+    private Metrics() {}
+
+    /**
+     * The JMX domain every MXBean is registered under
+     */
+    public static final String domain = "org.example.planetsexplorer";
+
+    /**
+     * A rough size of an {@code EphemerisCoordinateFacade} with its {@code JSONObject} of six
+     * boxed floats, on a 64-bit JVM with compressed pointers
+     */
+    private static final long facadeBytes = 450;
+
+    /**
+     * The size of the primitive copies of a point, six doubles
+     */
+    private static final long primitiveBytes = 6 * Double.BYTES;
+
+    private static final EnumMap<QueryType, QueryMetrics> queryMetrics = new EnumMap<>(QueryType.class);
+
+    /**
+     * The requests of every {@link QueryType} in flight, kept by the {@link QueryMetrics}
+     */
+    static final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * The loaded bodies that have ephemeris, kept by the bodies themselves
+     * @see Metrics#addEphemeris(int, long)
+     */
+    private static final AtomicInteger ephemerisBodies = new AtomicInteger();
+
+    /**
+     * The ephemeris points held by the loaded bodies
+     */
+    private static final AtomicLong ephemerisPoints = new AtomicLong();
+
+    private static final LatencyHistogram pulseTimes = new LatencyHistogram();
+    private static final LatencyHistogram ephemerisUpdateTimes = new LatencyHistogram();
+    private static final LatencyHistogram cameraUIUpdateTimes = new LatencyHistogram();
+    private static final StartupMetrics startupMetrics = new StartupMetrics();
+
+    private static boolean registered = false;
+
+    static {
+        for(QueryType type: QueryType.values()) queryMetrics.put(type, new QueryMetrics());
+    }
+
+    /**
+     * Registers every MXBean on the platform MBean server. Only the first call registers them,
+     * and a bean that can't be registered is skipped, so monitoring never stops the explorer.
+     */
+    public static synchronized void register() {
+        if(registered) return;
+        registered = true;
+
+        register("type=Explorer", new ExplorerMetrics());
+        for(QueryType type: QueryType.values()) {
+            QueryMetrics metrics = queryMetrics.get(type);
+            register("type=Query,name=" + type, metrics);
+            register("type=QueryLatency,name=" + type, metrics.getLatency());
+            register("type=ParseTime,name=" + type, metrics.getParseTime());
+        }
+        register("type=FrameTime,name=pulse", pulseTimes);
+        register("type=FrameTime,name=updateEphemeris", ephemerisUpdateTimes);
+        register("type=FrameTime,name=updateCameraUI", cameraUIUpdateTimes);
+        register("type=Startup", startupMetrics);
+    }
+
+    /**
+     * Registers one MXBean under the domain.
+     * @param properties The key properties of its name
+     * @param bean The MXBean
+     */
+    private static void register(String properties, Object bean) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(bean, new ObjectName(domain + ":" + properties));
+        } catch (JMException e) {
+            System.err.println("Could not register the " + properties + " metrics: " + e);
+        }
+    }
+
+    /**
+     * Counts a change of the ephemeris held by the loaded bodies. Called by a body when its
+     * ephemeris is replaced, and when it is removed, so the gauges never read the bodies
+     * themselves.
+     * @param bodies The change in the number of bodies with ephemeris
+     * @param points The change in the number of points
+     */
+    public static void addEphemeris(int bodies, long points) {
+        ephemerisBodies.addAndGet(bodies);
+        ephemerisPoints.addAndGet(points);
+    }
+
+    public static QueryMetrics getQueryMetrics(QueryType type) {
+        return queryMetrics.get(type);
+    }
+
+    /**
+     * Returns the timings of the scene updates, one per pulse with pending input or playback.
+     * @return The histogram of the pulse updates
+     */
+    public static LatencyHistogram getPulseTimes() {
+        return pulseTimes;
+    }
+
+    public static LatencyHistogram getEphemerisUpdateTimes() {
+        return ephemerisUpdateTimes;
+    }
+
+    public static LatencyHistogram getCameraUIUpdateTimes() {
+        return cameraUIUpdateTimes;
+    }
+
+    public static StartupMetrics getStartupMetrics() {
+        return startupMetrics;
+    }
+
+    /**
+     * The gauges of the explorer, read when the bean is.
+     */
+    private static final class ExplorerMetrics implements ExplorerMetricsMXBean {
+        @Override
+        public long getCacheHits() {
+            return HorizonCache.getHits();
+        }
+
+        @Override
+        public long getCacheMisses() {
+            return HorizonCache.getMisses();
+        }
+
+        @Override
+        public int getCacheSize() {
+            return HorizonCache.getSize();
+        }
+
+        @Override
+        public long getCacheChars() {
+            return HorizonCache.getTotalChars();
+        }
+
+        @Override
+        public int getInFlightRequests() {
+            return inFlight.get();
+        }
+
+        @Override
+        public int getEphemerisBodies() {
+            return ephemerisBodies.get();
+        }
+
+        @Override
+        public long getEphemerisPoints() {
+            return ephemerisPoints.get();
+        }
+
+        @Override
+        public long getEphemerisBytes() {
+            return getEphemerisPoints() * (facadeBytes + primitiveBytes);
+        }
+    }
+}
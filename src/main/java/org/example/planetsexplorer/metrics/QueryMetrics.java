@@ -0,0 +1,119 @@
+package org.example.planetsexplorer.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters and timings of the queries of one {@link QueryType}, recorded by
+ * {@link org.example.planetsexplorer.HorizonSystem}.
+ *
+ * <p> The latency of a request runs from the moment it may start under the rate limit until
+ * its whole response has been read, so it measures the database and the network rather than
+ * the rate limit. The parse time runs from the response to the parsed result.
+ *
+ * @see Metrics#getQueryMetrics(QueryType)
+ */
+public final class QueryMetrics implements QueryMetricsMXBean {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder rowsReceived = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram parseTime = new LatencyHistogram();
+
+    QueryMetrics() {}
+
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    /**
+     * Counts a request that is about to wait for its turn and be sent. Every call must be
+     * followed by {@link #requestFinished(long, long)} or {@link #requestFailed()}.
+     */
+    public void requestStarted() {
+        requests.increment();
+        inFlight.incrementAndGet();
+        Metrics.inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records a request whose response was read completely.
+     * @param nanos The latency of the request in nanoseconds
+     * @param bytes The size of the response
+     */
+    public void requestFinished(long nanos, long bytes) {
+        inFlight.decrementAndGet();
+        Metrics.inFlight.decrementAndGet();
+        latency.record(nanos);
+        bytesReceived.add(bytes);
+    }
+
+    /**
+     * Records a request that failed or was aborted before its response was read.
+     */
+    public void requestFailed() {
+        inFlight.decrementAndGet();
+        Metrics.inFlight.decrementAndGet();
+        failures.increment();
+    }
+
+    /**
+     * Records the parsing of a response.
+     * @param nanos The parse time in nanoseconds
+     * @param rows The number of rows parsed, {@code 0} if the response has none
+     */
+    public void recordParse(long nanos, long rows) {
+        parseTime.record(nanos);
+        rowsReceived.add(rows);
+    }
+
+    /**
+     * Counts rows parsed from a response whose parse time isn't recorded, because they are
+     * handed to a consumer as they are parsed.
+     * @param rows The number of rows
+     */
+    public void recordRows(long rows) {
+        rowsReceived.add(rows);
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getParseTime() {
+        return parseTime;
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public long getRowsReceived() {
+        return rowsReceived.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.planetsexplorer.metrics;
+
+/**
+ * The management interface of the {@link QueryMetrics} of one {@link QueryType}. The latency
+ * and parse time of the queries are separate {@link LatencyHistogramMXBean}s.
+ */
+public interface QueryMetricsMXBean {
+    /**
+     * Returns the number of queries sent to the database, whether they succeeded or not.
+     * @return The number of requests
+     */
+    long getRequests();
+
+    /**
+     * Returns the number of queries answered from the cache, without a request.
+     * @return The number of cache hits
+     */
+    long getCacheHits();
+
+    long getFailures();
+
+    /**
+     * Returns the number of requests waiting for a response, or for their turn under the rate
+     * limit.
+     * @return The number of requests in flight
+     */
+    int getInFlight();
+
+    long getBytesReceived();
+
+    /**
+     * Returns the number of ephemeris rows, or catalog entries, parsed from the responses.
+     * @return The number of rows
+     */
+    long getRowsReceived();
+}
@@ -0,0 +1,27 @@
+package org.example.planetsexplorer.metrics;
+
+/**
+ * The kinds of query {@link org.example.planetsexplorer.HorizonSystem} makes to the database,
+ * which the {@link Metrics} are kept apart by.
+ */
+public enum QueryType {
+    /**
+     * The physical data of a body
+     */
+    BODY,
+
+    /**
+     * A CSV of position and velocity vectors
+     */
+    EPHEMERIS,
+
+    /**
+     * The list of every body, that the lookup tables are built from
+     */
+    CATALOG,
+
+    /**
+     * The first or last date-time a spacecraft has ephemeris for
+     */
+    COVERAGE
+}
@@ -0,0 +1,69 @@
+package org.example.planetsexplorer.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The startup times of the explorer, recorded once by the startup sequence from any thread.
+ *
+ * @see Metrics#getStartupMetrics()
+ */
+public final class StartupMetrics implements StartupMetricsMXBean {
+    private volatile long firstFrameNanos = -1;
+    private volatile long interactiveNanos = -1;
+    private final ConcurrentHashMap<String, Long> phaseNanos = new ConcurrentHashMap<>();
+
+    StartupMetrics() {}
+
+    /**
+     * Records the time from launch to the first frame.
+     * @param nanos The time in nanoseconds
+     */
+    public void recordFirstFrame(long nanos) {
+        firstFrameNanos = nanos;
+    }
+
+    /**
+     * Records the time from launch to the controls being shown.
+     * @param nanos The time in nanoseconds
+     */
+    public void recordInteractive(long nanos) {
+        interactiveNanos = nanos;
+    }
+
+    /**
+     * Records the duration of a background phase of startup.
+     * @param phase The name of the phase
+     * @param nanos The duration in nanoseconds
+     */
+    public void recordPhase(String phase, long nanos) {
+        phaseNanos.put(phase, nanos);
+    }
+
+    @Override
+    public long getFirstFrameMillis() {
+        return toMillis(firstFrameNanos);
+    }
+
+    @Override
+    public long getInteractiveMillis() {
+        return toMillis(interactiveNanos);
+    }
+
+    @Override
+    public Map<String, Long> getPhaseMillis() {
+        TreeMap<String, Long> millis = new TreeMap<>();
+        phaseNanos.forEach((phase, nanos) -> millis.put(phase, toMillis(nanos)));
+        return millis;
+    }
+
+    /**
+     * Converts a time to milliseconds, keeping {@code -1} for a time not measured yet.
+     * @param nanos The time in nanoseconds, or {@code -1}
+     * @return The time in milliseconds, or {@code -1}
+     */
+    private static long toMillis(long nanos) {
+        return nanos < 0 ? -1 : nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.planetsexplorer.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of the startup times of the explorer. Durations are in milliseconds,
+ * and {@code -1} until they have been measured.
+ *
+ * @see StartupMetrics
+ */
+public interface StartupMetricsMXBean {
+    /**
+     * Returns the time from launch to the first frame of the 3D window.
+     * @return The time in milliseconds
+     */
+    long getFirstFrameMillis();
+
+    /**
+     * Returns the time from launch to the controls being shown.
+     * @return The time in milliseconds
+     */
+    long getInteractiveMillis();
+
+    /**
+     * Returns the duration of every background phase of startup that has finished.
+     * @return The durations in milliseconds by the name of their phase
+     */
+    Map<String, Long> getPhaseMillis();
+}
@@ -0,0 +1,58 @@
+package org.example.planetsexplorer;
+
+import org.example.planetsexplorer.celestial.EphemerisQuery;
+import org.example.planetsexplorer.celestial.EphemerisTrack;
+import org.example.planetsexplorer.celestial.KeplerOrbit;
+import org.example.planetsexplorer.celestial.SecondaryBody;
+import org.example.planetsexplorer.celestial.Sun;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.example.planetsexplorer.FxTestSupport.callOnFxThread;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CloseApproachSearchTest {
+    private static final double sunGM = 1.32712440018e11;
+    private static final double radius = 1.496e8;
+    private static final LocalDateTime start = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    /**
+     * Creates the track of a body with ten daily points propagated along an orbit.
+     * @param sun The {@code Sun} the body orbits
+     * @param dbID The database ID of the body
+     * @param orbit The orbit of the body
+     * @param dateStart The date-time of the first point
+     * @return The track of the body
+     */
+    private static EphemerisTrack createTrack(Sun sun, String dbID, KeplerOrbit orbit, LocalDateTime dateStart) {
+        SecondaryBody body = new SecondaryBody(dbID, dbID, 20, sun, 1, 1, 0);
+        body.applyEphemeris(new EphemerisQuery(dbID, "10", dateStart, dateStart.plusDays(9), StepSize.DAYS)
+                .extrapolate(orbit, 10));
+        return body.getEphemerisTrack();
+    }
+
+    @Test
+    void singleSharedPointIsAnApproachWhileApproaching() throws Exception {
+        LocalDateTime shared = start.plusDays(9);
+        double speed = Math.sqrt(sunGM / radius);
+
+        // At the shared point the second body trails the first and is catching up
+        KeplerOrbit leading = new KeplerOrbit(sunGM, shared, radius, 0, 0, 0, speed, 0);
+        KeplerOrbit trailing = new KeplerOrbit(sunGM, shared, radius, -1e6, 0, 0, speed + 1, 0);
+
+        ArrayList<CloseApproachSearch.CloseApproach> approaches = callOnFxThread(() -> {
+            Sun sun = new Sun(6963, "10");
+            EphemerisTrack track = createTrack(sun, "-100000", leading, start);
+            EphemerisTrack otherTrack = createTrack(sun, "-100001", trailing, shared);
+            return CloseApproachSearch.findApproaches(track, otherTrack, Double.POSITIVE_INFINITY);
+        });
+
+        assertEquals(1, approaches.size());
+        CloseApproachSearch.CloseApproach approach = approaches.get(0);
+        assertTrue(approach.isAtBoundary());
+        assertEquals(shared, approach.getDateTime());
+        assertEquals(1e6, approach.getDistanceKm(), 1);
+    }
+}
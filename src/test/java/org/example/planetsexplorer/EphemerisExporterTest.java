@@ -0,0 +1,50 @@
+package org.example.planetsexplorer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EphemerisExporterTest {
+    private static final LocalDateTime start = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    /**
+     * Checks that the queries are in order, contiguous, non-empty, and cover the whole range.
+     */
+    private static void assertCovers(List<LocalDateTime[]> queries, LocalDateTime stop, StepSize stepSize) {
+        assertFalse(queries.isEmpty());
+        assertEquals(start, queries.get(0)[0]);
+        assertEquals(stop, queries.get(queries.size() - 1)[1]);
+        for(int i=0; i < queries.size(); i++) {
+            assertTrue(queries.get(i)[0].isBefore(queries.get(i)[1]), "query " + i + " is empty");
+            if(i > 0) assertEquals(queries.get(i - 1)[1].plus(1, stepSize.getUnit()), queries.get(i)[0]);
+        }
+    }
+
+    @Test
+    void shortRangeIsOneQuery() {
+        LocalDateTime stop = start.plusDays(10);
+        List<LocalDateTime[]> queries = EphemerisExporter.splitRange(start, stop, StepSize.DAYS);
+        assertEquals(1, queries.size());
+        assertCovers(queries, stop, StepSize.DAYS);
+    }
+
+    @Test
+    void longRangeIsSplit() {
+        LocalDateTime stop = start.plusMinutes(50_000);
+        List<LocalDateTime[]> queries = EphemerisExporter.splitRange(start, stop, StepSize.MINUTES);
+        assertEquals(3, queries.size());
+        assertCovers(queries, stop, StepSize.MINUTES);
+    }
+
+    @Test
+    void singleLeftOverStepJoinsTheLastQuery() {
+        // 20000 steps fill the first query, and the stop would be left on its own
+        LocalDateTime stop = start.plusMinutes(20_000);
+        List<LocalDateTime[]> queries = EphemerisExporter.splitRange(start, stop, StepSize.MINUTES);
+        assertEquals(1, queries.size());
+        assertCovers(queries, stop, StepSize.MINUTES);
+    }
+}
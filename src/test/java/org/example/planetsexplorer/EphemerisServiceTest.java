@@ -0,0 +1,74 @@
+package org.example.planetsexplorer;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EphemerisServiceTest {
+    /**
+     * The physical data of Earth as the database words it, served from the cache
+     */
+    private static final String earthResult = """
+            Mean radius (km)      = 6371.01        Mass x10^24 (kg)= 5.97219
+            Obliquity to orbit, deg = 23.4392911   Sidereal orb. per. = 1.0000174 y
+            Rot. Rate (rad/s)= 0.00007292115       GM, km^3/s^2 = 398600.435436
+            """;
+
+    private EphemerisService service;
+
+    @BeforeEach
+    void startService() throws Exception {
+        HorizonCache.put("https://ssd.jpl.nasa.gov/api/horizons.api?format=json&COMMAND='399'&OBJ_DATA='YES'&MAKE_EPHEM='NO'",
+                new JSONObject().put("result", earthResult).toString());
+        service = new EphemerisService(0, 1);
+        service.start();
+    }
+
+    @AfterEach
+    void stopService() {
+        service.stop();
+        HorizonCache.clear();
+    }
+
+    private HttpURLConnection get(String path) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + service.getPort() + path)
+                .openConnection();
+        assertEquals(200, connection.getResponseCode());
+        return connection;
+    }
+
+    @Test
+    void bodyCsvHasTheOrbitInDays() throws Exception {
+        String body;
+        try(InputStream in = get("/body?id=399&format=csv").getInputStream()) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String[] lines = body.split("\n");
+        assertEquals("siderealOrbitDays,siderealDayHr,obliquityToOrbitDeg,meanRadKM", lines[0]);
+        String[] cells = lines[1].split(",");
+        assertEquals(365.256, Float.parseFloat(cells[0]), 0.01);
+        assertEquals(23.934, Float.parseFloat(cells[1]), 0.01);
+        assertEquals(23.439, Float.parseFloat(cells[2]), 0.001);
+        assertEquals(6371.01, Float.parseFloat(cells[3]), 0.01);
+    }
+
+    @Test
+    void bodyBinaryHasTheOrbitInDays() throws Exception {
+        try(DataInputStream in = new DataInputStream(get("/body?id=399&format=binary").getInputStream())) {
+            assertEquals(365.256, in.readFloat(), 0.01);
+            assertEquals(23.934, in.readFloat(), 0.01);
+            assertEquals(23.439, in.readFloat(), 0.001);
+            assertEquals(6371.01, in.readFloat(), 0.01);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.planetsexplorer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EphemerisWriterTest {
+    /**
+     * Rows as {@link HorizonSystem#streamEphemeris} hands them over
+     */
+    private static final List<String[]> rows = List.of(
+            new String[]{"2451544.500000000", "A.D. 2000-Jan-01 00:00:00.0000", "-2.649903367743050E+07",
+                    "1.327574173383451E+08", "5.755671847054072E+07", "-2.979426007043741E+01",
+                    "-5.018052308799903E+00", "-2.175393198378548E+00"},
+            new String[]{"2451545.500000000", "A.D. 2000-Jan-02 00:00:00.0000", "-2.907226927730269E+07",
+                    "1.322945589342346E+08", "5.735611937999018E+07", "-2.976020306151437E+01",
+                    "-5.694599209466911E+00", "-2.468376035618591E+00"});
+
+    private static byte[] write(EphemerisFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(EphemerisWriter writer = EphemerisWriter.open(out, format, "399", "10", StepSize.DAYS)) {
+            for(String[] row: rows) writer.write(row);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void csvKeepsTheDatabaseText() throws IOException {
+        String[] lines = new String(write(EphemerisFormat.CSV), StandardCharsets.UTF_8).split("\\R");
+        assertEquals(rows.size() + 1, lines.length);
+        assertEquals(EphemerisWriter.csvHeader, lines[0]);
+        for(int i=0; i < rows.size(); i++)
+            assertArrayEquals(rows.get(i), lines[i + 1].split(","));
+    }
+
+    @Test
+    void binaryRoundTrips() throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(write(EphemerisFormat.BINARY)));
+        assertEquals(EphemerisWriter.binaryMagic, in.readInt());
+        assertEquals(EphemerisWriter.binaryVersion, in.readInt());
+        assertEquals("399", in.readUTF());
+        assertEquals("10", in.readUTF());
+        assertEquals(StepSize.DAYS, StepSize.valueOf(in.readUTF()));
+
+        ArrayList<double[]> read = new ArrayList<>();
+        while(true) {
+            double[] row = new double[7];
+            try {
+                row[0] = in.readDouble();
+            } catch (EOFException e) {
+                break;
+            }
+            for(int i=1; i < 7; i++) row[i] = in.readDouble();
+            read.add(row);
+        }
+
+        assertEquals(rows.size(), read.size());
+        for(int i=0; i < rows.size(); i++) {
+            assertEquals(Double.parseDouble(rows.get(i)[0]), read.get(i)[0]);
+            for(int j=1; j < 7; j++)
+                assertEquals(Double.parseDouble(rows.get(i)[j + 1]), read.get(i)[j]);
+        }
+    }
+}
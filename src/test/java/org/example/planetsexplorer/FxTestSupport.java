@@ -0,0 +1,64 @@
+package org.example.planetsexplorer;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A static helper class that starts the JavaFX toolkit for the tests that build scene nodes.
+ * The build runs the tests on the headless Monocle platform, so no display is needed.
+ */
+public final class FxTestSupport {
+    /**
+     * Don't let this class be instantiated
+     */
+    private FxTestSupport() {}
+
+    /**
+     * The longest a test waits for the FX thread in seconds
+     */
+    private static final long timeoutSeconds = 30;
+
+    private static boolean started = false;
+
+    /**
+     * Starts the JavaFX toolkit, if it isn't running yet.
+     */
+    public static synchronized void startToolkit() throws Exception {
+        if(started) return;
+        CompletableFuture<Void> startup = new CompletableFuture<>();
+        Platform.startup(() -> startup.complete(null));
+        startup.get(timeoutSeconds, TimeUnit.SECONDS);
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+    /**
+     * Runs a task on the FX thread and waits for its result, starting the toolkit if needed.
+     * @param task The task to run
+     * @return The result of the task
+     * @throws Exception the exception the task threw. A failed assertion is rethrown as is.
+     */
+    public static <T> T callOnFxThread(Callable<T> task) throws Exception {
+        startToolkit();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        try {
+            return result.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof Exception cause) throw cause;
+            if(e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+}
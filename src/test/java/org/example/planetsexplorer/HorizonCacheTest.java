@@ -0,0 +1,97 @@
+package org.example.planetsexplorer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HorizonCacheTest {
+    /**
+     * The default bound of the cache, restored after every test
+     */
+    private static final long defaultMaxChars = 32L << 20;
+
+    @BeforeEach
+    void emptyCache() {
+        HorizonCache.clear();
+        HorizonCache.setMaxChars(100);
+    }
+
+    @AfterEach
+    void restoreCache() {
+        HorizonCache.setMaxChars(defaultMaxChars);
+        HorizonCache.clear();
+    }
+
+    /**
+     * Returns a response of a given length.
+     */
+    private static String response(int chars) {
+        return "x".repeat(chars);
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvictedFirst() {
+        HorizonCache.put("a", response(40));
+        HorizonCache.put("b", response(40));
+        assertNotNull(HorizonCache.get("a"));
+
+        // Over the bound, so b, which wasn't read since a was, goes
+        HorizonCache.put("c", response(40));
+        assertNotNull(HorizonCache.get("a"));
+        assertNull(HorizonCache.get("b"));
+        assertNotNull(HorizonCache.get("c"));
+        assertEquals(2, HorizonCache.getSize());
+        assertEquals(80, HorizonCache.getTotalChars());
+    }
+
+    @Test
+    void replacedResponseIsCountedOnce() {
+        HorizonCache.put("a", response(40));
+        HorizonCache.put("a", response(30));
+        assertEquals(1, HorizonCache.getSize());
+        assertEquals(30, HorizonCache.getTotalChars());
+    }
+
+    @Test
+    void responseOverTheBoundIsNotCached() {
+        HorizonCache.put("a", response(40));
+        HorizonCache.put("b", response(101));
+        assertNull(HorizonCache.get("b"));
+        assertNotNull(HorizonCache.get("a"));
+    }
+
+    @Test
+    void loweringTheBoundEvicts() {
+        HorizonCache.put("a", response(40));
+        HorizonCache.put("b", response(40));
+        HorizonCache.setMaxChars(50);
+        assertNull(HorizonCache.get("a"));
+        assertNotNull(HorizonCache.get("b"));
+
+        HorizonCache.setMaxChars(0);
+        assertEquals(0, HorizonCache.getSize());
+    }
+
+    @Test
+    void errorResponseIsNotCached() {
+        HorizonCache.setMaxChars(defaultMaxChars);
+        HorizonCache.put("a", "{\"error\": \"No ephemeris for target\", \"signature\": {}}");
+        assertNull(HorizonCache.get("a"));
+
+        // The word inside the text of a result is escaped, and isn't an error
+        HorizonCache.put("b", "{\"result\": \"see \\\"error\\\": below\"}");
+        assertNotNull(HorizonCache.get("b"));
+    }
+
+    @Test
+    void hitsAndMissesAreCounted() {
+        long hits = HorizonCache.getHits(), misses = HorizonCache.getMisses();
+        HorizonCache.put("a", response(10));
+        HorizonCache.get("a");
+        HorizonCache.get("b");
+        assertEquals(hits + 1, HorizonCache.getHits());
+        assertEquals(misses + 1, HorizonCache.getMisses());
+    }
+}
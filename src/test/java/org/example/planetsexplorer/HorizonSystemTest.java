@@ -0,0 +1,50 @@
+package org.example.planetsexplorer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HorizonSystemTest {
+    /**
+     * A shortened text result of a vectors query, as the database words it
+     */
+    private static final String vectorsResult = """
+            *******************************************************************************
+            Ephemeris / API_USER Mon Jan  1 00:00:00 2024 Pasadena, USA      / Horizons
+            *******************************************************************************
+            JDTDB, Calendar Date (TDB), X, Y, Z, VX, VY, VZ,
+            **************************************************************************************************************************
+            $$SOE
+            2451544.500000000, A.D. 2000-Jan-01 00:00:00.0000, -2.521092863852298E+07,  1.449279195712076E+08, -6.164888475164771E+02, -2.983983333368269E+01, -5.207633918538244E+00,  6.169062303484907E-05,
+            2451545.500000000, A.D. 2000-Jan-02 00:00:00.0000, -2.778203689545281E+07,  1.444464033072102E+08, -6.100767940282822E+02, -2.967719627856498E+01, -5.937936218298186E+00,  8.611186897460316E-05,
+            $$EOE
+            **************************************************************************************************************************
+            2451546.500000000, A.D. 2000-Jan-03 00:00:00.0000, 0, 0, 0, 0, 0, 0,
+            """;
+
+    @Test
+    void rowsBetweenTheDelimitersAreRead() throws IOException {
+        ArrayList<String[]> rows = new ArrayList<>();
+        long count = HorizonSystem.readVectorsRows(new BufferedReader(new StringReader(vectorsResult)), "399", rows::add);
+
+        assertEquals(2, count);
+        assertEquals(2, rows.size());
+        assertEquals("2451544.500000000", rows.get(0)[0]);
+        assertEquals("A.D. 2000-Jan-01 00:00:00.0000", rows.get(0)[1]);
+        assertEquals("-2.521092863852298E+07", rows.get(0)[2]);
+        assertEquals("8.611186897460316E-05", rows.get(1)[7]);
+    }
+
+    @Test
+    void resultWithoutEphemerisFails() {
+        String result = "No ephemeris for target \"Pluto\" after A.D. 2199-DEC-29 00:00:00.0000 TDB\n";
+        IOException e = assertThrows(IOException.class, () -> HorizonSystem.readVectorsRows(
+                new BufferedReader(new StringReader(result)), "999", row -> fail("no row expected")));
+        assertTrue(e.getMessage().contains("999"));
+    }
+}
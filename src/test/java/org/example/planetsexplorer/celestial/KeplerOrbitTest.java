@@ -0,0 +1,119 @@
+package org.example.planetsexplorer.celestial;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeplerOrbitTest {
+    private static final double sunGM = 1.32712440018e11;
+    private static final double earthGM = 3.986004418e5;
+    private static final LocalDateTime epoch = LocalDateTime.of(2000, 1, 1, 12, 0);
+
+    /**
+     * Integrates a two-body state with classical fourth order Runge-Kutta, the reference the
+     * closed-form propagation is checked against.
+     * @param gm The gravitational parameter
+     * @param state The state at the start, advanced in place
+     * @param seconds The time to integrate over, negative to integrate backwards
+     * @param steps The number of steps
+     */
+    private static void integrate(double gm, double[] state, double seconds, int steps) {
+        double h = seconds / steps;
+        double[] k1 = new double[6], k2 = new double[6], k3 = new double[6], k4 = new double[6], trial = new double[6];
+        for(int step=0; step < steps; step++) {
+            derivative(gm, state, k1);
+            for(int i=0; i < 6; i++) trial[i] = state[i] + h / 2 * k1[i];
+            derivative(gm, trial, k2);
+            for(int i=0; i < 6; i++) trial[i] = state[i] + h / 2 * k2[i];
+            derivative(gm, trial, k3);
+            for(int i=0; i < 6; i++) trial[i] = state[i] + h * k3[i];
+            derivative(gm, trial, k4);
+            for(int i=0; i < 6; i++) state[i] += h / 6 * (k1[i] + 2 * k2[i] + 2 * k3[i] + k4[i]);
+        }
+    }
+
+    private static void derivative(double gm, double[] state, double[] out) {
+        double r2 = state[0] * state[0] + state[1] * state[1] + state[2] * state[2];
+        double factor = -gm / (r2 * Math.sqrt(r2));
+        for(int i=0; i < 3; i++) {
+            out[i] = state[i + 3];
+            out[i + 3] = factor * state[i];
+        }
+    }
+
+    /**
+     * Checks the propagated state against the reference integration, relative to the size of
+     * the position and velocity.
+     */
+    private static void assertMatchesIntegration(double gm, double[] start, double seconds, double tolerance) {
+        KeplerOrbit orbit = new KeplerOrbit(gm, epoch, start[0], start[1], start[2], start[3], start[4], start[5]);
+        double[] propagated = new double[6];
+        orbit.propagate(seconds, propagated);
+
+        double[] reference = start.clone();
+        integrate(gm, reference, seconds, 200_000);
+
+        double radius = Math.sqrt(reference[0] * reference[0] + reference[1] * reference[1] + reference[2] * reference[2]);
+        double speed = Math.sqrt(reference[3] * reference[3] + reference[4] * reference[4] + reference[5] * reference[5]);
+        for(int i=0; i < 3; i++) {
+            assertEquals(reference[i], propagated[i], radius * tolerance, "position " + i);
+            assertEquals(reference[i + 3], propagated[i + 3], speed * tolerance, "velocity " + i);
+        }
+    }
+
+    @Test
+    void eccentricInclinedOrbitMatchesIntegration() {
+        // An eccentric, inclined orbit around the Sun, over most of a revolution
+        double[] start = {1.2e8, 3.0e7, 2.0e7, -5.0, 38.0, 9.0};
+        KeplerOrbit orbit = new KeplerOrbit(sunGM, epoch, start[0], start[1], start[2], start[3], start[4], start[5]);
+        assertTrue(orbit.getEccentricity() > 0.3 && orbit.getEccentricity() < 1);
+        assertMatchesIntegration(sunGM, start, orbit.getPeriodSeconds() * 0.8, 1e-8);
+    }
+
+    @Test
+    void backwardPropagationMatchesIntegration() {
+        double[] start = {1.2e8, 3.0e7, 2.0e7, -5.0, 38.0, 9.0};
+        assertMatchesIntegration(sunGM, start, -200 * 86400, 1e-8);
+    }
+
+    @Test
+    void hyperbolicFlybyMatchesIntegration() {
+        // A spacecraft passing Earth at 10 km/s, well over escape speed
+        double[] start = {-1.0e5, 8.0e3, 1.0e3, 10.0, 0.5, 0.0};
+        KeplerOrbit orbit = new KeplerOrbit(earthGM, epoch, start[0], start[1], start[2], start[3], start[4], start[5]);
+        assertTrue(orbit.getEccentricity() > 1);
+        assertTrue(Double.isNaN(orbit.getPeriodSeconds()));
+        assertMatchesIntegration(earthGM, start, 2 * 86400, 1e-8);
+    }
+
+    @Test
+    void wholeRevolutionsReturnToTheStart() {
+        double[] start = {1.496e8, 0, 0, 0, 29.78, 0};
+        KeplerOrbit orbit = new KeplerOrbit(sunGM, epoch, start[0], start[1], start[2], start[3], start[4], start[5]);
+        double[] state = new double[6];
+        orbit.propagate(epoch.plusSeconds(Math.round(orbit.getPeriodSeconds() * 1000)), state);
+        for(int i=0; i < 3; i++) assertEquals(start[i], state[i], 1e3);
+    }
+
+    @Test
+    void circularOrbitElements() {
+        double radius = 1.496e8;
+        double speed = Math.sqrt(sunGM / radius);
+        double inclination = Math.toRadians(30);
+        KeplerOrbit orbit = new KeplerOrbit(sunGM, epoch, radius, 0, 0,
+                0, speed * Math.cos(inclination), speed * Math.sin(inclination));
+
+        assertEquals(0, orbit.getEccentricity(), 1e-12);
+        assertEquals(radius, orbit.getSemiMajorAxisKM(), radius * 1e-12);
+        assertEquals(30, orbit.getInclinationDeg(), 1e-9);
+        assertEquals(2 * Math.PI * Math.sqrt(radius * radius * radius / sunGM), orbit.getPeriodSeconds(), 1e-3);
+    }
+
+    @Test
+    void invalidStatesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new KeplerOrbit(0, epoch, 1, 0, 0, 0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new KeplerOrbit(sunGM, epoch, 0, 0, 0, 0, 1, 0));
+    }
+}
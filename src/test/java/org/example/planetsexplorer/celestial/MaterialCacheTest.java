@@ -0,0 +1,48 @@
+package org.example.planetsexplorer.celestial;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import org.junit.jupiter.api.Test;
+
+import static org.example.planetsexplorer.FxTestSupport.callOnFxThread;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaterialCacheTest {
+    @Test
+    void sameColorSharesOneMaterial() throws Exception {
+        callOnFxThread(() -> {
+            assertSame(MaterialCache.getDiffuseMaterial(Color.ORANGE), MaterialCache.getDiffuseMaterial(Color.ORANGE));
+            assertSame(MaterialCache.getSelfIlluminatedMaterial(Color.BLUE), MaterialCache.getSelfIlluminatedMaterial(Color.BLUE));
+            assertSame(MaterialCache.getColorImage(Color.RED), MaterialCache.getColorImage(Color.RED));
+
+            assertNotSame(MaterialCache.getDiffuseMaterial(Color.ORANGE), MaterialCache.getDiffuseMaterial(Color.GREEN));
+            assertNotSame(MaterialCache.getDiffuseMaterial(Color.BLUE), MaterialCache.getSelfIlluminatedMaterial(Color.BLUE));
+            return null;
+        });
+    }
+
+    @Test
+    void selfIlluminatedMaterialShowsItsColor() throws Exception {
+        callOnFxThread(() -> {
+            PhongMaterial material = MaterialCache.getSelfIlluminatedMaterial(Color.PURPLE);
+            assertEquals(Color.BLACK, material.getDiffuseColor());
+            assertEquals(Color.PURPLE, material.getSelfIlluminationMap().getPixelReader().getColor(0, 0));
+            return null;
+        });
+    }
+
+    @Test
+    void bodiesShareTheirMaterials() throws Exception {
+        callOnFxThread(() -> {
+            Sun sun = new Sun(6963, "10");
+            SecondaryBody first = new SecondaryBody("First", "-100001", 20, sun, 1, 1, 0);
+            SecondaryBody second = new SecondaryBody("Second", "-100002", 30, sun, 1, 1, 0);
+
+            assertSame(first.getShape().getMaterial(), second.getShape().getMaterial());
+            assertSame(first.getPrimaryConnection().getMaterial(), second.getPrimaryConnection().getMaterial());
+            assertSame(first.getVelocityVector().getMaterial(), second.getVelocityVector().getMaterial());
+            assertSame(first.getOrbitPath().getMaterial(), second.getOrbitPath().getMaterial());
+            return null;
+        });
+    }
+}
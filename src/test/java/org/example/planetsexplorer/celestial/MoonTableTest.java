@@ -0,0 +1,26 @@
+package org.example.planetsexplorer.celestial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoonTableTest {
+    @Test
+    void generatedTableIsOnTheClasspath() {
+        assertNotNull(MoonTable.class.getResource("moonTable.bin"),
+                "moonTable.bin is generated in the process-classes phase");
+    }
+
+    @Test
+    void numberedMoonIsFoundById() {
+        // Io, 3643 km across
+        assertEquals(1821.5f, MoonTable.getRadiusKM("501"));
+        assertEquals(1.77f, MoonTable.getOrbitDays("501"));
+    }
+
+    @Test
+    void designationsAreNormalized() {
+        assertEquals("2003J2", MoonTable.normalizeDesignation("S/2003 J 2"));
+        assertEquals("2003J2", MoonTable.normalizeDesignation("2003J2"));
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.planetsexplorer.celestial;
+
+import org.example.planetsexplorer.HorizonSystem;
+import org.example.planetsexplorer.StepSize;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.example.planetsexplorer.FxTestSupport.callOnFxThread;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NBodyIntegratorTest {
+    private static final double sunGM = 1.32712440018e11;
+    private static final double earthGM = 3.986004418e5;
+    private static final double jupiterGM = 1.26686534e8;
+
+    /**
+     * Creates the Sun at rest at the origin with Earth and Jupiter on circular orbits, and a
+     * massless probe, in the heliocentric frame.
+     */
+    private static NBodyIntegrator createHeliocentricSystem() {
+        double earthKm = 1.496e8, jupiterKm = 7.785e8;
+        double[] states = {
+                0, 0, 0, 0, 0, 0,
+                earthKm, 0, 0, 0, Math.sqrt(sunGM / earthKm), 0,
+                0, jupiterKm, 0, -Math.sqrt(sunGM / jupiterKm), 0, 0,
+                earthKm * 2, 0, 0, 0, Math.sqrt(sunGM / (earthKm * 2)), 0
+        };
+        return new NBodyIntegrator(new String[]{"10", "399", "599", "-1"},
+                new double[]{sunGM, earthGM, jupiterGM, 0}, states);
+    }
+
+    /**
+     * Returns the GM-weighted center of mass of the massive bodies, with its velocity.
+     */
+    private static double[] centerOfMass(NBodyIntegrator integrator, double[] gm) {
+        double[] center = new double[6], state = new double[6];
+        double total = 0;
+        for(int i=0; i < integrator.getBodyCount(); i++) {
+            integrator.getState(i, state);
+            for(int j=0; j < 6; j++) center[j] += gm[i] * state[j];
+            total += gm[i];
+        }
+        for(int j=0; j < 6; j++) center[j] /= total;
+        return center;
+    }
+
+    @Test
+    void barycentricFrameStaysAtTheOrigin() {
+        double[] gm = {sunGM, earthGM, jupiterGM, 0};
+        NBodyIntegrator integrator = createHeliocentricSystem();
+        double[] before = new double[6], after = new double[6];
+        integrator.getRelativeState(3, 1, before);
+
+        integrator.moveToBarycentricFrame();
+        integrator.getRelativeState(3, 1, after);
+        assertArrayEquals(before, after, 1e-6);
+
+        // A year of daily steps
+        integrator.advance(365.25 * 86400, 86400);
+        double[] center = centerOfMass(integrator, gm);
+        for(int j=0; j < 3; j++) assertEquals(0, center[j], 1e-3, "center of mass moved");
+        for(int j=3; j < 6; j++) assertEquals(0, center[j], 1e-12, "center of mass is moving");
+    }
+
+    @Test
+    void heliocentricFrameDrifts() {
+        double[] gm = {sunGM, earthGM, jupiterGM, 0};
+        NBodyIntegrator integrator = createHeliocentricSystem();
+        integrator.advance(365.25 * 86400, 86400);
+
+        // Jupiter's momentum alone carries the center of mass about 4e5 km in a year
+        double[] center = centerOfMass(integrator, gm);
+        assertTrue(Math.abs(center[0]) > 1e5);
+    }
+
+    @Test
+    void parallelAndSequentialRunsMatch() {
+        NBodyIntegrator sequential = createHeliocentricSystem(), parallel = createHeliocentricSystem();
+        sequential.setParallel(false);
+        parallel.setParallel(true);
+        sequential.advance(30 * 86400, 3600);
+        parallel.advance(30 * 86400, 3600);
+
+        double[] a = new double[6], b = new double[6];
+        for(int i=0; i < sequential.getBodyCount(); i++) {
+            sequential.getState(i, a);
+            parallel.getState(i, b);
+            assertArrayEquals(a, b, 0);
+        }
+    }
+
+    /**
+     * Sets the GM of a body, which the explorer otherwise learns from the physical data it fetches.
+     */
+    @SuppressWarnings("unchecked")
+    private static void setGM(String id, double gm) throws ReflectiveOperationException {
+        Field field = HorizonSystem.class.getDeclaredField("idGMMap");
+        field.setAccessible(true);
+        ((Map<String, Double>) field.get(null)).put(id, gm);
+    }
+
+    @Test
+    void loadedSystemExtrapolatesWhateverTheViewSettings() throws Exception {
+        setGM("10", sunGM);
+        LocalDateTime start = LocalDateTime.of(2000, 1, 1, 0, 0);
+        double radius = 1.496e8;
+        KeplerOrbit orbit = new KeplerOrbit(sunGM, start, radius, 0, 0, 0, Math.sqrt(sunGM / radius), 0);
+
+        callOnFxThread(() -> {
+            boolean extrapolation = ViewSettings.isExtrapolation();
+            ViewSettings.extrapolationProperty().set(false);
+            try {
+                Sun sun = new Sun(6963, "10");
+                SecondaryBody body = new SecondaryBody("Test", "-100000", 20, sun, 1, 1, 0);
+
+                // Ten daily points, applied as fetched so the body gets its own two-body orbit
+                EphemerisQuery stand = new EphemerisQuery("-100000", "10", start, start.plusDays(9), StepSize.DAYS)
+                        .extrapolate(orbit, 10);
+                body.applyEphemeris(stand, body.nextEphemerisGeneration());
+                EphemerisQuery fetched = new EphemerisQuery("-100000", "10", start, start.plusDays(9), StepSize.DAYS)
+                        .recenter(body.getEphemerisTrack(), null);
+                assertTrue(body.applyEphemeris(fetched, body.nextEphemerisGeneration()));
+                assertNotNull(body.getKeplerOrbit());
+
+                // Thirty days in, twenty past the end of the ephemeris
+                LocalDateTime dateTime = start.plusDays(30);
+                double[] expected = new double[6], state = new double[6];
+                orbit.propagate(dateTime, expected);
+
+                NBodyIntegrator integrator = NBodyIntegrator.fromLoadedSystem(sun, dateTime, true);
+                assertEquals(2, integrator.getBodyCount());
+                integrator.getRelativeState(integrator.indexOf("-100000"), 0, state);
+                for(int j=0; j < 3; j++) assertEquals(expected[j], state[j], 1e3, "position " + j);
+
+                // Without extrapolation the body has no state at the date-time, and is left out
+                assertEquals(1, NBodyIntegrator.fromLoadedSystem(sun, dateTime, false).getBodyCount());
+            } finally {
+                ViewSettings.extrapolationProperty().set(extrapolation);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.planetsexplorer.celestial;
+
+import javafx.geometry.Point3D;
+import javafx.scene.shape.Cylinder;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import static org.example.planetsexplorer.FxTestSupport.callOnFxThread;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecondaryBodyTest {
+    /**
+     * The number of ephemeris points of the test orbit
+     */
+    private static final int samples = 64;
+
+    /**
+     * Creates a body on a circular orbit around a new Sun, with its ephemeris applied.
+     * @return The body
+     */
+    private static SecondaryBody createOrbitingBody() {
+        Sun sun = new Sun(6963, "10");
+        SecondaryBody body = new SecondaryBody("Test", "-100000", 20, sun, 1, 1, 0);
+
+        ArrayList<EphemerisCoordinateFacade> ephemeris = new ArrayList<>(samples);
+        for(int i=0; i < samples; i++) {
+            double angle = 2 * Math.PI * i / samples;
+            ephemeris.add(new EphemerisCoordinateFacade(String.valueOf(1e7 * Math.cos(angle)), "0",
+                    String.valueOf(1e7 * Math.sin(angle)), String.valueOf(-Math.sin(angle)), "0",
+                    String.valueOf(Math.cos(angle))));
+        }
+        body.setEphemerisData(ephemeris);
+        return body;
+    }
+
+    /**
+     * Returns the bytes the calling thread has allocated so far, read through the platform
+     * MBean server since the module doesn't read {@code jdk.management}.
+     * @return The allocated bytes
+     */
+    private static long currentThreadAllocatedBytes() throws JMException {
+        return (Long) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "CurrentThreadAllocatedBytes");
+    }
+
+    @Test
+    void positionUpdatesDontAllocate() throws Exception {
+        long allocated = callOnFxThread(() -> {
+            SecondaryBody body = createOrbitingBody();
+            // Warm up so the measured loop runs compiled code
+            for(int i=0; i < 50_000; i++) {
+                body.setEphemerisIndex(i % samples);
+                body.updateEphemerisPosition(true);
+            }
+
+            long before = currentThreadAllocatedBytes();
+            for(int i=0; i < 100_000; i++) {
+                body.setEphemerisIndex(i % samples);
+                body.updateEphemerisPosition(true);
+            }
+            return currentThreadAllocatedBytes() - before;
+        });
+
+        // A single allocation per update would be at least 1.6 MB
+        assertTrue(allocated < 16_000, "100000 position updates allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void connectionLinesStretchWithoutChangingHeight() throws Exception {
+        callOnFxThread(() -> {
+            SecondaryBody body = createOrbitingBody();
+            for(int i=0; i < samples; i += 7) {
+                body.setEphemerisIndex(i);
+                body.updateEphemerisPosition(true);
+
+                Cylinder line = body.getPrimaryConnection();
+                assertEquals(1, line.getHeight());
+
+                Point3D bodyPosition = new Point3D(body.getShape().getTranslateX(),
+                        body.getShape().getTranslateY(), body.getShape().getTranslateZ());
+                Point3D primaryPosition = new Point3D(body.getPrimaryBody().getShape().getTranslateX(),
+                        body.getPrimaryBody().getShape().getTranslateY(), body.getPrimaryBody().getShape().getTranslateZ());
+                double distance = bodyPosition.distance(primaryPosition);
+                assertEquals(distance, body.getPrimaryConnectionLength(), distance * 1e-9);
+
+                // The ends of the unit cylinder land on the body and its primary
+                Point3D top = line.localToParent(0, -0.5, 0);
+                Point3D bottom = line.localToParent(0, 0.5, 0);
+                assertEquals(0, Math.min(top.distance(bodyPosition) + bottom.distance(primaryPosition),
+                        top.distance(primaryPosition) + bottom.distance(bodyPosition)), distance * 1e-9);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.planetsexplorer.celestial;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Sphere;
+import org.junit.jupiter.api.Test;
+
+import static org.example.planetsexplorer.FxTestSupport.callOnFxThread;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SphereLevelOfDetailTest {
+    @Test
+    void divisionsGrowWithProjectedRadius() {
+        assertEquals(4, SphereLevelOfDetail.divisionsFor(0.5, 4));
+        assertEquals(8, SphereLevelOfDetail.divisionsFor(2, 4));
+        assertEquals(16, SphereLevelOfDetail.divisionsFor(10, 4));
+        assertEquals(32, SphereLevelOfDetail.divisionsFor(40, 4));
+        assertEquals(64, SphereLevelOfDetail.divisionsFor(500, 4));
+
+        int previous = 0;
+        for(double radius=0; radius < 200; radius += 0.25) {
+            int divisions = SphereLevelOfDetail.divisionsFor(radius, 4);
+            assertTrue(divisions >= previous, "fewer divisions at " + radius + " px");
+            previous = divisions;
+        }
+    }
+
+    @Test
+    void coarserLevelWaitsForTheHysteresis() {
+        // Just under the 64 px threshold of the finest level, but within its hysteresis
+        assertEquals(64, SphereLevelOfDetail.divisionsFor(60, 64));
+        assertEquals(32, SphereLevelOfDetail.divisionsFor(60, 32));
+        // Well under it
+        assertEquals(32, SphereLevelOfDetail.divisionsFor(40, 64));
+        // Growing past a threshold switches at once
+        assertEquals(64, SphereLevelOfDetail.divisionsFor(64, 32));
+    }
+
+    @Test
+    void triangleCounts() {
+        assertEquals(2 * 4 * 1, SphereLevelOfDetail.triangleCount(4));
+        assertEquals(2 * 64 * 31, SphereLevelOfDetail.triangleCount(64));
+    }
+
+    @Test
+    void rebuiltShapeKeepsItsPlace() throws Exception {
+        callOnFxThread(() -> {
+            Sun sun = new Sun(6963, "10");
+            Group root = new Group(new Sphere(), sun.getShape(), new Sphere());
+            sun.getShape().setTranslateX(12);
+
+            Sphere before = sun.getShape();
+            sun.setShapeDivisions(8);
+            Sphere after = sun.getShape();
+
+            assertNotSame(before, after);
+            assertEquals(8, after.getDivisions());
+            assertSame(root, after.getParent());
+            assertEquals(1, root.getChildren().indexOf(after));
+            assertNull(before.getParent());
+            assertSame(before.getMaterial(), after.getMaterial());
+            assertEquals(12, after.getTranslateX());
+            assertEquals(before.getRadius(), after.getRadius());
+            return null;
+        });
+    }
+}
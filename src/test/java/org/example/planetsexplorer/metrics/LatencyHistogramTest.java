@@ -0,0 +1,64 @@
+package org.example.planetsexplorer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanMillis());
+        assertEquals(0, histogram.getP50Millis());
+        assertEquals(0, histogram.getMaxMillis());
+    }
+
+    @Test
+    void percentilesAreTheUpperEndOfTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(int micros=1; micros <= 100; micros++) histogram.record(micros * 1000L);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(0.0505, histogram.getMeanMillis(), 1e-12);
+        assertEquals(0.1, histogram.getMaxMillis(), 1e-12);
+
+        // 1 µs has the bucket [1, 2), 50 µs falls in [48, 56), 90 µs in [80, 96), and 99 µs in
+        // [96, 112) capped by the maximum
+        assertEquals(0.056, histogram.getP50Millis(), 1e-12);
+        assertEquals(0.096, histogram.getP90Millis(), 1e-12);
+        assertEquals(0.1, histogram.getP99Millis(), 1e-12);
+        assertEquals(0.002, histogram.getPercentileMillis(0), 1e-12);
+    }
+
+    @Test
+    void bucketsAreWithinAQuarterOfTheirPowerOfTwo() {
+        double previous = 0;
+        for(long micros=0; micros < 100_000; micros++) {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(micros * 1000);
+            // A far larger duration keeps the maximum from capping the first one's bucket
+            histogram.record(Long.MAX_VALUE / 2);
+
+            double upperMicros = histogram.getPercentileMillis(0.5) * 1e3;
+            assertTrue(upperMicros > micros, micros + " µs reported as " + upperMicros);
+            assertTrue(upperMicros - micros <= Math.max(1, micros / 4), micros + " µs reported as " + upperMicros);
+            assertTrue(upperMicros >= previous, "buckets out of order at " + micros + " µs");
+            previous = upperMicros;
+        }
+    }
+
+    @Test
+    void resetForgetsEveryDuration() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(2_500_000);
+        assertEquals(2, histogram.getCount());
+        assertEquals(2.5, histogram.getMaxMillis(), 1e-12);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getP99Millis());
+        assertEquals(0, histogram.getMaxMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.planetsexplorer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupMetricsTest {
+    @Test
+    void timesAreUnmeasuredUntilRecorded() {
+        StartupMetrics metrics = new StartupMetrics();
+        assertEquals(-1, metrics.getFirstFrameMillis());
+        assertEquals(-1, metrics.getInteractiveMillis());
+        assertTrue(metrics.getPhaseMillis().isEmpty());
+
+        metrics.recordFirstFrame(120_400_000);
+        metrics.recordInteractive(850_000_000);
+        metrics.recordPhase("sun info", 300_000_000);
+        assertEquals(120, metrics.getFirstFrameMillis());
+        assertEquals(850, metrics.getInteractiveMillis());
+        assertEquals(Map.of("sun info", 300L), metrics.getPhaseMillis());
+    }
+
+    @Test
+    void phasesAreReadableOverJmx() throws Exception {
+        Metrics.register();
+        Metrics.getStartupMetrics().recordPhase("lookup tables", 42_000_000);
+
+        TabularData phases = (TabularData) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(Metrics.domain + ":type=Startup"), "PhaseMillis");
+        assertEquals(42L, phases.get(new Object[] {"lookup tables"}).get("value"));
+    }
+}